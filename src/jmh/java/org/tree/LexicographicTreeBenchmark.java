@@ -0,0 +1,185 @@
+package org.tree;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of the dictionary queries, on the French dictionary.
+ * The queries are drawn from the dictionary words according to a length distribution, so that
+ * short and long words can be compared; the cheap queries are run by batches of {@link #BATCH}.
+ * The "frontcoded" backend trades lookup speed for memory : see {@link FrontCodedDictionary#main}.
+ * Run with : mvn -P jmh package && java -jar target/benchmarks.jar LexicographicTree -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexicographicTreeBenchmark {
+
+	static final int BATCH = 1024;
+
+	/*
+	 * PARAMETERS
+	 */
+	@Param({"trie", "frontcoded"})
+	public String backend;
+
+	@Param({"natural", "uniform", "short", "long"})
+	public String distribution;
+
+	@Param({"src/main/resources/mots/dictionnaire_FR_sans_accents.txt"})
+	public String dictionary;
+
+	/*
+	 * STATE
+	 */
+	private Lexicon dict;
+	private String[] existing;
+	private String[] missing;
+	private String[] prefixes;
+	private int[] lengths;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		dict = load(backend, dictionary);
+		List<String> words = dict.getWords("");
+		Random random = new Random(42);
+		existing = sample(words, distribution, random);
+		missing = new String[BATCH];
+		prefixes = new String[BATCH];
+		lengths = new int[BATCH];
+		for (int i = 0; i < BATCH; i++) {
+			String word = existing[i];
+			missing[i] = mutate(word, random);
+			prefixes[i] = word.substring(0, Math.min(3, word.length()));
+			lengths[i] = word.length();
+		}
+	}
+
+	/*
+	 * BENCHMARKS
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void containsExistingWord(Blackhole blackhole) {
+		for (String word : existing) {
+			blackhole.consume(dict.containsWord(word));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void containsMissingWord(Blackhole blackhole) {
+		for (String word : missing) {
+			blackhole.consume(dict.containsWord(word));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void isPrefix(Blackhole blackhole) {
+		for (String prefix : prefixes) {
+			blackhole.consume(dict.isPrefix(prefix));
+		}
+	}
+
+	@Benchmark
+	public List<String> getWordsWithPrefix() {
+		return dict.getWords(prefixes[next++ & (BATCH - 1)]);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public List<String> getWordsOfLength() {
+		return dict.getWordsOfLength(lengths[next++ & (BATCH - 1)]);
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	// Point d'entrée unique pour comparer les implémentations du dictionnaire
+	static Lexicon load(String backend, String filename) {
+		switch (backend) {
+			case "trie":
+				return new LexicographicTree(filename);
+			case "trie-nio":
+				try {
+					return new LexicographicTree(Paths.get(filename), StandardCharsets.UTF_8);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			case "frontcoded":
+				try {
+					return new FrontCodedDictionary(Paths.get(filename), StandardCharsets.UTF_8);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			default:
+				throw new IllegalArgumentException("Implémentation inconnue : " + backend);
+		}
+	}
+
+	private static String[] sample(List<String> words, String distribution, Random random) {
+		Map<Integer, List<String>> byLength = new TreeMap<>();
+		for (String word : words) {
+			byLength.computeIfAbsent(word.length(), length -> new ArrayList<>()).add(word);
+		}
+		List<String> candidates;
+		switch (distribution) {
+			case "natural":
+			case "uniform":
+				candidates = words;
+				break;
+			case "short":
+				candidates = wordsOfLengths(byLength, 1, 5);
+				break;
+			case "long":
+				candidates = wordsOfLengths(byLength, 12, Integer.MAX_VALUE);
+				break;
+			default:
+				throw new IllegalArgumentException("Distribution inconnue : " + distribution);
+		}
+		String[] sample = new String[BATCH];
+		List<Integer> lengths = new ArrayList<>(byLength.keySet());
+		for (int i = 0; i < BATCH; i++) {
+			if (distribution.equals("uniform")) {
+				// Chaque longueur a la même probabilité, quel que soit son nombre de mots
+				List<String> list = byLength.get(lengths.get(random.nextInt(lengths.size())));
+				sample[i] = list.get(random.nextInt(list.size()));
+			} else {
+				sample[i] = candidates.get(random.nextInt(candidates.size()));
+			}
+		}
+		return sample;
+	}
+
+	private static List<String> wordsOfLengths(Map<Integer, List<String>> byLength, int min, int max) {
+		List<String> words = new ArrayList<>();
+		byLength.forEach((length, list) -> {
+			if (length >= min && length <= max) {
+				words.addAll(list);
+			}
+		});
+		return words;
+	}
+
+	// Remplace la dernière lettre par deux lettres jusqu'à obtenir un mot absent du dictionnaire
+	private String mutate(String word, Random random) {
+		String candidate = word;
+		while (dict.containsWord(candidate)) {
+			candidate = word.substring(0, word.length() - 1) + (char) ('a' + random.nextInt(26)) + (char) ('a' + random.nextInt(26));
+		}
+		return candidate;
+	}
+}
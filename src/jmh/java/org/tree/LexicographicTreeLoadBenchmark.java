@@ -0,0 +1,29 @@
+package org.tree;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the loading of the French dictionary from its file.
+ * Run with : mvn -P jmh package && java -jar target/benchmarks.jar LexicographicTreeLoad -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class LexicographicTreeLoadBenchmark {
+
+	@Param({"trie", "trie-nio", "frontcoded"})
+	public String backend;
+
+	@Param({"src/main/resources/mots/dictionnaire_FR_sans_accents.txt"})
+	public String dictionary;
+
+	@Benchmark
+	public Lexicon load() {
+		return LexicographicTreeBenchmark.load(backend, dictionary);
+	}
+}
@@ -0,0 +1,437 @@
+package org.benchmark;
+
+import org.boggle.Boggle;
+import org.boggle.TiledSolver;
+import org.cryptanalysis.DictionaryBasedAnalysis;
+import org.cryptanalysis.DictionaryIndex;
+import org.cryptanalysis.WordSegmenter;
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Reproducible end-to-end benchmarks of the Boggle solver and of the cryptanalysis, with a regression check.
+ * Each scenario is run a few times to warm up, then measured over several runs; a run repeats a short
+ * scenario until it has lasted at least {@value #MIN_RUN_MILLIS} ms, so that the timer
+ * resolution and the noise of a single call do not dominate. The throughput is derived from the median run.
+ * The results are written as JSON and CSV, and compared with a stored baseline : the harness fails when
+ * the throughput of a scenario drops below the baseline by more than a threshold, or when its checksum
+ * differs from the baseline, i.e. the scenario no longer does the same work.
+ * Generated inputs (grids, cryptograms) use fixed seeds so that runs are comparable.
+ * <p>
+ * Usage : RegressionHarness [--baseline file] [--output directory] [--threshold ratio] [--runs n] [--update-baseline]
+ */
+public class RegressionHarness {
+
+    private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+    private static final String PLAIN_TEXT_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes.txt";
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+    private static final String DEFAULT_BASELINE = "benchmarks/baseline.json";
+    private static final String DEFAULT_OUTPUT = "target/benchmarks";
+    private static final double DEFAULT_THRESHOLD = 0.30;
+    private static final int WARMUP_RUNS = 5;
+    private static final int DEFAULT_RUNS = 5;
+    private static final double MIN_RUN_MILLIS = 100;
+
+    private static final Pattern RESULT_PATTERN = Pattern.compile("\"scenario\"\\s*:\\s*\"([^\"]+)\"[^}]*?"
+            + "\"checksum\"\\s*:\\s*(-?[0-9]+)[^}]*?\"opsPerSecond\"\\s*:\\s*([0-9.eE+-]+)");
+
+    /**
+     * A benchmarked operation.
+     */
+    @FunctionalInterface
+    public interface Scenario {
+        /**
+         * Runs the operation once.
+         *
+         * @return a value depending on the work done, so that it cannot be optimized away
+         */
+        long run();
+    }
+
+    /**
+     * The measures of a scenario.
+     */
+    public static class Result {
+        private final String scenario;
+        private final int runs;
+        private final int batch;
+        private final double medianMillis;
+        private final double minMillis;
+        private final double maxMillis;
+        private final long checksum;
+
+        public Result(String scenario, int runs, double medianMillis, double minMillis, double maxMillis, long checksum) {
+            this(scenario, runs, 1, medianMillis, minMillis, maxMillis, checksum);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param scenario     The name of the scenario
+         * @param runs         The number of measured runs
+         * @param batch        The average number of calls of the scenario per run
+         * @param medianMillis The median duration of a call
+         * @param minMillis    The shortest duration of a call
+         * @param maxMillis    The longest duration of a call
+         * @param checksum     The value returned by the last call
+         */
+        public Result(String scenario, int runs, int batch, double medianMillis, double minMillis, double maxMillis,
+                      long checksum) {
+            this.scenario = scenario;
+            this.runs = runs;
+            this.batch = batch;
+            this.medianMillis = medianMillis;
+            this.minMillis = minMillis;
+            this.maxMillis = maxMillis;
+            this.checksum = checksum;
+        }
+
+        public String getScenario() {
+            return scenario;
+        }
+
+        public int getRuns() {
+            return runs;
+        }
+
+        /**
+         * Returns the average number of calls of the scenario per measured run; the durations are given per call.
+         */
+        public int getBatch() {
+            return batch;
+        }
+
+        public double getMedianMillis() {
+            return medianMillis;
+        }
+
+        public double getMinMillis() {
+            return minMillis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        /**
+         * Returns the value returned by the last call, e.g. a number of words found.
+         */
+        public long getChecksum() {
+            return checksum;
+        }
+
+        /**
+         * Returns the number of runs per second, from the median run.
+         */
+        public double getOpsPerSecond() {
+            return medianMillis == 0 ? Double.POSITIVE_INFINITY : 1000.0 / medianMillis;
+        }
+    }
+
+    /**
+     * The reference measures of a scenario, read from a baseline.
+     */
+    public static class Reference {
+        private final long checksum;
+        private final double opsPerSecond;
+
+        public Reference(long checksum, double opsPerSecond) {
+            this.checksum = checksum;
+            this.opsPerSecond = opsPerSecond;
+        }
+
+        public long getChecksum() {
+            return checksum;
+        }
+
+        public double getOpsPerSecond() {
+            return opsPerSecond;
+        }
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Measures a scenario, each run lasting at least {@value #MIN_RUN_MILLIS} ms.
+     *
+     * @param name     The name of the scenario
+     * @param scenario The operation
+     * @param warmups  The number of calls before measuring
+     * @param runs     The number of measured runs
+     * @return the measures
+     */
+    public static Result measure(String name, Scenario scenario, int warmups, int runs) {
+        return measure(name, scenario, warmups, runs, MIN_RUN_MILLIS);
+    }
+
+    /**
+     * Measures a scenario. Each run calls the scenario until it has lasted at least the given duration;
+     * the durations reported are those of one call, averaged over the calls of a run.
+     *
+     * @param name         The name of the scenario
+     * @param scenario     The operation
+     * @param warmups      The number of calls before measuring
+     * @param runs         The number of measured runs
+     * @param minRunMillis The minimum duration of a run
+     * @return the measures
+     */
+    public static Result measure(String name, Scenario scenario, int warmups, int runs, double minRunMillis) {
+        if (runs < 1) {
+            throw new IllegalArgumentException("Le nombre de mesures doit être strictement positif.");
+        }
+        long checksum = 0;
+        for (int i = 0; i < warmups; i++) {
+            checksum = scenario.run();
+        }
+        long minRunNanos = (long) (minRunMillis * 1e6);
+        long calls = 0;
+        double[] millis = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            long elapsed;
+            int count = 0;
+            do {
+                checksum = scenario.run();
+                count++;
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < minRunNanos);
+            millis[i] = elapsed / 1e6 / count;
+            calls += count;
+        }
+        Arrays.sort(millis);
+        double median = runs % 2 == 1 ? millis[runs / 2] : (millis[runs / 2 - 1] + millis[runs / 2]) / 2;
+        int batch = (int) Math.max(1, Math.round((double) calls / runs));
+        return new Result(name, runs, batch, median, millis[0], millis[runs - 1], checksum);
+    }
+
+    /**
+     * Formats results as a JSON document.
+     *
+     * @param results The results
+     * @return the JSON document
+     */
+    public static String toJson(List<Result> results) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"timestamp\": \"").append(Instant.now()).append("\",\n");
+        json.append("  \"java\": \"").append(System.getProperty("java.version")).append("\",\n");
+        json.append("  \"processors\": ").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+        json.append("  \"results\": [\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            json.append(String.format(Locale.ROOT,
+                    "    {\"scenario\": \"%s\", \"runs\": %d, \"batch\": %d, \"medianMillis\": %.3f, \"minMillis\": %.3f, \"maxMillis\": %.3f, \"checksum\": %d, \"opsPerSecond\": %.4f}",
+                    result.getScenario(), result.getRuns(), result.getBatch(), result.getMedianMillis(), result.getMinMillis(),
+                    result.getMaxMillis(), result.getChecksum(), result.getOpsPerSecond()));
+            json.append(i < results.size() - 1 ? ",\n" : "\n");
+        }
+        json.append("  ]\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Formats results as CSV, with a header line.
+     *
+     * @param results The results
+     * @return the CSV document
+     */
+    public static String toCsv(List<Result> results) {
+        StringBuilder csv = new StringBuilder("scenario,runs,batch,medianMillis,minMillis,maxMillis,checksum,opsPerSecond\n");
+        for (Result result : results) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%d,%.4f%n",
+                    result.getScenario(), result.getRuns(), result.getBatch(), result.getMedianMillis(), result.getMinMillis(),
+                    result.getMaxMillis(), result.getChecksum(), result.getOpsPerSecond()));
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Reads the checksums and throughputs of a JSON document written by {@link #toJson(List)}.
+     *
+     * @param json A JSON document
+     * @return the reference measures of each scenario
+     */
+    public static Map<String, Reference> parseBaseline(String json) {
+        Map<String, Reference> baseline = new LinkedHashMap<>();
+        Matcher matcher = RESULT_PATTERN.matcher(json);
+        while (matcher.find()) {
+            baseline.put(matcher.group(1), new Reference(Long.parseLong(matcher.group(2)), Double.parseDouble(matcher.group(3))));
+        }
+        return baseline;
+    }
+
+    /**
+     * Compares results with a baseline : a scenario regresses when its checksum differs from the baseline,
+     * or when its throughput drops beyond the threshold. Scenarios missing from the baseline are not compared.
+     *
+     * @param results   The results
+     * @param baseline  The reference measures of each scenario of the baseline
+     * @param threshold The tolerated relative drop of throughput, e.g. 0.3 for 30 %
+     * @return a description of each regression, empty if there is none
+     */
+    public static List<String> regressions(List<Result> results, Map<String, Reference> baseline, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        for (Result result : results) {
+            Reference reference = baseline.get(result.getScenario());
+            if (reference == null) {
+                continue;
+            }
+            if (result.getChecksum() != reference.getChecksum()) {
+                regressions.add(String.format(Locale.ROOT, "%s : checksum %d vs %d in baseline",
+                        result.getScenario(), result.getChecksum(), reference.getChecksum()));
+            }
+            if (result.getOpsPerSecond() < reference.getOpsPerSecond() * (1 - threshold)) {
+                regressions.add(String.format(Locale.ROOT, "%s : %.3f ops/s vs %.3f ops/s in baseline (%.0f %%)",
+                        result.getScenario(), result.getOpsPerSecond(), reference.getOpsPerSecond(),
+                        100 * (result.getOpsPerSecond() / reference.getOpsPerSecond() - 1)));
+            }
+        }
+        return regressions;
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    private static List<Result> runScenarios(int runs) throws IOException {
+        LexicographicTree dict = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+        DictionaryIndex index = new DictionaryIndex(dict);
+        index.getFrequencies();
+        List<Result> results = new ArrayList<>();
+
+        // Boggle : grilles d'exemple, puis grille générée résolue par tuiles
+        results.add(measure("boggle-4x4", () -> new Boggle(4, Boggle.SAMPLE_GRID_4X4, dict).solve().size(), WARMUP_RUNS, runs));
+        for (int size : new int[] {10, 20, 50}) {
+            String letters = Boggle.SAMPLE_GRID_50X50.substring(0, size * size);
+            results.add(measure("boggle-" + size + "x" + size, () -> new Boggle(size, letters, dict).solve().size(), WARMUP_RUNS, runs));
+        }
+        String generated = randomLetters(500 * 500, new Random(42));
+        results.add(measure("boggle-tiled-500x500", () -> new TiledSolver(500, generated, dict).solve(word -> { }), WARMUP_RUNS, runs));
+
+        // Cryptanalyse : le cryptogramme Sherlock, puis un cryptogramme généré quatre fois plus long,
+        // dont la somme de contrôle est le nombre de lettres retrouvées
+        String cryptogram = Files.readString(Paths.get(CRYPTOGRAM_FILE), StandardCharsets.UTF_8);
+        results.add(measure("crypto-sherlock-greedy",
+                () -> new DictionaryBasedAnalysis(cryptogram, index).guessApproximatedAlphabet(LETTERS).hashCode(), WARMUP_RUNS, runs));
+        results.add(measure("crypto-sherlock-constraints",
+                () -> new DictionaryBasedAnalysis(cryptogram, index).solveAlphabet(60_000).getScore(), WARMUP_RUNS, runs));
+        String plain = Normalizer.normalize(Files.readString(Paths.get(PLAIN_TEXT_FILE), StandardCharsets.UTF_8), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        String key = randomKey(new Random(7));
+        String large = DictionaryBasedAnalysis.applySubstitution(plain.repeat(4), key);
+        String decodingAlphabet = inverse(key);
+        results.add(measure("crypto-generated-stochastic", () -> {
+            DictionaryBasedAnalysis dba = new DictionaryBasedAnalysis(large, index);
+            String alphabet = dba.searchAlphabet(dba.guessAlphabetFromFrequencies(), 1, 60_000);
+            return IntStream.range(0, LETTERS.length()).filter(i -> alphabet.charAt(i) == decodingAlphabet.charAt(i)).count();
+        }, WARMUP_RUNS, runs));
+
+        // Textes sans espaces : découpage du texte de Sherlock en mots, puis cryptanalyse du cryptogramme
+        // sans espaces, dont la somme de contrôle est le nombre de lettres retrouvées
+        WordSegmenter segmenter = new WordSegmenter(dict);
+        String despaced = plain.replaceAll("[^A-Za-z]", "");
+        results.add(measure("segment-sherlock-despaced", () -> segmenter.segment(despaced).getWords().size(), WARMUP_RUNS, runs));
+        String despacedCryptogram = cryptogram.replaceAll("[^A-Za-z]", "");
+        results.add(measure("crypto-sherlock-despaced", () -> {
+            DictionaryBasedAnalysis dba = new DictionaryBasedAnalysis(despacedCryptogram, index);
+            String alphabet = dba.guessApproximatedAlphabet(dba.guessAlphabetFromFrequencies());
+            return IntStream.range(0, LETTERS.length()).filter(i -> alphabet.charAt(i) == DECODING_ALPHABET.charAt(i)).count();
+        }, WARMUP_RUNS, runs));
+        return results;
+    }
+
+    private static String randomLetters(int count, Random random) {
+        char[] letters = new char[count];
+        for (int i = 0; i < count; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+
+    private static String randomKey(Random random) {
+        List<Character> letters = new ArrayList<>();
+        for (char c : LETTERS.toCharArray()) {
+            letters.add(c);
+        }
+        Collections.shuffle(letters, random);
+        StringBuilder key = new StringBuilder();
+        letters.forEach(key::append);
+        return key.toString();
+    }
+
+    // L'alphabet qui déchiffre un texte chiffré par la clé
+    private static String inverse(String key) {
+        char[] inverse = new char[LETTERS.length()];
+        for (int i = 0; i < key.length(); i++) {
+            inverse[key.charAt(i) - 'A'] = LETTERS.charAt(i);
+        }
+        return new String(inverse);
+    }
+
+    /*
+     * MAIN PROGRAM
+     */
+
+    public static void main(String[] args) throws IOException {
+        Path baselineFile = Paths.get(DEFAULT_BASELINE);
+        Path outputDirectory = Paths.get(DEFAULT_OUTPUT);
+        double threshold = DEFAULT_THRESHOLD;
+        int runs = DEFAULT_RUNS;
+        boolean updateBaseline = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--baseline" -> baselineFile = Paths.get(args[++i]);
+                case "--output" -> outputDirectory = Paths.get(args[++i]);
+                case "--threshold" -> threshold = Double.parseDouble(args[++i]);
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--update-baseline" -> updateBaseline = true;
+                default -> throw new IllegalArgumentException("Option inconnue : " + args[i]);
+            }
+        }
+
+        List<Result> results = runScenarios(runs);
+        System.out.print(toCsv(results));
+
+        Files.createDirectories(outputDirectory);
+        String json = toJson(results);
+        Files.writeString(outputDirectory.resolve("results.json"), json);
+        Files.writeString(outputDirectory.resolve("results.csv"), toCsv(results));
+        System.out.println("Results written to " + outputDirectory);
+
+        if (updateBaseline) {
+            if (baselineFile.getParent() != null) {
+                Files.createDirectories(baselineFile.getParent());
+            }
+            Files.writeString(baselineFile, json);
+            System.out.println("Baseline updated : " + baselineFile);
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            System.out.println("No baseline found at " + baselineFile + ", nothing to compare.");
+            return;
+        }
+        List<String> regressions = regressions(results, parseBaseline(Files.readString(baselineFile)), threshold);
+        if (regressions.isEmpty()) {
+            System.out.println("No regression beyond " + Math.round(threshold * 100) + " % against " + baselineFile);
+        } else {
+            System.out.println("Regressions beyond " + Math.round(threshold * 100) + " % against " + baselineFile + " :");
+            regressions.forEach(regression -> System.out.println("  " + regression));
+            System.exit(1);
+        }
+    }
+}
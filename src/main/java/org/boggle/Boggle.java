@@ -4,25 +4,49 @@ import org.jgrapht.Graph;
 import org.jgrapht.Graphs;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.SimpleGraph;
+import org.tree.DictionaryRegistry;
 import org.tree.LexicographicTree;
 
+import java.io.IOException;
 import java.util.*;
 
 public class Boggle {
 
+	/**
+	 * Orders words from the longest to the shortest, then alphabetically.
+	 * When used with {@link #solveTopK(int, Comparator)}, branches that cannot produce a word
+	 * at least as long as the current k-th best are pruned.
+	 */
+	public static final Comparator<String> LONGEST_FIRST = Comparator.comparingInt(String::length).reversed()
+			.thenComparing(Comparator.naturalOrder());
+
+	/**
+	 * Sample 4x4 grid, from the Wikipedia example.
+	 */
+	public static final String SAMPLE_GRID_4X4 = "rhreypcswnsntego";
+
+	/**
+	 * Sample 50x50 grid; its first 100 and 400 letters give the sample 10x10 and 20x20 grids.
+	 */
+	public static final String SAMPLE_GRID_50X50 = "eymmccsrltjttsdiraoarliuniepeousrcgoiseerreeistiedtomcteevcmkaualilaretneerectresieenspgizeoeceecudsrrsrvfianrsicwtdieioeiufnidlaaeeoeieitmntleavieacalischvzeatuisiupatolauaernetasatttadvtthzraaneuzfpneenabiielhcnitesaouelsenxrtojlcastieklkrupeletaiztleapqgaeocbpteutnetrtozatluuarapepsvipesxolteatmylttumelctahsowlsadoelouamisparejpmuaasoaeszsuilubrdrannyosfewnolneudpatcrwatblttpensaaunvkslrekiittciivsomuestiurfuaxreeunuennetemubenanvsucimozentlvptnsoyaoatospesvaesasyysdlbdoraguhpleonvfrelentickiwzrnmimsaeimralovhetscejsdsnrtcsgporubtewesdklorlvteselauxieusieetfmiplllneuyprlpiiujiewverneussnnaxoaswclermderupyurmaareuescriqesbeeadldnlhtsnaucxeadstciqneeetcwtctcltavxgiiuorlomewbleeaoanrjeqeaqhzetmamisirasceranivleteeuaedeaatnsostwtbtonuasilsodhxsmnetecuoesepmotlndamvdcaeebiualneltdrtnwgerifterpepdetdbgollulneoynesonnrpesaustieundaevansmspaisinusitiaagrhoaeeewotnlagtlinjdssnocmeigvultkamnarvcloohslgiueawnyterddduepeislsmaemaiensuytiraesliehotcmaeoeovtsoiostialfertapbuptefeeleeonkeeectcdtneuidrlrpeenmeauvztltsetaeidlsrgscvlsenmetyeoueqesassooiajprrsytioqesugwvatixluutotimwlpesreeicylreeeseauueeeeapornntulivlonansipvoeeactiuecmeudnenrqaieordhluomrtsrmetetswlieqcmltslvsadeuspglmyruteoixiuoepdnectntentdaualdpcsoaeljvonkeftneiuedeeztsatencaectoeptluatriocdocrdtmudleueornptmeintlzejaaaneeradibraeaoaanpoisieeurtettrxvtneoegleltagkasosrastluadxsepnlsaadoaiepjswyedatmrsnivmriseaweinvatepciuuesssnllsssmixlesiedettssyoeuipwltetitececoieeozweaenmlaoroospptusidpkdvsrnqaajituspuuleiisheiogeinpbbsitbsvetofsncnaetaowooekmuntavroonjraduuacknoqqknnnrjoopeeofzdyseaoltsclvaaapiueceauofcdbntmxtneetpoitwiinfaeltgueeispzeacneqmviaiusaettplhiuaetqaewtfuuipoueuesnsoxaixaeeyavqllssqareessnmeolsetlvttbpbeoosesiuincpnersriiterrincnhsemaunvaseeueprldkiecnwtisultmmenensaojgidntetselyzagtctaisiraipzegeienjreosuuszuynlnpooesurddauuuitnouspiiuaeeqerelumdalnohdhueuuiiaiaaltlunnsnamleoprecysucviuirsatenctssjeniinreuenvirsntrwzntaeeieouapntlmayotrpsuunnuiptsxaevplkmuruasocuimontijceksmaeaaearurosaeitpimvtityevsualpsosallkkimiaaievplozjirncedcismssamnerotsprnltlhfiokolroleeaejexjslihseaoelqnsrwizluirhuraarefssdsealtkuediqtdpwekselinealineozeremtjandnrerracqoakiltrcsnwataavalommuslrdqawqpcneaiotajsaiedrkoxtasfyvermeyrnaibrdeiixlefsesvsqrlobkatcptiuxpmvanohcedlemkgevsuoexjjmenoteatptylewesoeotzbveiugseaswoeueoirpupdpulsidsiosueeealdepeltuwssipsecinicloeantylscemtsbairodutathtceeutmrsiarnptamasrrildiuwntaisaatculursrgeierrheeiteacuroruyfretvcxegadiiunguenunubreuflnccretdeetwmdunttrosyntooieeeutvenra";
+
 	/*
 	 * PRIVATE ATTRIBUTES
 	 */
 	private final int size;
 	private final LexicographicTree dict;
 	private final Graph<CharSommet, DefaultEdge> grid;
+	private final CharSommet[] sommets;
+	private PathIndex pathIndex;
 
 	private static class CharSommet {
-		private final char letter;
+		private char letter;
+		private final int index;
+		private CharSommet[] neighbors;
 
-		public CharSommet(char letter) {
+		public CharSommet(char letter, int index) {
 			this.letter = letter;
-
+			this.index = index;
 		}
 	}
 	/*
@@ -45,6 +69,7 @@ public class Boggle {
 		for(int i = 0; i < size*size; i++) {
 			letters.append(getRandomLetter());
 		}
+		this.sommets = new CharSommet[size * size];
 		this.grid = buildGrid(size, letters.toString());
 	}
 
@@ -72,6 +97,7 @@ public class Boggle {
 
 		this.size = size;
 		this.dict = dict;
+		this.sommets = new CharSommet[size * size];
 		this.grid = buildGrid(size, letters);
 	}
 
@@ -81,12 +107,11 @@ public class Boggle {
 
 	private Graph<CharSommet, DefaultEdge> buildGrid(int size, String letters) {
 		Graph<CharSommet, DefaultEdge> grid = new SimpleGraph<>(DefaultEdge.class);
-		CharSommet[][] sommets = new CharSommet[size][size];
 
 		for (int i = 0; i < size; i++) {
 			for (int j = 0; j < size; j++) {
-				CharSommet sommet = new CharSommet(letters.charAt(i * size + j));
-				sommets[i][j] = sommet;
+				CharSommet sommet = new CharSommet(letters.charAt(i * size + j), i * size + j);
+				sommets[i * size + j] = sommet;
 				grid.addVertex(sommet);
 			}
 		}
@@ -95,7 +120,7 @@ public class Boggle {
 		//TODO
 		for (int i = 0; i < size; i++) {
 			for (int j = 0; j < size; j++) {
-				CharSommet sommet = sommets[i][j];
+				CharSommet sommet = sommets[i * size + j];
 				int[] dx = {-1, 0, 1, -1, 1, -1, 0, 1};
 				int[] dy = {-1, -1, -1, 0, 0, 1, 1, 1};
 
@@ -104,12 +129,17 @@ public class Boggle {
 					int newY = j + dy[k];
 
 					if (newX >= 0 && newX < size && newY >= 0 && newY < size) {
-						grid.addEdge(sommet, sommets[newX][newY]);
+						grid.addEdge(sommet, sommets[newX * size + newY]);
 					}
 				}
 			}
 		}
 
+		// Les voisins sont figés dans un tableau pour les recherches répétées
+		for (CharSommet sommet : sommets) {
+			sommet.neighbors = Graphs.neighborListOf(grid, sommet).toArray(new CharSommet[0]);
+		}
+
 		return grid;
 	}
 
@@ -122,48 +152,120 @@ public class Boggle {
 	 * @return a string of letters
 	 */
 	public String letters() {
-		StringBuilder sb = new StringBuilder();
-		for(CharSommet sommet : grid.vertexSet()) {
+		StringBuilder sb = new StringBuilder(sommets.length);
+		for (CharSommet sommet : sommets) {
 			sb.append(sommet.letter);
 		}
 		return sb.toString();
 	}
 
+	/**
+	 * Returns the letter of a cell.
+	 * @param row The row of the cell
+	 * @param col The column of the cell
+	 * @return the letter of the cell
+	 */
+	public char letterAt(int row, int col) {
+		return sommets[cellIndex(row, col)].letter;
+	}
+
 	/**
 	 * Determines if a word can be found in the Boggle grid.
 	 * @param word a word
 	 * @return true if the word is present, false otherwise
 	 */
 	public boolean contains(String word) {
-		for (CharSommet sommet : grid.vertexSet()) {
-			if (searchWordFromVertex(sommet, word, new HashSet<>())) {
+		boolean[] visited = new boolean[sommets.length];
+		for (CharSommet sommet : sommets) {
+			if (searchWordFromVertex(sommet, word, 0, visited)) {
 				return true;
 			}
 		}
 		return false;
 	}
 
-	private boolean searchWordFromVertex(CharSommet vertex, String word, HashSet<Object> visited) {
-		if (word.isEmpty()) {
+	private boolean searchWordFromVertex(CharSommet vertex, String word, int position, boolean[] visited) {
+		if (position == word.length()) {
 			return true;
 		}
 
-		if (visited.contains(vertex) || vertex.letter != word.charAt(0)) {
+		if (visited[vertex.index] || vertex.letter != word.charAt(position)) {
 			return false;
 		}
 
-		visited.add(vertex);
-		String remainingWord = word.substring(1);
-		for (CharSommet neighbor : Graphs.neighborSetOf(grid, vertex)) {
-			if (searchWordFromVertex(neighbor, remainingWord, visited)) {
+		visited[vertex.index] = true;
+		if (position + 1 == word.length()) {
+			visited[vertex.index] = false;
+			return true;
+		}
+		for (CharSommet neighbor : vertex.neighbors) {
+			if (searchWordFromVertex(neighbor, word, position + 1, visited)) {
+				visited[vertex.index] = false;
 				return true;
 			}
 		}
-		visited.remove(vertex);
+		visited[vertex.index] = false;
 
 		return false;
 	}
 
+	/**
+	 * Determines if all the supplied words can be found in the Boggle grid. The words are gathered
+	 * in a small lexicographic tree so that they are all searched in a single traversal of the grid.
+	 * @param words the words to look for
+	 * @return true if every word is present, false otherwise
+	 */
+	public boolean containsAll(Collection<String> words) {
+		return containedWords(words).size() == new HashSet<>(words).size();
+	}
+
+	/**
+	 * Returns the supplied words that can be found in the Boggle grid, e.g. to validate the words
+	 * submitted by a player. All the words are searched in a single traversal of the grid.
+	 * @param words the words to look for
+	 * @return the words present in the grid
+	 */
+	public Set<String> containedWords(Collection<String> words) {
+		LexicographicTree query = new LexicographicTree();
+		Set<String> result = new HashSet<>();
+		for (String word : words) {
+			if (word.isEmpty()) {
+				result.add(word);
+			} else if (isQueryable(word)) {
+				query.insertWord(word);
+			}
+		}
+		if (query.size() == 0) {
+			return result;
+		}
+
+		BitSet found = new BitSet(query.size());
+		walkWords(query.getRoot(), (node, word, length) -> {
+			if (node.isEndOfWord()) {
+				found.set(node.getOrdinal());
+			}
+			return found.cardinality() < query.size();
+		});
+
+		for (String word : words) {
+			int ordinal = isQueryable(word) ? query.getOrdinal(word) : -1;
+			if (ordinal >= 0 && found.get(ordinal)) {
+				result.add(word);
+			}
+		}
+		return result;
+	}
+
+	private boolean isQueryable(String word) {
+		// Le mot doit être stocké tel quel dans l'arbre de requête, sans caractère filtré ni majuscule
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			if ((c < 'a' || c > 'z') && c != '-' && c != '\'') {
+				return false;
+			}
+		}
+		return true;
+	}
 
 	/**
 	 * Searches for words in the Boggle grid.
@@ -202,23 +304,193 @@ public class Boggle {
 	}
 
 
+	/**
+	 * Returns the k best words of the grid according to a comparator, without building the set
+	 * of all the words.
+	 * @param k The number of words to return
+	 * @param comparator Orders the words from the best to the worst
+	 * @return at most k words, from the best to the worst
+	 */
+	public List<String> solveTopK(int k, Comparator<String> comparator) {
+		if (k < 1) {
+			throw new IllegalArgumentException("Le nombre de mots demandés doit être supérieur à 0.");
+		}
+		// Tas borné dont la tête est le moins bon des k meilleurs mots
+		PriorityQueue<String> best = new PriorityQueue<>(k + 1, comparator.reversed());
+		boolean byLength = comparator == LONGEST_FIRST;
+		BitSet seen = new BitSet(dict.size());
+		walkWords((node, word, length) -> {
+			if (length >= 3 && node.isEndOfWord() && !seen.get(node.getOrdinal())) {
+				seen.set(node.getOrdinal());
+				String candidate = new String(word, 0, length);
+				if (best.size() < k) {
+					best.add(candidate);
+				} else if (comparator.compare(candidate, best.peek()) < 0) {
+					best.poll();
+					best.add(candidate);
+				}
+			}
+			// Aucun mot sous ce nœud ne peut égaler la longueur du k-ième meilleur
+			return !byLength || best.size() < k || length + node.getHeight() >= best.peek().length();
+		});
+
+		List<String> result = new ArrayList<>(best);
+		result.sort(comparator);
+		return result;
+	}
+
+	/**
+	 * Computes the score of the grid, each word being counted once, without building the set
+	 * of all the words.
+	 * @param rule The rule giving the points of a word
+	 * @return the total score of the grid
+	 */
+	public int score(ScoringRule rule) {
+		BitSet seen = new BitSet(dict.size());
+		int[] score = new int[1];
+		walkWords((node, word, length) -> {
+			if (length >= 3 && node.isEndOfWord() && !seen.get(node.getOrdinal())) {
+				seen.set(node.getOrdinal());
+				score[0] += rule.score(new String(word, 0, length));
+			}
+			return true;
+		});
+		return score[0];
+	}
+
+	private interface WordVisitor {
+		/**
+		 * Called for each path of the grid spelling a prefix of the dictionary.
+		 * @return false to skip the paths extending this one
+		 */
+		boolean visit(LexicographicTree.Node node, char[] word, int length);
+	}
+
+	private void walkWords(WordVisitor visitor) {
+		walkWords(dict.getRoot(), visitor);
+	}
+
+	private void walkWords(LexicographicTree.Node root, WordVisitor visitor) {
+		boolean[] visited = new boolean[sommets.length];
+		char[] word = new char[Math.max(1, root.getHeight())];
+		for (CharSommet sommet : sommets) {
+			walkWordsRecursively(sommet, root, 0, visited, word, visitor);
+		}
+	}
+
+	private void walkWordsRecursively(CharSommet vertex, LexicographicTree.Node parent, int depth, boolean[] visited,
+			char[] word, WordVisitor visitor) {
+		LexicographicTree.Node node = parent.getChild(vertex.letter);
+		if (node == null) {
+			return;
+		}
+		word[depth] = vertex.letter;
+		if (!visitor.visit(node, word, depth + 1) || node.getHeight() == 0) {
+			return;
+		}
+
+		visited[vertex.index] = true;
+		for (CharSommet neighbor : vertex.neighbors) {
+			if (!visited[neighbor.index]) {
+				walkWordsRecursively(neighbor, node, depth + 1, visited, word, visitor);
+			}
+		}
+		visited[vertex.index] = false;
+	}
+
+	/**
+	 * Replaces the letter of a cell. If the words of the grid are tracked through
+	 * {@link #solveIncremental()}, only the paths going through this cell are re-searched.
+	 * @param row The row of the cell
+	 * @param col The column of the cell
+	 * @param letter The new letter
+	 */
+	public void setLetter(int row, int col, char letter) {
+		CharSommet sommet = sommets[cellIndex(row, col)];
+		if (sommet.letter == letter) {
+			return;
+		}
+		sommet.letter = letter;
+		if (pathIndex != null) {
+			pathIndex.invalidate(sommet.index);
+			indexPaths(sommet);
+		}
+	}
+
+	/**
+	 * Searches for words in the Boggle grid and keeps track of the paths followed by each word,
+	 * so that later calls after {@link #setLetter(int, int, char)} only cost a local re-search.
+	 * @return an unmodifiable view of the found words, kept up to date by later letter changes
+	 */
+	public Set<String> solveIncremental() {
+		if (pathIndex == null) {
+			pathIndex = new PathIndex(sommets.length);
+			indexPaths(null);
+		}
+		return pathIndex.words();
+	}
+
+	private void indexPaths(CharSommet changed) {
+		boolean[] visited = new boolean[sommets.length];
+		int[] path = new int[sommets.length];
+		StringBuilder currentWord = new StringBuilder();
+		for (CharSommet sommet : sommets) {
+			indexPathsRecursively(sommet, dict.getRoot(), changed, changed == null, visited, path, currentWord);
+		}
+	}
+
+	private void indexPathsRecursively(CharSommet vertex, LexicographicTree.Node parent, CharSommet changed,
+			boolean throughChanged, boolean[] visited, int[] path, StringBuilder currentWord) {
+		LexicographicTree.Node node = parent.getChild(vertex.letter);
+		if (node == null) {
+			return;
+		}
+
+		// Seuls les chemins passant par la case modifiée sont recherchés
+		throughChanged |= vertex == changed;
+		if (!throughChanged && distance(vertex, changed) > node.getHeight()) {
+			return;
+		}
+
+		int depth = currentWord.length();
+		visited[vertex.index] = true;
+		path[depth] = vertex.index;
+		currentWord.append(vertex.letter);
+
+		if (throughChanged && depth + 1 >= 3 && node.isEndOfWord()) {
+			pathIndex.add(currentWord.toString(), Arrays.copyOf(path, depth + 1));
+		}
+		for (CharSommet neighbor : vertex.neighbors) {
+			if (!visited[neighbor.index]) {
+				indexPathsRecursively(neighbor, node, changed, throughChanged, visited, path, currentWord);
+			}
+		}
+
+		visited[vertex.index] = false;
+		currentWord.setLength(depth);
+	}
+
+	private int cellIndex(int row, int col) {
+		if (row < 0 || row >= size || col < 0 || col >= size) {
+			throw new IllegalArgumentException("La case (" + row + ", " + col + ") est en dehors de la grille.");
+		}
+		return row * size + col;
+	}
+
+	private int distance(CharSommet a, CharSommet b) {
+		return Math.max(Math.abs(a.index / size - b.index / size), Math.abs(a.index % size - b.index % size));
+	}
+
 	/**
 	 * Returns a textual representation of the Boggle grid.
 	 * @return a textual representation of the Boggle grid
 	 */
 	public String toString() {
-		StringBuilder sb = new StringBuilder();
+		StringBuilder sb = new StringBuilder(size * (2 * size + 2));
 		for (int i = 0; i < size; i++) {
 			sb.append("|");
 			for (int j = 0; j < size; j++) {
-				int finalI = i;
-				int finalJ = j;
-				char letter = grid.vertexSet()
-						.stream()
-						.filter(sommet -> sommet.letter == letters().charAt(finalI * size + finalJ))
-						.findFirst()
-						.orElse(new CharSommet('\0'))
-						.letter;
+				char letter = sommets[i * size + j].letter;
 				if (letter != '\0') {
 					sb.append(letter);
 				} else {
@@ -237,33 +509,44 @@ public class Boggle {
 	 * MAIN PROGRAM
 	 */
 
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException {
 		long startTime = System.currentTimeMillis();
 		System.out.println("Loading dictionary...");
-		LexicographicTree dictionary = new LexicographicTree("src/main/resources/mots/dictionnaire_FR_sans_accents.txt");
+		LexicographicTree dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
 		long loadDictTime = System.currentTimeMillis();
 		System.out.println("Duration : " + (loadDictTime - startTime)/1000.0);
 		System.out.println("Number of words : " + dictionary.size());
 		System.out.println();
 
 		// Sample grids
-		String grid4x4 = "rhreypcswnsntego"; // Wikipedia example
+		String grid4x4 = SAMPLE_GRID_4X4; // Wikipedia example
 		Boggle boggle1 = new Boggle(4, grid4x4, dictionary);
 		printSolve(boggle1);
 
 
-		String grid10x10 = "eymmccsrltjttsdiraoarliuniepeousrcgoiseerreeistiedtomcteevcmkaualilaretneerectresieenspgizeoeceecuds";
+		String grid10x10 = SAMPLE_GRID_50X50.substring(0, 100);
 		Boggle boggle2 = new Boggle(10, grid10x10, dictionary);
 		printSolve(boggle2);
 
-		String grid20x20 = "eymmccsrltjttsdiraoarliuniepeousrcgoiseerreeistiedtomcteevcmkaualilaretneerectresieenspgizeoeceecudsrrsrvfianrsicwtdieioeiufnidlaaeeoeieitmntleavieacalischvzeatuisiupatolauaernetasatttadvtthzraaneuzfpneenabiielhcnitesaouelsenxrtojlcastieklkrupeletaiztleapqgaeocbpteutnetrtozatluuarapepsvipesxolteatmylttumelctahsowlsadoelouamisparejpmuaasoaeszsuilubrdrannyosfewnolneudpatcrwatblttpensaaunvkslrekiittc";
+		String grid20x20 = SAMPLE_GRID_50X50.substring(0, 400);
 		Boggle boggle3 = new Boggle(20, grid20x20, dictionary);
 		printSolve(boggle3);
 
-		String grid50x50 = "eymmccsrltjttsdiraoarliuniepeousrcgoiseerreeistiedtomcteevcmkaualilaretneerectresieenspgizeoeceecudsrrsrvfianrsicwtdieioeiufnidlaaeeoeieitmntleavieacalischvzeatuisiupatolauaernetasatttadvtthzraaneuzfpneenabiielhcnitesaouelsenxrtojlcastieklkrupeletaiztleapqgaeocbpteutnetrtozatluuarapepsvipesxolteatmylttumelctahsowlsadoelouamisparejpmuaasoaeszsuilubrdrannyosfewnolneudpatcrwatblttpensaaunvkslrekiittciivsomuestiurfuaxreeunuennetemubenanvsucimozentlvptnsoyaoatospesvaesasyysdlbdoraguhpleonvfrelentickiwzrnmimsaeimralovhetscejsdsnrtcsgporubtewesdklorlvteselauxieusieetfmiplllneuyprlpiiujiewverneussnnaxoaswclermderupyurmaareuescriqesbeeadldnlhtsnaucxeadstciqneeetcwtctcltavxgiiuorlomewbleeaoanrjeqeaqhzetmamisirasceranivleteeuaedeaatnsostwtbtonuasilsodhxsmnetecuoesepmotlndamvdcaeebiualneltdrtnwgerifterpepdetdbgollulneoynesonnrpesaustieundaevansmspaisinusitiaagrhoaeeewotnlagtlinjdssnocmeigvultkamnarvcloohslgiueawnyterddduepeislsmaemaiensuytiraesliehotcmaeoeovtsoiostialfertapbuptefeeleeonkeeectcdtneuidrlrpeenmeauvztltsetaeidlsrgscvlsenmetyeoueqesassooiajprrsytioqesugwvatixluutotimwlpesreeicylreeeseauueeeeapornntulivlonansipvoeeactiuecmeudnenrqaieordhluomrtsrmetetswlieqcmltslvsadeuspglmyruteoixiuoepdnectntentdaualdpcsoaeljvonkeftneiuedeeztsatencaectoeptluatriocdocrdtmudleueornptmeintlzejaaaneeradibraeaoaanpoisieeurtettrxvtneoegleltagkasosrastluadxsepnlsaadoaiepjswyedatmrsnivmriseaweinvatepciuuesssnllsssmixlesiedettssyoeuipwltetitececoieeozweaenmlaoroospptusidpkdvsrnqaajituspuuleiisheiogeinpbbsitbsvetofsncnaetaowooekmuntavroonjraduuacknoqqknnnrjoopeeofzdyseaoltsclvaaapiueceauofcdbntmxtneetpoitwiinfaeltgueeispzeacneqmviaiusaettplhiuaetqaewtfuuipoueuesnsoxaixaeeyavqllssqareessnmeolsetlvttbpbeoosesiuincpnersriiterrincnhsemaunvaseeueprldkiecnwtisultmmenensaojgidntetselyzagtctaisiraipzegeienjreosuuszuynlnpooesurddauuuitnouspiiuaeeqerelumdalnohdhueuuiiaiaaltlunnsnamleoprecysucviuirsatenctssjeniinreuenvirsntrwzntaeeieouapntlmayotrpsuunnuiptsxaevplkmuruasocuimontijceksmaeaaearurosaeitpimvtityevsualpsosallkkimiaaievplozjirncedcismssamnerotsprnltlhfiokolroleeaejexjslihseaoelqnsrwizluirhuraarefssdsealtkuediqtdpwekselinealineozeremtjandnrerracqoakiltrcsnwataavalommuslrdqawqpcneaiotajsaiedrkoxtasfyvermeyrnaibrdeiixlefsesvsqrlobkatcptiuxpmvanohcedlemkgevsuoexjjmenoteatptylewesoeotzbveiugseaswoeueoirpupdpulsidsiosueeealdepeltuwssipsecinicloeantylscemtsbairodutathtceeutmrsiarnptamasrrildiuwntaisaatculursrgeierrheeiteacuroruyfretvcxegadiiunguenunubreuflnccretdeetwmdunttrosyntooieeeutvenra";
+		String grid50x50 = SAMPLE_GRID_50X50;
 		Boggle boggle4 = new Boggle(50, grid50x50, dictionary);
 		printSolve(boggle4);
 
+		// Meilleurs mots et score sans construire l'ensemble des mots
+		long topKTime = System.currentTimeMillis();
+		System.out.println("20 longest words : " + boggle4.solveTopK(20, LONGEST_FIRST));
+		System.out.println("Standard score : " + boggle4.score(ScoringRule.STANDARD));
+		System.out.println("Duration : " + (System.currentTimeMillis() - topKTime)/1000.0);
+		System.out.println();
+
+		// Re-résolution incrémentale après le changement d'une seule case
+		printIncrementalSolve(boggle3);
+		printIncrementalSolve(boggle4);
+
 
 
 
@@ -286,4 +569,25 @@ public class Boggle {
 		System.out.println(new TreeSet<>(results));
 
 	}
+
+	private static void printIncrementalSolve(Boggle boggle) {
+		int changeCount = 1000;
+		System.out.printf("Incremental solve : %d x %d%n", boggle.size, boggle.size);
+		long startTime = System.nanoTime();
+		boggle.solve();
+		long solveTime = System.nanoTime();
+		boggle.solveIncremental();
+		long indexTime = System.nanoTime();
+		Random random = new Random(42);
+		for (int i = 0; i < changeCount; i++) {
+			boggle.setLetter(random.nextInt(boggle.size), random.nextInt(boggle.size), boggle.getRandomLetter());
+			boggle.solveIncremental();
+		}
+		long changeTime = System.nanoTime();
+		System.out.println("Full solve duration (ms) : " + (solveTime - startTime) / 1e6);
+		System.out.println("Index build duration (ms) : " + (indexTime - solveTime) / 1e6);
+		System.out.println("Re-solve after one change (ms) : " + (changeTime - indexTime) / 1e6 / changeCount);
+		System.out.println("Number of words found : " + boggle.solveIncremental().size());
+		System.out.println();
+	}
 }
@@ -0,0 +1,274 @@
+package org.boggle;
+
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Searches for high-scoring Boggle grids by simulated annealing.
+ * Each restart starts from a random grid and mutates one letter or swaps two letters at a time,
+ * re-scoring the grid through {@link Boggle#solveIncremental()}. Restarts are independent and run
+ * on all available cores.
+ */
+public class BoggleOptimizer {
+
+	/*
+	 * PRIVATE ATTRIBUTES
+	 */
+	private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+	private final int size;
+	private final LexicographicTree dict;
+	private final ScoringRule rule;
+	private double initialTemperature = 5.0;
+	private double finalTemperature = 0.05;
+
+	/**
+	 * An improvement of the best score, dated from the start of the optimization.
+	 */
+	public static class Improvement {
+		private final long elapsedMillis;
+		private final int score;
+
+		public Improvement(long elapsedMillis, int score) {
+			this.elapsedMillis = elapsedMillis;
+			this.score = score;
+		}
+
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+
+		public int getScore() {
+			return score;
+		}
+
+		@Override
+		public String toString() {
+			return elapsedMillis + " ms -> " + score;
+		}
+	}
+
+	/**
+	 * The outcome of an optimization : best grid, its score and search statistics.
+	 */
+	public static class Result {
+		private final String letters;
+		private final int score;
+		private final long boardsEvaluated;
+		private final long durationNanos;
+		private final List<Improvement> timeline;
+
+		public Result(String letters, int score, long boardsEvaluated, long durationNanos, List<Improvement> timeline) {
+			this.letters = letters;
+			this.score = score;
+			this.boardsEvaluated = boardsEvaluated;
+			this.durationNanos = durationNanos;
+			this.timeline = timeline;
+		}
+
+		public String getLetters() {
+			return letters;
+		}
+
+		public int getScore() {
+			return score;
+		}
+
+		public long getBoardsEvaluated() {
+			return boardsEvaluated;
+		}
+
+		public double getBoardsPerSecond() {
+			return durationNanos == 0 ? 0 : boardsEvaluated * 1e9 / durationNanos;
+		}
+
+		public List<Improvement> getTimeline() {
+			return timeline;
+		}
+	}
+
+	/*
+	 * CONSTRUCTOR
+	 */
+
+	/**
+	 * Constructor : creates an optimizer for square grids of a given size.
+	 * @param size The size of the squared grid
+	 * @param dict A dictionary of allowed words
+	 * @param rule The rule used to score the grids
+	 */
+	public BoggleOptimizer(int size, LexicographicTree dict, ScoringRule rule) {
+		if (size < 1) {
+			throw new IllegalArgumentException("La taille de la grille doit être supérieure à 0.");
+		}
+		this.size = size;
+		this.dict = dict;
+		this.rule = rule;
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Sets the temperatures of the annealing schedule. The temperature decreases geometrically
+	 * from the initial to the final value during each restart; a zero temperature gives a hill-climbing.
+	 * @param initialTemperature The temperature at the start of a restart
+	 * @param finalTemperature The temperature at the end of a restart
+	 */
+	public void setTemperatures(double initialTemperature, double finalTemperature) {
+		if (initialTemperature < 0 || finalTemperature < 0 || finalTemperature > initialTemperature) {
+			throw new IllegalArgumentException("Les températures doivent vérifier 0 <= finale <= initiale.");
+		}
+		this.initialTemperature = initialTemperature;
+		this.finalTemperature = finalTemperature;
+	}
+
+	/**
+	 * Runs independent annealing restarts on all available cores and returns the best grid found.
+	 * @param restarts The number of restarts
+	 * @param iterations The number of moves tried by each restart
+	 * @param seed The seed of the random generators
+	 * @return the best grid and the search statistics
+	 */
+	public Result optimize(int restarts, int iterations, long seed) {
+		int threads = Math.min(restarts, Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+		SharedBest best = new SharedBest();
+		AtomicLong boardsEvaluated = new AtomicLong();
+		long startTime = System.nanoTime();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int r = 0; r < restarts; r++) {
+				Random random = new Random(seed + r);
+				futures.add(executor.submit(() -> anneal(iterations, random, best, boardsEvaluated, startTime)));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+		long duration = System.nanoTime() - startTime;
+		return best.toResult(boardsEvaluated.get(), duration);
+	}
+
+	/**
+	 * Scores a set of words with the optimizer's rule.
+	 * @param words the words found in a grid
+	 * @return the score of the grid
+	 */
+	public int score(Collection<String> words) {
+		int score = 0;
+		for (String word : words) {
+			score += rule.score(word);
+		}
+		return score;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private void anneal(int iterations, Random random, SharedBest best, AtomicLong boardsEvaluated, long startTime) {
+		char[] letters = new char[size * size];
+		for (int i = 0; i < letters.length; i++) {
+			letters[i] = LETTERS.charAt(random.nextInt(LETTERS.length()));
+		}
+		Boggle boggle = new Boggle(size, new String(letters), dict);
+		int score = score(boggle.solveIncremental());
+		int bestScore = score;
+		best.offer(new String(letters), score, startTime);
+
+		double cooling = iterations > 1 && finalTemperature > 0 ? Math.pow(finalTemperature / initialTemperature, 1.0 / (iterations - 1)) : 0;
+		double temperature = initialTemperature;
+		for (int it = 0; it < iterations; it++) {
+			int a = random.nextInt(letters.length);
+			int b = a;
+			char oldLetter = letters[a];
+			boolean swap = letters.length > 1 && random.nextBoolean();
+			if (swap) {
+				while (b == a) {
+					b = random.nextInt(letters.length);
+				}
+				setLetter(boggle, letters, a, letters[b]);
+				setLetter(boggle, letters, b, oldLetter);
+			} else {
+				setLetter(boggle, letters, a, LETTERS.charAt(random.nextInt(LETTERS.length())));
+			}
+
+			int newScore = score(boggle.solveIncremental());
+			int delta = newScore - score;
+			if (delta >= 0 || (temperature > 0 && random.nextDouble() < Math.exp(delta / temperature))) {
+				score = newScore;
+				if (score > bestScore) {
+					bestScore = score;
+					best.offer(new String(letters), score, startTime);
+				}
+			} else {
+				// Le mouvement est refusé : on remet les lettres d'origine
+				if (swap) {
+					setLetter(boggle, letters, b, letters[a]);
+				}
+				setLetter(boggle, letters, a, oldLetter);
+			}
+			temperature *= cooling;
+		}
+		boardsEvaluated.addAndGet(iterations + 1L);
+	}
+
+	private void setLetter(Boggle boggle, char[] letters, int index, char letter) {
+		letters[index] = letter;
+		boggle.setLetter(index / size, index % size, letter);
+	}
+
+	private static class SharedBest {
+		private String letters;
+		private int score = -1;
+		private final List<Improvement> timeline = new ArrayList<>();
+
+		synchronized void offer(String letters, int score, long startTime) {
+			if (score > this.score) {
+				this.letters = letters;
+				this.score = score;
+				timeline.add(new Improvement((System.nanoTime() - startTime) / 1_000_000, score));
+			}
+		}
+
+		synchronized Result toResult(long boardsEvaluated, long durationNanos) {
+			return new Result(letters, score, boardsEvaluated, durationNanos, List.copyOf(timeline));
+		}
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	public static void main(String[] args) throws IOException {
+		System.out.println("Loading dictionary...");
+		LexicographicTree dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		System.out.println("Number of words : " + dictionary.size());
+		System.out.println();
+
+		for (ScoringRule rule : new ScoringRule[] {ScoringRule.WORD_COUNT, ScoringRule.LENGTH_WEIGHTED}) {
+			BoggleOptimizer optimizer = new BoggleOptimizer(4, dictionary, rule);
+			Result result = optimizer.optimize(Runtime.getRuntime().availableProcessors() * 2, 20000, 42);
+			Boggle boggle = new Boggle(4, result.getLetters(), dictionary);
+			System.out.println(boggle);
+			System.out.println("Best score : " + result.getScore());
+			System.out.println("Number of words found : " + boggle.solve().size());
+			System.out.printf("Boards evaluated : %d (%.0f boards/s)%n", result.getBoardsEvaluated(), result.getBoardsPerSecond());
+			System.out.println("Best score timeline : " + result.getTimeline());
+			System.out.println();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package org.boggle;
+
+import java.util.*;
+
+/**
+ * Index of the paths followed by the words found in a Boggle grid.
+ * Each path is registered under every cell it uses, so that changing a single cell only
+ * invalidates the paths going through it. A word stays in the result as long as at least
+ * one of its paths is still valid.
+ */
+class PathIndex {
+
+	/*
+	 * PRIVATE ATTRIBUTES
+	 */
+	private final Map<String, Integer> pathCounts;
+	private final List<List<Path>> pathsByCell;
+	private int livePaths;
+	private int deadPaths;
+
+	private static class Path {
+		private final String word;
+		private boolean alive;
+
+		public Path(String word) {
+			this.word = word;
+			this.alive = true;
+		}
+	}
+
+	/*
+	 * CONSTRUCTOR
+	 */
+
+	/**
+	 * Constructor : creates an empty index for a grid.
+	 * @param cellCount The number of cells of the grid
+	 */
+	PathIndex(int cellCount) {
+		pathCounts = new HashMap<>();
+		pathsByCell = new ArrayList<>(cellCount);
+		for (int i = 0; i < cellCount; i++) {
+			pathsByCell.add(new ArrayList<>());
+		}
+	}
+
+	/*
+	 * PACKAGE METHODS
+	 */
+
+	/**
+	 * Registers a path spelling a word.
+	 * @param word The word spelled by the path
+	 * @param cells The indices of the cells used by the path, in order
+	 */
+	void add(String word, int[] cells) {
+		Path path = new Path(word);
+		for (int cell : cells) {
+			pathsByCell.get(cell).add(path);
+		}
+		pathCounts.merge(word, 1, Integer::sum);
+		livePaths++;
+	}
+
+	/**
+	 * Removes every path going through a cell. Words left without any path are removed.
+	 * @param cell The index of the changed cell
+	 */
+	void invalidate(int cell) {
+		List<Path> paths = pathsByCell.get(cell);
+		for (Path path : paths) {
+			if (!path.alive) {
+				continue;
+			}
+			path.alive = false;
+			pathCounts.computeIfPresent(path.word, (word, count) -> count > 1 ? count - 1 : null);
+			livePaths--;
+			deadPaths++;
+		}
+		paths.clear();
+
+		// Les chemins morts restent référencés par les autres cases : on les purge de temps en temps
+		if (deadPaths > livePaths) {
+			for (List<Path> cellPaths : pathsByCell) {
+				cellPaths.removeIf(path -> !path.alive);
+			}
+			deadPaths = 0;
+		}
+	}
+
+	/**
+	 * Returns the words having at least one valid path.
+	 * @return an unmodifiable view of the indexed words
+	 */
+	Set<String> words() {
+		return Collections.unmodifiableSet(pathCounts.keySet());
+	}
+
+	/**
+	 * Returns the number of valid paths spelling a word.
+	 * @param word a word
+	 * @return the number of paths, 0 if the word is not in the grid
+	 */
+	int pathCount(String word) {
+		return pathCounts.getOrDefault(word, 0);
+	}
+}
@@ -0,0 +1,37 @@
+package org.boggle;
+
+/**
+ * A rule giving the number of points earned by a word found in a Boggle grid.
+ */
+@FunctionalInterface
+public interface ScoringRule {
+
+	/**
+	 * Every word is worth one point : the score is the number of words.
+	 */
+	ScoringRule WORD_COUNT = word -> 1;
+
+	/**
+	 * A word is worth one point per letter beyond the second one.
+	 */
+	ScoringRule LENGTH_WEIGHTED = word -> word.length() - 2;
+
+	/**
+	 * Standard Boggle scoring : 1 point for 3 or 4 letters, 2 for 5, 3 for 6, 5 for 7 and 11 for 8 or more.
+	 */
+	ScoringRule STANDARD = word -> switch (word.length()) {
+		case 0, 1, 2 -> 0;
+		case 3, 4 -> 1;
+		case 5 -> 2;
+		case 6 -> 3;
+		case 7 -> 5;
+		default -> 11;
+	};
+
+	/**
+	 * Returns the number of points earned by a word.
+	 * @param word a word found in the grid
+	 * @return the points earned by the word
+	 */
+	int score(String word);
+}
@@ -0,0 +1,193 @@
+package org.boggle;
+
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Memory-bounded solver for very large Boggle grids.
+ * The grid is processed tile by tile : the paths starting in a tile are searched in the tile
+ * extended by a margin equal to the longest word of the dictionary, so no path is missed.
+ * Found words are streamed to a consumer the first time they are met; deduplication uses a
+ * bitset indexed by word ordinals, whose size depends on the dictionary only.
+ */
+public class TiledSolver {
+
+	/*
+	 * PRIVATE ATTRIBUTES
+	 */
+	private static final int DEFAULT_TILE_SIZE = 64;
+	private static final int[] DX = {-1, 0, 1, -1, 1, -1, 0, 1};
+	private static final int[] DY = {-1, -1, -1, 0, 0, 1, 1, 1};
+
+	private final int size;
+	private final CharSequence letters;
+	private final LexicographicTree dict;
+
+	/*
+	 * CONSTRUCTOR
+	 */
+
+	/**
+	 * Constructor : creates a solver for a squared grid. The letters are read on demand,
+	 * so they may come from any CharSequence, including a generated one.
+	 * @param size The size of the squared grid
+	 * @param letters The (size x size) letters of the grid, row by row
+	 * @param dict A dictionary of allowed words
+	 */
+	public TiledSolver(int size, CharSequence letters, LexicographicTree dict) {
+		if (size < 1) {
+			throw new IllegalArgumentException("La taille de la grille doit être supérieure à 0.");
+		}
+		if (letters.length() < (long) size * size) {
+			throw new IllegalArgumentException("Le nombre de lettres fournies est insuffisant pour remplir la grille.");
+		}
+		this.size = size;
+		this.letters = letters;
+		this.dict = dict;
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Searches for words in the grid with the default tile size and streams them to a consumer.
+	 * @param consumer receives each found word once
+	 * @return the number of distinct words found
+	 */
+	public int solve(Consumer<String> consumer) {
+		return solve(DEFAULT_TILE_SIZE, consumer);
+	}
+
+	/**
+	 * Searches for words in the grid tile by tile and streams them to a consumer.
+	 * @param tileSize The size of the squared tiles
+	 * @param consumer receives each found word once
+	 * @return the number of distinct words found
+	 */
+	public int solve(int tileSize, Consumer<String> consumer) {
+		if (tileSize < 1) {
+			throw new IllegalArgumentException("La taille des tuiles doit être supérieure à 0.");
+		}
+		LexicographicTree.Node root = dict.getRoot();
+		int margin = Math.max(0, root.getHeight() - 1);
+		int regionSize = Math.min(size, tileSize + 2 * margin);
+		Tile tile = new Tile(regionSize, root.getHeight(), new BitSet(dict.size()), consumer);
+
+		for (int top = 0; top < size; top += tileSize) {
+			for (int left = 0; left < size; left += tileSize) {
+				tile.load(top, left, Math.min(tileSize, size - top), Math.min(tileSize, size - left), margin);
+				tile.search(root);
+			}
+		}
+		return tile.found.cardinality();
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private class Tile {
+		private final char[] cells;
+		private final boolean[] visited;
+		private final char[] currentWord;
+		private final BitSet found;
+		private final Consumer<String> consumer;
+		private int top, left, height, width;
+		private int coreTop, coreLeft, coreHeight, coreWidth;
+
+		Tile(int regionSize, int maxWordLength, BitSet found, Consumer<String> consumer) {
+			this.cells = new char[regionSize * regionSize];
+			this.visited = new boolean[regionSize * regionSize];
+			this.currentWord = new char[Math.max(1, maxWordLength)];
+			this.found = found;
+			this.consumer = consumer;
+		}
+
+		void load(int coreRow, int coreCol, int coreRows, int coreCols, int margin) {
+			top = Math.max(0, coreRow - margin);
+			left = Math.max(0, coreCol - margin);
+			height = Math.min(size, coreRow + coreRows + margin) - top;
+			width = Math.min(size, coreCol + coreCols + margin) - left;
+			coreTop = coreRow - top;
+			coreLeft = coreCol - left;
+			coreHeight = coreRows;
+			coreWidth = coreCols;
+			for (int i = 0; i < height; i++) {
+				for (int j = 0; j < width; j++) {
+					cells[i * width + j] = letters.charAt((top + i) * size + left + j);
+				}
+			}
+		}
+
+		void search(LexicographicTree.Node root) {
+			for (int i = coreTop; i < coreTop + coreHeight; i++) {
+				for (int j = coreLeft; j < coreLeft + coreWidth; j++) {
+					searchRecursively(i, j, root, 0);
+				}
+			}
+		}
+
+		private void searchRecursively(int i, int j, LexicographicTree.Node parent, int depth) {
+			int cell = i * width + j;
+			LexicographicTree.Node node = parent.getChild(cells[cell]);
+			if (node == null) {
+				return;
+			}
+			currentWord[depth] = cells[cell];
+			if (depth + 1 >= 3 && node.isEndOfWord() && !found.get(node.getOrdinal())) {
+				found.set(node.getOrdinal());
+				consumer.accept(new String(currentWord, 0, depth + 1));
+			}
+			if (node.getHeight() == 0) {
+				return;
+			}
+
+			visited[cell] = true;
+			for (int k = 0; k < DX.length; k++) {
+				int ni = i + DX[k];
+				int nj = j + DY[k];
+				if (ni >= 0 && ni < height && nj >= 0 && nj < width && !visited[ni * width + nj]) {
+					searchRecursively(ni, nj, node, depth + 1);
+				}
+			}
+			visited[cell] = false;
+		}
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	public static void main(String[] args) throws IOException {
+		System.out.println("Loading dictionary...");
+		LexicographicTree dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		System.out.println("Number of words : " + dictionary.size());
+		System.out.println();
+
+		for (int size : new int[] {50, 200, 1000}) {
+			Random random = new Random(size);
+			StringBuilder letters = new StringBuilder(size * size);
+			for (int i = 0; i < size * size; i++) {
+				letters.append((char) ('a' + random.nextInt(26)));
+			}
+			Runtime runtime = Runtime.getRuntime();
+			System.gc();
+			long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+			long startTime = System.currentTimeMillis();
+			int[] longest = new int[1];
+			int count = new TiledSolver(size, letters, dictionary).solve(word -> longest[0] = Math.max(longest[0], word.length()));
+			long solveTime = System.currentTimeMillis();
+			long usedAfter = runtime.totalMemory() - runtime.freeMemory();
+			System.out.printf("Tiled solve : %d x %d%n", size, size);
+			System.out.println("Duration : " + (solveTime - startTime) / 1000.0);
+			System.out.println("Number of words found : " + count + " (longest : " + longest[0] + " letters)");
+			System.out.println("Heap growth (MB) : " + Math.max(0, usedAfter - usedBefore) / (1024 * 1024));
+			System.out.println();
+		}
+	}
+}
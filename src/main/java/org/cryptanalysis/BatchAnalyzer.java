@@ -0,0 +1,199 @@
+package org.cryptanalysis;
+
+import org.tree.DictionaryRegistry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Analysis of many cryptograms against the same dictionary.
+ * The candidate tables of the dictionary ({@link DictionaryIndex}) are built once and shared by all
+ * analyses. The cryptograms are put in a queue drained by a pool of worker threads, each cryptogram
+ * being analysed on its own; the report gives the throughput and the distribution of the latency of
+ * each cryptogram, from the start of the batch to the end of its analysis.
+ */
+public class BatchAnalyzer {
+
+    private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+
+    private final DictionaryIndex index;
+    private final Function<DictionaryBasedAnalysis, String> analysis;
+    private final int threads;
+
+    /**
+     * The outcome of a batch : the alphabets found and the timing statistics.
+     */
+    public static class Report {
+        private final List<String> alphabets;
+        private final long[] latenciesNanos;
+        private final long durationNanos;
+
+        public Report(List<String> alphabets, long[] latenciesNanos, long durationNanos) {
+            this.alphabets = alphabets;
+            this.latenciesNanos = latenciesNanos.clone();
+            Arrays.sort(this.latenciesNanos);
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * Returns the decoding alphabets, in the order of the cryptograms.
+         */
+        public List<String> getAlphabets() {
+            return alphabets;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Returns the number of cryptograms analysed per second.
+         */
+        public double getThroughput() {
+            return alphabets.size() / Math.max(1e-9, durationNanos / 1e9);
+        }
+
+        /**
+         * Returns a percentile of the latencies, by the nearest-rank method.
+         *
+         * @param percentile A percentile, between 0 and 100
+         * @return the latency in milliseconds, or 0 for an empty batch
+         */
+        public double getLatencyMillis(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Le centile doit être compris entre 0 et 100.");
+            }
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * latenciesNanos.length);
+            return latenciesNanos[Math.max(0, rank - 1)] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d cryptograms in %.3f s (%.2f/s), latency p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    alphabets.size(), durationNanos / 1e9, getThroughput(),
+                    getLatencyMillis(50), getLatencyMillis(90), getLatencyMillis(99), getLatencyMillis(100));
+        }
+    }
+
+    /*
+     * CONSTRUCTORS
+     */
+
+    /**
+     * Constructor : each cryptogram is analysed by the greedy analysis started from its frequency-analysis
+     * alphabet, on all available cores.
+     *
+     * @param index The candidate tables of the dictionary
+     */
+    public BatchAnalyzer(DictionaryIndex index) {
+        this(index, dba -> dba.guessApproximatedAlphabet(dba.guessAlphabetFromFrequencies()),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param index    The candidate tables of the dictionary
+     * @param analysis The analysis run on each cryptogram, returning its decoding alphabet
+     * @param threads  The number of cryptograms analysed at the same time
+     */
+    public BatchAnalyzer(DictionaryIndex index, Function<DictionaryBasedAnalysis, String> analysis, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Le nombre de threads doit être strictement positif.");
+        }
+        this.index = index;
+        this.analysis = analysis;
+        this.threads = threads;
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Analyses a batch of cryptograms concurrently.
+     *
+     * @param cryptograms The cryptograms
+     * @return the decoding alphabets, in the order of the cryptograms, and the timing statistics
+     * @throws CancellationException if the calling thread is interrupted : no further cryptogram is
+     *                               started, and the interrupt status of the thread is kept
+     */
+    public Report analyze(List<String> cryptograms) {
+        int count = cryptograms.size();
+        BlockingQueue<Integer> queue = new LinkedBlockingQueue<>();
+        for (int i = 0; i < count; i++) {
+            queue.add(i);
+        }
+        String[] alphabets = new String[count];
+        long[] latencies = new long[count];
+
+        // Les fréquences de référence sont calculées avant que les threads se les disputent
+        index.getFrequencies();
+        long startTime = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, count)));
+        try {
+            // Les tâches sont attendues dans l'ordre où elles se terminent : un échec est vu aussitôt
+            CompletionService<Void> workers = new ExecutorCompletionService<>(executor);
+            int workerCount = Math.min(threads, count);
+            for (int t = 0; t < workerCount; t++) {
+                workers.submit(() -> {
+                    Integer item;
+                    // Les analyses ne testent pas l'interruption : elle est vérifiée entre deux cryptogrammes
+                    while (!Thread.currentThread().isInterrupted() && (item = queue.poll()) != null) {
+                        alphabets[item] = analysis.apply(new DictionaryBasedAnalysis(cryptograms.get(item), index));
+                        latencies[item] = System.nanoTime() - startTime;
+                    }
+                    return null;
+                });
+            }
+            for (int t = 0; t < workerCount; t++) {
+                workers.take().get();
+            }
+        } catch (InterruptedException e) {
+            // Un rapport partiel passerait pour complet : on signale l'interruption
+            Thread.currentThread().interrupt();
+            CancellationException cancelled = new CancellationException("Analyse du lot interrompue.");
+            cancelled.initCause(e);
+            throw cancelled;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // En cas d'échec ou d'interruption, aucun cryptogramme restant n'est commencé
+            queue.clear();
+            executor.shutdownNow();
+        }
+        return new Report(Collections.unmodifiableList(Arrays.asList(alphabets)), latencies, System.nanoTime() - startTime);
+    }
+
+    /*
+     * MAIN PROGRAM
+     */
+
+    public static void main(String[] args) throws IOException {
+        System.out.print("Loading dictionary... ");
+        long startTime = System.currentTimeMillis();
+        DictionaryIndex index = new DictionaryIndex(DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY));
+        index.getFrequencies();
+        System.out.println("done in seconds: " + (System.currentTimeMillis() - startTime) / 1000.0);
+        System.out.println();
+
+        // Le cryptogramme découpé en morceaux, chacun analysé séparément
+        String cryptogram = Files.readString(Paths.get(CRYPTOGRAM_FILE), StandardCharsets.UTF_8);
+        List<String> cryptograms = new ArrayList<>();
+        int size = 20_000;
+        for (int start = 0; start + size <= cryptogram.length(); start += size) {
+            cryptograms.add(cryptogram.substring(start, start + size));
+        }
+
+        BatchAnalyzer analyzer = new BatchAnalyzer(index);
+        System.out.println(analyzer.analyze(cryptograms));
+    }
+}
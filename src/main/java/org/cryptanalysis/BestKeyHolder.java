@@ -0,0 +1,124 @@
+package org.cryptanalysis;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Best decoding key shared by concurrent searches, without locks.
+ * Searches publish their keys with {@link #offer(String, double)}; the holder keeps the best one by
+ * compare-and-set on an immutable snapshot. It also carries the cooperative stop condition of the
+ * searches : a target score, a deadline, or an explicit {@link #stop()}.
+ */
+public class BestKeyHolder {
+
+    private final AtomicReference<Snapshot> best = new AtomicReference<>();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final AtomicInteger improvements = new AtomicInteger();
+    private final double targetScore;
+    private final long deadline;
+
+    /**
+     * A key and its score, as published by a search.
+     */
+    public static class Snapshot {
+        private final String alphabet;
+        private final double score;
+
+        public Snapshot(String alphabet, double score) {
+            this.alphabet = alphabet;
+            this.score = score;
+        }
+
+        public String getAlphabet() {
+            return alphabet;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /*
+     * CONSTRUCTOR
+     */
+
+    /**
+     * Constructor.
+     *
+     * @param targetScore      The score from which the searches may stop
+     * @param timeBudgetMillis The duration after which the searches must stop
+     */
+    public BestKeyHolder(double targetScore, long timeBudgetMillis) {
+        this.targetScore = targetScore;
+        this.deadline = System.nanoTime() + timeBudgetMillis * 1_000_000;
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Publishes a key; it replaces the current best one if its score is higher.
+     *
+     * @param alphabet A decoding alphabet
+     * @param score    Its score
+     * @return true if the key became the best one
+     */
+    public boolean offer(String alphabet, double score) {
+        Snapshot candidate = new Snapshot(alphabet, score);
+        Snapshot current = best.get();
+        while (current == null || score > current.score) {
+            if (best.compareAndSet(current, candidate)) {
+                improvements.incrementAndGet();
+                if (score >= targetScore) {
+                    stopped.set(true);
+                }
+                return true;
+            }
+            current = best.get();
+        }
+        return false;
+    }
+
+    /**
+     * Returns the best key published so far.
+     *
+     * @return the best key, or null if none was published
+     */
+    public Snapshot get() {
+        return best.get();
+    }
+
+    /**
+     * Returns the number of keys which became the best one.
+     *
+     * @return the number of improvements
+     */
+    public int improvements() {
+        return improvements.get();
+    }
+
+    /**
+     * Asks the searches to stop.
+     */
+    public void stop() {
+        stopped.set(true);
+    }
+
+    /**
+     * Tells whether the searches should stop : target score reached, deadline passed or stop requested.
+     *
+     * @return true if the searches should stop
+     */
+    public boolean isStopped() {
+        if (stopped.get()) {
+            return true;
+        }
+        if (System.nanoTime() - deadline > 0) {
+            stopped.set(true);
+            return true;
+        }
+        return false;
+    }
+}
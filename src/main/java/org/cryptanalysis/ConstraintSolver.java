@@ -0,0 +1,447 @@
+package org.cryptanalysis;
+
+import java.util.*;
+
+/**
+ * Exact solver treating the cryptogram as a constraint satisfaction problem.
+ * Each distinct cipher word is a variable whose domain is the set of dictionary words with the same
+ * letter pattern. Choosing a word for a variable fixes part of the letter mapping, which must stay
+ * injective; after each choice the domains of the other variables are filtered against the mapping
+ * (forward checking), the variable with the smallest domain is chosen next, and the search backtracks
+ * on failure. A variable may also be left unassigned (proper nouns, words missing from the dictionary),
+ * so the search is a branch and bound maximizing the number of letters covered by assigned words.
+ * <p>
+ * Forward checking is followed by an AC-3 style revision of the variables sharing cipher letters.
+ * Since a variable may stay unassigned, a candidate without support in a neighbouring domain is not
+ * inconsistent : it only forces the neighbour out of the cover. The revision therefore removes the
+ * candidates whose unsupported neighbours weigh enough to bring the bound below the best cover found,
+ * and revises the neighbours of every domain it shrinks.
+ * When the time budget runs out, the best mapping found so far is returned.
+ */
+public class ConstraintSolver {
+
+    private static final int ALPHABET_SIZE = 26;
+    private static final int DEFAULT_MIN_LENGTH = 3;
+    private static final int DEFAULT_MAX_VARIABLES = 150;
+
+    private final byte[][] cipherWords;
+    private final int[] weights;
+    private final byte[][][] domains;
+    // Variables partageant au moins une lettre chiffrée
+    private final int[][] neighbours;
+
+    // État de la recherche
+    private final int[][] domainOrder;
+    private final int[] domainSizes;
+    private final boolean[] assigned;
+    private final byte[] mapping = new byte[ALPHABET_SIZE];
+    private final byte[] inverse = new byte[ALPHABET_SIZE];
+    private final byte[] bestMapping = new byte[ALPHABET_SIZE];
+    // Tampons alloués une fois : tailles des domaines et lettres fixées à chaque profondeur, file de révision
+    private final int[][] savedSizes;
+    private final byte[][] newLetters;
+    private final byte[] revisedLetters = new byte[ALPHABET_SIZE];
+    private final int[] queue;
+    private final boolean[] queued;
+    private long bestScore;
+    private long score;
+    private long nodes;
+    private long deadline;
+    private boolean timedOut;
+    private long candidatesExamined;
+    private SearchMetrics metrics;
+
+    /**
+     * The outcome of a search : best partial alphabet, its score and search statistics.
+     */
+    public static class Result {
+        private final String alphabet;
+        private final long score;
+        private final long nodes;
+        private final boolean complete;
+
+        public Result(String alphabet, long score, long nodes, boolean complete) {
+            this.alphabet = alphabet;
+            this.score = score;
+            this.nodes = nodes;
+            this.complete = complete;
+        }
+
+        /**
+         * Returns the decoding alphabet found, unknown letters being spaces.
+         */
+        public String getAlphabet() {
+            return alphabet;
+        }
+
+        /**
+         * Returns the number of cipher letters, counted with their multiplicity, covered by assigned words.
+         */
+        public long getScore() {
+            return score;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        /**
+         * Returns true if the search space was exhausted, i.e. the result is optimal.
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+
+    /*
+     * CONSTRUCTORS
+     */
+
+    /**
+     * Constructor : builds the variables from the most valuable words of a cryptogram.
+     *
+     * @param cipherWords The words of the cryptogram
+     * @param index       The candidate tables of the dictionary
+     */
+    public ConstraintSolver(Collection<String> cipherWords, DictionaryIndex index) {
+        this(cipherWords, index, DEFAULT_MIN_LENGTH, DEFAULT_MAX_VARIABLES);
+    }
+
+    /**
+     * Constructor : builds the variables from the most valuable words of a cryptogram.
+     *
+     * @param cipherWords  The words of the cryptogram
+     * @param index        The candidate tables of the dictionary
+     * @param minLength    The minimum length of the words taken as variables
+     * @param maxVariables The maximum number of variables, the words covering most letters being kept
+     */
+    public ConstraintSolver(Collection<String> cipherWords, DictionaryIndex index, int minLength, int maxVariables) {
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (String word : cipherWords) {
+            if (word.length() >= minLength && DictionaryIndex.pattern(word) != null) {
+                occurrences.merge(word.toUpperCase(), 1, Integer::sum);
+            }
+        }
+        List<String> variables = new ArrayList<>(occurrences.keySet());
+        variables.removeIf(word -> index.countWordsWithPatternOf(word) == 0);
+        variables.sort(Comparator.comparingInt((String word) -> -occurrences.get(word) * word.length())
+                .thenComparing(Comparator.naturalOrder()));
+        if (variables.size() > maxVariables) {
+            variables = variables.subList(0, maxVariables);
+        }
+
+        int n = variables.size();
+        this.cipherWords = new byte[n][];
+        this.weights = new int[n];
+        this.domains = new byte[n][][];
+        this.domainOrder = new int[n][];
+        this.domainSizes = new int[n];
+        this.assigned = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            String word = variables.get(v);
+            this.cipherWords[v] = codes(word);
+            this.weights[v] = occurrences.get(word) * word.length();
+            List<byte[]> candidates = new ArrayList<>(index.countWordsWithPatternOf(word));
+            index.forEachWordWithPatternOf(word, candidate -> candidates.add(codes(candidate)));
+            this.domains[v] = candidates.toArray(new byte[0][]);
+            this.domainOrder[v] = new int[candidates.size()];
+            for (int i = 0; i < candidates.size(); i++) {
+                this.domainOrder[v][i] = i;
+            }
+        }
+        this.neighbours = neighbours(this.cipherWords);
+        this.savedSizes = new int[n + 1][n];
+        this.newLetters = new byte[n + 1][ALPHABET_SIZE];
+        this.queue = new int[n];
+        this.queued = new boolean[n];
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Returns the number of variables of the problem.
+     *
+     * @return the number of cipher words taken as variables
+     */
+    public int variableCount() {
+        return cipherWords.length;
+    }
+
+    /**
+     * Attaches metrics counting the candidate words examined by the searches, or detaches them.
+     *
+     * @param metrics The metrics, or null
+     */
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Searches for the letter mapping covering the most cipher letters with dictionary words.
+     *
+     * @param timeBudgetMillis The maximum duration of the search
+     * @return the best mapping found, optimal if the search completed within the budget
+     */
+    public Result solve(long timeBudgetMillis) {
+        Arrays.fill(mapping, (byte) -1);
+        Arrays.fill(inverse, (byte) -1);
+        Arrays.fill(assigned, false);
+        for (int v = 0; v < domainSizes.length; v++) {
+            domainSizes[v] = domainOrder[v].length;
+        }
+        Arrays.fill(bestMapping, (byte) -1);
+        bestScore = 0;
+        score = 0;
+        nodes = 0;
+        timedOut = false;
+        candidatesExamined = 0;
+        deadline = System.nanoTime() + timeBudgetMillis * 1_000_000;
+
+        search(0);
+        if (metrics != null) {
+            metrics.addCandidatesExamined(candidatesExamined);
+        }
+
+        StringBuilder alphabet = new StringBuilder(ALPHABET_SIZE);
+        for (byte plain : bestMapping) {
+            alphabet.append(plain < 0 ? ' ' : (char) ('A' + plain));
+        }
+        return new Result(alphabet.toString(), bestScore, nodes, !timedOut);
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    // Chaque niveau fixe une variable, affectée ou écartée : la profondeur ne dépasse pas le nombre de variables
+    private void search(int depth) {
+        nodes++;
+        if (score > bestScore) {
+            bestScore = score;
+            System.arraycopy(mapping, 0, bestMapping, 0, ALPHABET_SIZE);
+        }
+        if ((nodes & 0xFF) == 0 && System.nanoTime() > deadline) {
+            timedOut = true;
+        }
+        if (timedOut) {
+            return;
+        }
+
+        // Borne : même en affectant toutes les variables restantes, on ne ferait pas mieux
+        int next = -1;
+        long bound = score;
+        for (int v = 0; v < cipherWords.length; v++) {
+            if (!assigned[v] && domainSizes[v] > 0) {
+                bound += weights[v];
+                if (next < 0 || domainSizes[v] < domainSizes[next]
+                        || (domainSizes[v] == domainSizes[next] && weights[v] > weights[next])) {
+                    next = v;
+                }
+            }
+        }
+        if (next < 0 || bound <= bestScore) {
+            return;
+        }
+
+        assigned[next] = true;
+        int[] sizes = savedSizes[depth];
+        byte[] letters = newLetters[depth];
+        System.arraycopy(domainSizes, 0, sizes, 0, sizes.length);
+        for (int i = 0; i < sizes[next] && !timedOut; i++) {
+            byte[] candidate = domains[next][domainOrder[next][i]];
+            int newCount = extendMapping(cipherWords[next], candidate, letters);
+            score += weights[next];
+            filterDomains();
+            reviseDomains();
+            search(depth + 1);
+            score -= weights[next];
+            undoMapping(letters, newCount);
+            System.arraycopy(sizes, 0, domainSizes, 0, sizes.length);
+        }
+
+        // Le mot peut aussi ne pas être dans le dictionnaire
+        if (!timedOut) {
+            domainSizes[next] = 0;
+            search(depth + 1);
+            domainSizes[next] = sizes[next];
+        }
+        assigned[next] = false;
+    }
+
+    private int extendMapping(byte[] cipher, byte[] plain, byte[] newLetters) {
+        int count = 0;
+        for (int i = 0; i < cipher.length; i++) {
+            if (mapping[cipher[i]] < 0) {
+                mapping[cipher[i]] = plain[i];
+                inverse[plain[i]] = cipher[i];
+                newLetters[count++] = cipher[i];
+            }
+        }
+        return count;
+    }
+
+    private void undoMapping(byte[] letters, int count) {
+        for (int k = 0; k < count; k++) {
+            inverse[mapping[letters[k]]] = -1;
+            mapping[letters[k]] = -1;
+        }
+    }
+
+    private void filterDomains() {
+        for (int v = 0; v < cipherWords.length; v++) {
+            if (assigned[v]) {
+                continue;
+            }
+            // Les candidats incompatibles sont rangés après les compatibles : restaurer la taille suffit
+            int[] order = domainOrder[v];
+            int size = domainSizes[v];
+            int i = 0;
+            candidatesExamined += size;
+            while (i < size) {
+                if (isConsistent(cipherWords[v], domains[v][order[i]])) {
+                    i++;
+                } else {
+                    size--;
+                    int tmp = order[i];
+                    order[i] = order[size];
+                    order[size] = tmp;
+                }
+            }
+            domainSizes[v] = size;
+        }
+    }
+
+    // Révision de type AC-3 : un candidat est retiré si les voisins qu'il prive de tout support
+    // pèsent au moins l'écart entre la borne et le meilleur score
+    private void reviseDomains() {
+        int n = cipherWords.length;
+        long bound = score;
+        int head = 0;
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (!assigned[v] && domainSizes[v] > 0) {
+                bound += weights[v];
+                queue[count++] = v;
+                queued[v] = true;
+            }
+        }
+        while (count > 0) {
+            int u = queue[head];
+            head = (head + 1) % n;
+            count--;
+            queued[u] = false;
+            long slack = bound - bestScore;
+            if (slack <= 0 || domainSizes[u] == 0 || neighbourWeight(u) < slack) {
+                // Rien à retirer, ou la recherche élaguera d'elle-même
+                continue;
+            }
+            int[] order = domainOrder[u];
+            int size = domainSizes[u];
+            int i = 0;
+            while (i < size) {
+                if (unsupportedWeight(u, domains[u][order[i]], slack) < slack) {
+                    i++;
+                } else {
+                    size--;
+                    int tmp = order[i];
+                    order[i] = order[size];
+                    order[size] = tmp;
+                }
+            }
+            if (size == domainSizes[u]) {
+                continue;
+            }
+            domainSizes[u] = size;
+            if (size == 0) {
+                bound -= weights[u];
+            }
+            for (int w : neighbours[u]) {
+                if (!assigned[w] && domainSizes[w] > 0 && !queued[w]) {
+                    queue[(head + count) % n] = w;
+                    queued[w] = true;
+                    count++;
+                }
+            }
+        }
+    }
+
+    // Poids des voisins ouverts d'une variable : le plus qu'un de ses candidats puisse écarter
+    private long neighbourWeight(int u) {
+        long weight = 0;
+        for (int w : neighbours[u]) {
+            if (!assigned[w] && domainSizes[w] > 0) {
+                weight += weights[w];
+            }
+        }
+        return weight;
+    }
+
+    // Poids des voisins ouverts sans aucun candidat compatible avec le candidat donné, compté jusqu'à la limite
+    private long unsupportedWeight(int u, byte[] candidate, long limit) {
+        int newCount = extendMapping(cipherWords[u], candidate, revisedLetters);
+        long weight = 0;
+        for (int w : neighbours[u]) {
+            if (!assigned[w] && domainSizes[w] > 0 && !hasSupport(w)) {
+                weight += weights[w];
+                if (weight >= limit) {
+                    break;
+                }
+            }
+        }
+        undoMapping(revisedLetters, newCount);
+        return weight;
+    }
+
+    private boolean hasSupport(int w) {
+        int[] order = domainOrder[w];
+        for (int i = 0; i < domainSizes[w]; i++) {
+            candidatesExamined++;
+            if (isConsistent(cipherWords[w], domains[w][order[i]])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isConsistent(byte[] cipher, byte[] plain) {
+        for (int i = 0; i < cipher.length; i++) {
+            byte mapped = mapping[cipher[i]];
+            if (mapped >= 0 ? mapped != plain[i] : inverse[plain[i]] >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[][] neighbours(byte[][] cipherWords) {
+        int n = cipherWords.length;
+        int[] letterSets = new int[n];
+        for (int v = 0; v < n; v++) {
+            for (byte code : cipherWords[v]) {
+                letterSets[v] |= 1 << code;
+            }
+        }
+        int[][] neighbours = new int[n][];
+        int[] buffer = new int[n];
+        for (int v = 0; v < n; v++) {
+            int count = 0;
+            for (int w = 0; w < n; w++) {
+                if (w != v && (letterSets[v] & letterSets[w]) != 0) {
+                    buffer[count++] = w;
+                }
+            }
+            neighbours[v] = Arrays.copyOf(buffer, count);
+        }
+        return neighbours;
+    }
+
+    private static byte[] codes(CharSequence word) {
+        byte[] codes = new byte[word.length()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (byte) (Character.toLowerCase(word.charAt(i)) - 'a');
+        }
+        return codes;
+    }
+}
@@ -1,6 +1,8 @@
 package org.cryptanalysis;
 
+import org.tree.DictionaryRegistry;
 import org.tree.LexicographicTree;
+import org.tree.WordList;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
@@ -12,26 +14,56 @@ import java.util.*;
 public class DictionaryBasedAnalysis {
 
     private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-    private static final String DICTIONARY = "src/main/resources/mots/dictionnaire_FR_sans_accents.txt";
 
     private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
     private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+    private static final long CLIMB_TIME_BUDGET_MILLIS = 10_000;
+    // Au-delà de cette longueur moyenne des mots chiffrés, le cryptogramme est considéré sans espaces
+    private static final int SPACE_FREE_AVERAGE_WORD_LENGTH = 15;
 
     private String cryptogram;
     private LexicographicTree dict;
+    private DictionaryIndex index;
+    private WordSegmenter segmenter;
+    private SearchMetrics metrics;
+    private long candidatesExamined;
 
     /*
-     * CONSTRUCTOR
+     * CONSTRUCTORS
      */
     public DictionaryBasedAnalysis(String cryptogram, LexicographicTree dict) {
         this.cryptogram = cryptogram;
         this.dict = dict;
     }
 
+    /**
+     * Constructor sharing the candidate tables of the dictionary, for analysing many cryptograms.
+     *
+     * @param cryptogram The cryptogram to analyse
+     * @param index      The candidate tables of the dictionary, built once
+     */
+    public DictionaryBasedAnalysis(String cryptogram, DictionaryIndex index) {
+        this(cryptogram, index.getDictionary());
+        this.index = index;
+    }
+
     /*
      * PUBLIC METHODS
      */
 
+    /**
+     * Attaches metrics counting the work of the analyses, or detaches them.
+     *
+     * @param metrics The metrics, or null
+     */
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public SearchMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Performs a dictionary-based analysis of the cryptogram and returns an approximated decoding alphabet.
      *
@@ -39,6 +71,9 @@ public class DictionaryBasedAnalysis {
      * @return The decoding alphabet at the end of the analysis process
      */
     public String guessApproximatedAlphabet(String alphabet) {
+        if (!hasWordBoundaries()) {
+            return guessAlphabetWithoutSpaces(alphabet);
+        }
         // 1. On découpe le cryptogramme en mots et on classe ces mots à traiter par longueur décroissante.
         List<String> words = new ArrayList<>(Arrays.asList(cryptogram.split("[^a-zA-Z]")));
         Map<Character, Character> alphabetMap = new HashMap<>();
@@ -50,7 +85,7 @@ public class DictionaryBasedAnalysis {
         //4. On applique le processus jusqu'à avoir épuisé tous les mots du cryptogramme.
         for (String word : words) {
             //3. On prend le mot le plus long et on cherche dans le dictionnaire les mots de même longueur.
-            List<String> wordsOfLengths = dict.getWordsOfLength(word.length());
+            WordList wordsOfLengths = index().getWordListOfLength(word.length());
             //On retire les mots qui ont autre chose que des lettres
             //5. On prend le mot compatible le plus fréquent dans le dictionnaire.
             List<String> compatibleWords = getCompatibleWord(word, wordsOfLengths);
@@ -66,74 +101,179 @@ public class DictionaryBasedAnalysis {
                 }
             }
             if(nbSpace <=5){
-                return guessAlphabet(alphabetAprox, words);
+                reportCandidates();
+                return guessAlphabet(fillUnknownLetters(alphabetAprox, alphabet), words);
             }
         }
 
+        reportCandidates();
         return alphabetAprox;
 
     }
 
-    private String guessAlphabet(String alphabet, List<String> words) {
-        // Utiliser un HashSet pour une suppression plus rapide
-        Set<Character> missingLetters = new HashSet<>();
-        for (char c : LETTERS.toCharArray()){
-            missingLetters.add(c);
-        }
-        for (char c : alphabet.toCharArray()){
-            if(c != ' '){
-                missingLetters.remove(c);
-            }
+    /**
+     * Determines if the words of the cryptogram are separated, by spaces or punctuation. Otherwise the
+     * cryptogram has to be split into words by {@link WordSegmenter}.
+     *
+     * @return False if the cipher words are too long on average to be single words
+     */
+    public boolean hasWordBoundaries() {
+        List<String> words = cipherWords();
+        long letters = 0;
+        for (String word : words) {
+            letters += word.length();
         }
-        String alphabetAprox = alphabet;
-
-        List<String> permutations = generatePermutations(new ArrayList<>(missingLetters), "", missingLetters.size(), new ArrayList<>());
-        int bestScore = 0;
-        for (String permutation : permutations) {
-            String testAlphabet = insertPermutationIntoAlphabet(alphabet, permutation);
-            int nbWords = testAlphabet(testAlphabet, words);
-            if (nbWords > bestScore) {
-                bestScore = nbWords;
-                alphabetAprox = testAlphabet;
+        return letters <= (long) SPACE_FREE_AVERAGE_WORD_LENGTH * words.size();
+    }
+
+    /**
+     * Searches for the decoding alphabet of a cryptogram written without spaces : the keys are rated
+     * by splitting the decoded text into dictionary words, then improved by a hill-climbing over letter swaps.
+     *
+     * @param alphabet The decoding alphabet from which the search starts, e.g. a frequency-based guess
+     * @return The decoding alphabet at the end of the search
+     */
+    public String guessAlphabetWithoutSpaces(String alphabet) {
+        return searchAlphabet(alphabet, 1, CLIMB_TIME_BUDGET_MILLIS, new SegmentationFitness(cryptogram, segmenter())).getAlphabet();
+    }
+
+    /**
+     * Decodes the cryptogram with an alphabet and splits it into dictionary words.
+     *
+     * @param alphabet A decoding alphabet
+     * @return The split of the decoded text
+     */
+    public WordSegmenter.Segmentation segment(String alphabet) {
+        return segmenter().segment(applySubstitution(cryptogram, alphabet));
+    }
+
+    /**
+     * Guesses a decoding alphabet by frequency analysis : the letter, bigram and doubled-letter
+     * frequencies of the cryptogram are matched onto those of the dictionary words.
+     *
+     * @return A complete decoding alphabet, a good starting point for the other analyses
+     */
+    public String guessAlphabetFromFrequencies() {
+        return FrequencyAnalysis.of(cryptogram).seedAlphabet(index().getFrequencies());
+    }
+
+    /**
+     * Completes a partial decoding alphabet : the unknown letters are filled with the missing ones,
+     * then the key is improved by a hill-climbing over letter swaps.
+     *
+     * @param alphabet A partial decoding alphabet, unknown letters being spaces
+     * @param words    The cipher words used to rate the keys
+     * @return The completed decoding alphabet
+     */
+    private String guessAlphabet(String alphabet, List<String> words) {
+        StochasticKeySearch search = new StochasticKeySearch(new WordScoringContext(words, dict));
+        search.setMetrics(metrics);
+        return search.search(alphabet, 1, CLIMB_TIME_BUDGET_MILLIS, 0).getAlphabet();
+    }
+
+    /**
+     * Fills the unknown letters of a partial decoding alphabet with the letters of another alphabet,
+     * as long as they are not already used.
+     *
+     * @param partial A partial decoding alphabet, unknown letters being spaces
+     * @param start   A decoding alphabet, e.g. a frequency-based guess
+     * @return The partial alphabet, completed where possible
+     */
+    private static String fillUnknownLetters(String partial, String start) {
+        char[] filled = partial.toCharArray();
+        for (int i = 0; i < filled.length && i < start.length(); i++) {
+            char candidate = Character.toUpperCase(start.charAt(i));
+            if (filled[i] == ' ' && partial.indexOf(candidate) < 0 && new String(filled).indexOf(candidate) < 0) {
+                filled[i] = candidate;
             }
         }
+        return new String(filled);
+    }
 
-        return alphabetAprox;
+    /**
+     * Searches for the decoding alphabet by hill-climbing over full keys with random restarts,
+     * whatever the quality of the starting alphabet.
+     *
+     * @param startAlphabet    The decoding alphabet from which the first climb starts
+     * @param restarts         The maximum number of climbs
+     * @param timeBudgetMillis The maximum duration of the search
+     * @return The best decoding alphabet found
+     */
+    public String searchAlphabet(String startAlphabet, int restarts, long timeBudgetMillis) {
+        return searchAlphabet(startAlphabet, restarts, timeBudgetMillis, new WordScoringContext(cipherWords(), dict)).getAlphabet();
     }
 
     /**
-     * Generates all the permutations of the given letters.
-     * @param letters The letters to permute
-     * @param current The current permutation
-     * @param size The size of the permutation
-     * @param result The list of permutations
-     * @return The list of permutations
+     * Searches for the decoding alphabet by hill-climbing over full keys with random restarts,
+     * rating the keys with the supplied fitness function.
+     *
+     * @param startAlphabet    The decoding alphabet from which the first climb starts
+     * @param restarts         The maximum number of climbs
+     * @param timeBudgetMillis The maximum duration of the search
+     * @param fitness          The fitness function rating the keys
+     * @return The outcome of the search
      */
-    private List<String> generatePermutations(List<Character> letters, String current, int size, List<String> result) {
-        if (current.length() == size) {
-            result.add(current);
-        } else {
-            for (char c : letters) {
-                // Utiliser un StringBuilder pour une concaténation plus rapide
-                if (!current.contains(String.valueOf(c))) {
-                    generatePermutations(letters, current + c, size, result);
-                }
-            }
+    public StochasticKeySearch.Result searchAlphabet(String startAlphabet, int restarts, long timeBudgetMillis, KeyFitness fitness) {
+        StochasticKeySearch search = new StochasticKeySearch(fitness);
+        search.setMetrics(metrics);
+        return search.search(startAlphabet, restarts, timeBudgetMillis, 0);
+    }
+
+    /**
+     * Searches for the decoding alphabet by constraint propagation over the pattern-compatible
+     * candidates of the cipher words, with backtracking.
+     *
+     * @param timeBudgetMillis The maximum duration of the search
+     * @return The outcome of the search : the best partial alphabet found, unknown letters being spaces
+     */
+    public ConstraintSolver.Result solveAlphabet(long timeBudgetMillis) {
+        ConstraintSolver solver = new ConstraintSolver(cipherWords(), index());
+        solver.setMetrics(metrics);
+        return solver.solve(timeBudgetMillis);
+    }
+
+    /**
+     * Runs independent searches concurrently, from the supplied seed alphabets then from random ones,
+     * and returns the best decoding alphabet found by any of them.
+     *
+     * @param startAlphabets   The seed alphabets, e.g. the results of the other analyses
+     * @param searches         The number of searches
+     * @param timeBudgetMillis The maximum duration of the whole run
+     * @return The outcome of the searches
+     */
+    public ParallelKeySearch.Result searchAlphabetInParallel(List<String> startAlphabets, int searches, long timeBudgetMillis) {
+        List<String> words = cipherWords();
+        ParallelKeySearch search = new ParallelKeySearch(() -> new WordScoringContext(words, dict));
+        search.setMetrics(metrics);
+        return search.search(startAlphabets, searches, timeBudgetMillis, Double.POSITIVE_INFINITY, 0);
+    }
+
+    private void reportCandidates() {
+        if (metrics != null) {
+            metrics.addCandidatesExamined(candidatesExamined);
         }
-        return result;
+        candidatesExamined = 0;
     }
 
+    // Les tables de candidats ne sont construites qu'au premier besoin
+    private DictionaryIndex index() {
+        if (index == null) {
+            index = new DictionaryIndex(dict);
+        }
+        return index;
+    }
 
-    private String insertPermutationIntoAlphabet(String alphabet, String permutation) {
-        StringBuilder result = new StringBuilder(alphabet);
-        int permutationIndex = 0;
-        for (int i = 0; i < result.length(); i++) {
-            if (result.charAt(i) == ' ') {
-                result.setCharAt(i, permutation.charAt(permutationIndex));
-                permutationIndex++;
-            }
+    private WordSegmenter segmenter() {
+        if (segmenter == null) {
+            segmenter = new WordSegmenter(dict);
         }
-        return result.toString();
+        return segmenter;
+    }
+
+    private List<String> cipherWords() {
+        List<String> words = new ArrayList<>(Arrays.asList(cryptogram.split("[^a-zA-Z]")));
+        words.removeIf(String::isEmpty);
+        return words;
     }
 
     public int testAlphabet(String alphabet, List<String> words) {
@@ -143,6 +283,9 @@ public class DictionaryBasedAnalysis {
                 nbWords++;
             }
         }
+        if (metrics != null) {
+            metrics.addDictionaryProbes(words.size());
+        }
         return nbWords;
     }
 
@@ -165,34 +308,46 @@ public class DictionaryBasedAnalysis {
 
     }
 
-    private List<String> getCompatibleWord(String firstWord, List<String> words) {
+    // Les candidats sont lus à travers une seule vue, sans construire de chaîne par mot
+    private List<String> getCompatibleWord(String firstWord, WordList words) {
         List<String> compatibleWords = new ArrayList<>();
-
-        for (String word : words) {
-            Map<Character, Character> mapping = new HashMap<>();
+        if (words.isEmpty()) {
+            return compatibleWords;
+        }
+        // Lettre chiffrée associée à chaque lettre du mot, et lettres chiffrées déjà associées
+        char[] mapping = new char[128];
+        boolean[] mapped = new boolean[128];
+        WordList.View word = words.view();
+
+        for (int w = 0; w < words.size(); w++) {
+            candidatesExamined++;
+            word.moveTo(w);
+            Arrays.fill(mapping, (char) 0);
+            Arrays.fill(mapped, false);
             boolean isCompatible = true;
 
             for (int i = 0; i < word.length(); i++) {
                 char wordChar = word.charAt(i);
                 char firstWordChar = firstWord.charAt(i);
 
-                if (mapping.containsKey(wordChar)) {
-                    if (mapping.get(wordChar) != firstWordChar) {
+                if (mapping[wordChar] != 0) {
+                    if (mapping[wordChar] != firstWordChar) {
                         isCompatible = false;
                         break;
                     }
                 } else {
-                    if (mapping.containsValue(firstWordChar)) {
+                    if (mapped[firstWordChar]) {
                         isCompatible = false;
                         break;
                     } else {
-                        mapping.put(wordChar, firstWordChar);
+                        mapping[wordChar] = firstWordChar;
+                        mapped[firstWordChar] = true;
                     }
                 }
             }
 
             if (isCompatible) {
-                compatibleWords.add(word.toUpperCase());
+                compatibleWords.add(word.toString().toUpperCase());
                 // Arreter tôt dès qu'on trouve un mot compatible
                 break;
             }
@@ -211,23 +366,15 @@ public class DictionaryBasedAnalysis {
      * @return The substituted text
      */
     public static String applySubstitution(String text, String alphabet) {
-        StringBuilder substituted = new StringBuilder();
-
-        for (char c : text.toCharArray()) {
-            if (Character.isLetter(c)) {
-                int index = LETTERS.indexOf(Character.toUpperCase(c));
-                if (index >= 0 && index < alphabet.length()) {
-                    char newChar = (Character.isUpperCase(c) ? alphabet.charAt(index) : Character.toLowerCase(alphabet.charAt(index)));
-                    substituted.append(newChar);
-                } else {
-                    substituted.append(c);
-                }
-            } else {
-                substituted.append(c);
-            }
+        char[] table = new char[2 * LETTERS.length()];
+        for (int i = 0; i < LETTERS.length(); i++) {
+            char upper = i < alphabet.length() ? alphabet.charAt(i) : LETTERS.charAt(i);
+            table[i] = upper;
+            table[i + LETTERS.length()] = Character.toLowerCase(upper);
         }
-
-        return substituted.toString();
+        char[] substituted = new char[text.length()];
+        EncodedText.of(text).decode(table, substituted);
+        return new String(substituted);
     }
 
 
@@ -273,12 +420,12 @@ public class DictionaryBasedAnalysis {
      * MAIN PROGRAM
      */
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         /*
          * Load dictionary
          */
         System.out.print("Loading dictionary... ");
-        LexicographicTree dict = new LexicographicTree(DICTIONARY);
+        LexicographicTree dict = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
         System.out.println("done.");
         System.out.println();
 
@@ -295,7 +442,18 @@ public class DictionaryBasedAnalysis {
          *  Decode cryptogram
          */
         DictionaryBasedAnalysis dba = new DictionaryBasedAnalysis(cryptogram, dict);
-        String startAlphabet = LETTERS;
+        long seedTime = System.currentTimeMillis();
+        String startAlphabet = dba.guessAlphabetFromFrequencies();
+        System.out.println("Frequency seed time in seconds: " + (System.currentTimeMillis() - seedTime) / 1000.0);
+        System.out.println("Decoding     alphabet : " + DECODING_ALPHABET);
+        System.out.println("Frequency    alphabet : " + startAlphabet);
+        System.out.println("Remaining differences : " + compareAlphabets(DECODING_ALPHABET, startAlphabet));
+        for (String alphabet : List.of(LETTERS, startAlphabet)) {
+            StochasticKeySearch.Result climb = dba.searchAlphabet(alphabet, 1, 60_000, new WordScoringContext(words, dict));
+            System.out.println("Single climb from " + alphabet + " : " + climb.getKeysScored() + " keys scored, "
+                    + (climb.getAlphabet().equals(DECODING_ALPHABET) ? "solved" : "not solved"));
+        }
+        System.out.println();
 //		String startAlphabet = "ZISHNFOBMAVQLPEUGWXTDYRJKC"; // Random alphabet
         //calculer le temps d'execution
         long startTime = System.currentTimeMillis();
@@ -315,5 +473,52 @@ public class DictionaryBasedAnalysis {
         // Display decoded text
         System.out.println("*** DECODED TEXT ***\n" + applySubstitution(cryptogram, finalAlphabet).substring(0, 200));
         System.out.println();
+
+        /*
+         *  Decode cryptogram by stochastic search from a random alphabet
+         */
+        String randomAlphabet = "ZISHNFOBMAVQLPEUGWXTDYRJKC"; // Random alphabet
+        SearchMetrics metrics = new SearchMetrics();
+        metrics.addListener(snapshot -> System.out.println("  " + snapshot));
+        metrics.startReporting(500);
+        dba.setMetrics(metrics);
+        startTime = System.currentTimeMillis();
+        StochasticKeySearch.Result result = dba.searchAlphabet(randomAlphabet, 5, 60_000, new WordScoringContext(words, dict));
+        endTime = System.currentTimeMillis();
+        metrics.stopReporting();
+        dba.setMetrics(null);
+        System.out.println("Stochastic search time in seconds: " + (endTime - startTime) / 1000.0);
+        System.out.println("Keys scored : " + result.getKeysScored() + " in " + result.getClimbs() + " climbs");
+        System.out.println("Decoding     alphabet : " + DECODING_ALPHABET);
+        System.out.println("Searched     alphabet : " + result.getAlphabet());
+        System.out.println("Remaining differences : " + compareAlphabets(DECODING_ALPHABET, result.getAlphabet()));
+        System.out.println();
+
+        /*
+         *  Decode cryptogram by constraint propagation
+         */
+        startTime = System.currentTimeMillis();
+        ConstraintSolver.Result solved = dba.solveAlphabet(30_000);
+        endTime = System.currentTimeMillis();
+        System.out.println("Constraint search time in seconds: " + (endTime - startTime) / 1000.0);
+        System.out.println("Nodes explored : " + solved.getNodes() + (solved.isComplete() ? " (complete)" : " (budget exhausted)"));
+        System.out.println("Decoding     alphabet : " + DECODING_ALPHABET);
+        System.out.println("Solved       alphabet : " + solved.getAlphabet());
+        System.out.println("Remaining differences : " + compareAlphabets(DECODING_ALPHABET, solved.getAlphabet()));
+        System.out.println();
+
+        /*
+         *  Decode cryptogram by parallel searches seeded with the constraint-based alphabet
+         */
+        startTime = System.currentTimeMillis();
+        ParallelKeySearch.Result parallel = dba.searchAlphabetInParallel(List.of(solved.getAlphabet()), 8, 60_000);
+        endTime = System.currentTimeMillis();
+        System.out.println("Parallel search time in seconds: " + (endTime - startTime) / 1000.0);
+        System.out.println("Searches started : " + parallel.getSearchesStarted() + ", keys scored : " + parallel.getKeysScored()
+                + ", improvements : " + parallel.getImprovements());
+        System.out.println("Decoding     alphabet : " + DECODING_ALPHABET);
+        System.out.println("Parallel     alphabet : " + parallel.getAlphabet());
+        System.out.println("Remaining differences : " + compareAlphabets(DECODING_ALPHABET, parallel.getAlphabet()));
+        System.out.println();
     }
 }
@@ -0,0 +1,118 @@
+package org.cryptanalysis;
+
+import org.tree.LexicographicTree;
+
+import java.util.*;
+
+/**
+ * Rates a decoding key by walking the dictionary with the decoded words of the cryptogram.
+ * Each distinct cipher word is decoded letter by letter along the lexicographic tree : it earns
+ * one point per letter forming a dictionary prefix, and as many extra points as its length when
+ * it is a complete word. Partially correct keys thus score higher than wrong ones, which gives
+ * the search a gradient to follow. Scores are weighted by the number of occurrences of each word.
+ */
+public class DictionaryFitness implements KeyFitness {
+
+    private final LexicographicTree dict;
+    protected final byte[][] words;
+    protected final int[] counts;
+    private long probes;
+
+    /*
+     * CONSTRUCTOR
+     */
+    public DictionaryFitness(Collection<String> cipherWords, LexicographicTree dict) {
+        this.dict = dict;
+        Map<String, Integer> occurrences = new LinkedHashMap<>();
+        for (String word : cipherWords) {
+            if (!word.isEmpty()) {
+                occurrences.merge(word.toUpperCase(), 1, Integer::sum);
+            }
+        }
+        words = new byte[occurrences.size()][];
+        counts = new int[occurrences.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : occurrences.entrySet()) {
+            words[i] = encode(entry.getKey());
+            counts[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    @Override
+    public double score(byte[] key) {
+        long score = 0;
+        for (int i = 0; i < words.length; i++) {
+            score += (long) wordScore(i, key) * counts[i];
+        }
+        return score;
+    }
+
+    /**
+     * Returns the number of distinct cipher words.
+     *
+     * @return the number of distinct words
+     */
+    public int distinctWords() {
+        return words.length;
+    }
+
+    /**
+     * Returns the number of decoded words looked up in the dictionary so far.
+     *
+     * @return the number of dictionary probes
+     */
+    public long probes() {
+        return probes;
+    }
+
+    /*
+     * PROTECTED METHODS
+     */
+
+    /**
+     * Rates one occurrence of a distinct cipher word decoded with a key.
+     *
+     * @param i   The index of the distinct word
+     * @param key A decoding key
+     * @return the length of the decoded dictionary prefix, doubled if the word is in the dictionary
+     */
+    protected int wordScore(int i, byte[] key) {
+        byte[] word = words[i];
+        probes++;
+        LexicographicTree.Node node = dict.getRoot();
+        int depth = 0;
+        while (depth < word.length) {
+            LexicographicTree.Node child = node.getChild((char) ('a' + key[word[depth]]));
+            if (child == null) {
+                break;
+            }
+            node = child;
+            depth++;
+        }
+        if (depth == word.length && node.isEndOfWord()) {
+            depth += word.length;
+        }
+        return depth;
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    private static byte[] encode(String word) {
+        byte[] codes = new byte[word.length()];
+        for (int i = 0; i < codes.length; i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                throw new IllegalArgumentException("Le mot " + word + " contient un caractère autre qu'une lettre.");
+            }
+            codes[i] = (byte) (c - 'A');
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,230 @@
+package org.cryptanalysis;
+
+import org.tree.LexicographicTree;
+import org.tree.WordList;
+
+import java.nio.CharBuffer;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Candidate tables precomputed once per dictionary : the words of each length, packed into one
+ * {@link WordList} per length, and the words of each letter pattern, kept as their ranks in the list
+ * of their length. The pattern of a word numbers its distinct letters in order of appearance, e.g.
+ * "ABBA" for "elle", "ABCA" for "test"; a cipher word can only stand for a word with the same pattern.
+ * Only words made of the letters 'a' to 'z' are indexed by pattern. An index is immutable, except for
+ * tables computed on first use, and can be shared by concurrent analyses.
+ */
+public class DictionaryIndex {
+
+    private static final int[] NO_RANKS = new int[0];
+
+    private final LexicographicTree dict;
+    private final List<WordList> wordsByLength;
+    private final Map<String, int[]> ranksByPattern;
+    private volatile FrequencyAnalysis frequencies;
+
+    // Rangs des mots d'un motif, dans la liste des mots de même longueur
+    private static final class Ranks {
+        private int[] ranks = new int[4];
+        private int size;
+
+        private void add(int rank) {
+            if (size == ranks.length) {
+                ranks = Arrays.copyOf(ranks, 2 * size);
+            }
+            ranks[size++] = rank;
+        }
+    }
+
+    /*
+     * CONSTRUCTOR
+     */
+    public DictionaryIndex(LexicographicTree dict) {
+        this.dict = dict;
+        int maxLength = dict.getRoot().getHeight();
+        List<WordList> byLength = new ArrayList<>(maxLength + 1);
+        Map<String, int[]> byPattern = new HashMap<>();
+        // Les motifs sont calculés dans un tampon réutilisé, seule une nouvelle clé est recopiée
+        char[] letters = new char[maxLength];
+        char[] numbers = new char[26];
+        CharBuffer pattern = CharBuffer.wrap(letters);
+        byLength.add(WordList.EMPTY);
+        for (int length = 1; length <= maxLength; length++) {
+            WordList words = dict.getWordListOfLength(length);
+            byLength.add(words);
+            Map<CharBuffer, Ranks> ranks = new HashMap<>();
+            for (int rank = 0; rank < words.size(); rank++) {
+                if (pattern(words, rank, letters, numbers)) {
+                    pattern.clear().limit(length);
+                    Ranks bucket = ranks.get(pattern);
+                    if (bucket == null) {
+                        bucket = new Ranks();
+                        ranks.put(CharBuffer.wrap(Arrays.copyOf(letters, length)), bucket);
+                    }
+                    bucket.add(rank);
+                }
+            }
+            for (Map.Entry<CharBuffer, Ranks> entry : ranks.entrySet()) {
+                Ranks bucket = entry.getValue();
+                byPattern.put(entry.getKey().toString(), Arrays.copyOf(bucket.ranks, bucket.size));
+            }
+        }
+        this.wordsByLength = Collections.unmodifiableList(byLength);
+        this.ranksByPattern = byPattern;
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Returns the dictionary the index was built from.
+     *
+     * @return The dictionary
+     */
+    public LexicographicTree getDictionary() {
+        return dict;
+    }
+
+    /**
+     * Returns the alphabetic list of the words of a given length, as {@link LexicographicTree#getWordsOfLength(int)}.
+     * The strings are built when they are read : scans should rather use {@link #getWordListOfLength(int)}.
+     *
+     * @param length Expected word length
+     * @return The unmodifiable list of words with the given length
+     */
+    public List<String> getWordsOfLength(int length) {
+        return getWordListOfLength(length).asList();
+    }
+
+    /**
+     * Returns the packed alphabetic list of the words of a given length.
+     *
+     * @param length Expected word length
+     * @return The words with the given length
+     */
+    public WordList getWordListOfLength(int length) {
+        return length > 0 && length < wordsByLength.size() ? wordsByLength.get(length) : WordList.EMPTY;
+    }
+
+    /**
+     * Returns the alphabetic list of the words having the same letter pattern as a word.
+     * The strings are built when they are read : scans should rather use
+     * {@link #forEachWordWithPatternOf(String, Consumer)}.
+     *
+     * @param word A word, whatever its case
+     * @return The unmodifiable list of the words with the same pattern
+     */
+    public List<String> getWordsWithPatternOf(String word) {
+        int[] ranks = ranksWithPatternOf(word);
+        WordList words = getWordListOfLength(word.length());
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return words.getString(ranks[index]);
+            }
+
+            @Override
+            public int size() {
+                return ranks.length;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of words having the same letter pattern as a word.
+     *
+     * @param word A word, whatever its case
+     * @return The number of words with the same pattern
+     */
+    public int countWordsWithPatternOf(String word) {
+        return ranksWithPatternOf(word).length;
+    }
+
+    /**
+     * Performs an action on the words having the same letter pattern as a word, in alphabetic order,
+     * through a single view of the list of their length.
+     *
+     * @param word   A word, whatever its case
+     * @param action The action, which must copy the view to keep the word
+     */
+    public void forEachWordWithPatternOf(String word, Consumer<? super CharSequence> action) {
+        int[] ranks = ranksWithPatternOf(word);
+        if (ranks.length == 0) {
+            return;
+        }
+        WordList.View view = getWordListOfLength(word.length()).view();
+        for (int rank : ranks) {
+            action.accept(view.moveTo(rank));
+        }
+    }
+
+    /**
+     * Returns the letter statistics of the dictionary words, computed on the first call.
+     *
+     * @return The reference statistics for frequency analysis
+     */
+    public FrequencyAnalysis getFrequencies() {
+        FrequencyAnalysis result = frequencies;
+        if (result == null) {
+            synchronized (this) {
+                result = frequencies;
+                if (result == null) {
+                    result = FrequencyAnalysis.fromDictionary(dict);
+                    frequencies = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the letter pattern of a word : its distinct letters numbered 'A', 'B'... in order of appearance.
+     *
+     * @param word A word, whatever its case
+     * @return The pattern of the word, or null if it contains characters other than letters
+     */
+    public static String pattern(String word) {
+        char[] pattern = new char[word.length()];
+        char[] numbers = new char[26];
+        char next = 'A';
+        for (int i = 0; i < pattern.length; i++) {
+            char c = Character.toLowerCase(word.charAt(i));
+            if (c < 'a' || c > 'z') {
+                return null;
+            }
+            if (numbers[c - 'a'] == 0) {
+                numbers[c - 'a'] = next++;
+            }
+            pattern[i] = numbers[c - 'a'];
+        }
+        return new String(pattern);
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    private int[] ranksWithPatternOf(String word) {
+        String pattern = pattern(word);
+        return pattern == null ? NO_RANKS : ranksByPattern.getOrDefault(pattern, NO_RANKS);
+    }
+
+    // Motif d'un mot de la liste, écrit dans le tampon; faux si le mot contient d'autres caractères que des lettres
+    private static boolean pattern(WordList words, int rank, char[] pattern, char[] numbers) {
+        Arrays.fill(numbers, (char) 0);
+        char next = 'A';
+        for (int i = 0; i < words.length(rank); i++) {
+            char c = words.charAt(rank, i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+            if (numbers[c - 'a'] == 0) {
+                numbers[c - 'a'] = next++;
+            }
+            pattern[i] = numbers[c - 'a'];
+        }
+        return true;
+    }
+}
@@ -0,0 +1,145 @@
+package org.cryptanalysis;
+
+import java.util.Arrays;
+
+/**
+ * A text encoded once for repeated substitutions.
+ * Letters are stored as codes (0 for 'A' ... 25 for 'Z', whatever their case), with their case kept
+ * aside, and every other character is stored in order in a separate array. Decoding with a key then
+ * boils down to table lookups written into caller-supplied buffers, without any allocation.
+ * Only the ASCII letters are substituted; any other character is copied unchanged.
+ */
+public class EncodedText {
+
+    private static final int ALPHABET_SIZE = 26;
+
+    private final byte[] codes;
+    private final byte[] symbols;
+    private final char[] others;
+
+    /*
+     * CONSTRUCTOR
+     */
+    private EncodedText(byte[] codes, byte[] symbols, char[] others) {
+        this.codes = codes;
+        this.symbols = symbols;
+        this.others = others;
+    }
+
+    /**
+     * Encodes a text.
+     *
+     * @param text A text
+     * @return The encoded text
+     */
+    public static EncodedText of(CharSequence text) {
+        int length = text.length();
+        byte[] codes = new byte[length];
+        byte[] symbols = new byte[length];
+        char[] others = new char[length];
+        int otherCount = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                codes[i] = (byte) (c - 'A');
+                symbols[i] = codes[i];
+            } else if (c >= 'a' && c <= 'z') {
+                codes[i] = (byte) (c - 'a');
+                symbols[i] = (byte) (codes[i] + ALPHABET_SIZE);
+            } else {
+                codes[i] = -1;
+                symbols[i] = -1;
+                others[otherCount++] = c;
+            }
+        }
+        return new EncodedText(codes, symbols, Arrays.copyOf(others, otherCount));
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Returns the number of characters of the text.
+     *
+     * @return the length of the text
+     */
+    public int length() {
+        return codes.length;
+    }
+
+    /**
+     * Returns the letter codes of the text : 0 to 25 for letters, -1 for any other character.
+     * The array is shared and must not be modified.
+     *
+     * @return the letter codes
+     */
+    public byte[] codes() {
+        return codes;
+    }
+
+    /**
+     * Decodes the letter codes of the text with a key, into a caller-supplied buffer.
+     * Non-letter positions receive -1.
+     *
+     * @param key A decoding key; -1 marks an unknown letter
+     * @param out A buffer of at least {@link #length()} entries receiving the plain letter codes
+     */
+    public void decodeCodes(byte[] key, byte[] out) {
+        decodeCodes(codes, key, out);
+    }
+
+    /**
+     * Decodes letter codes with a key, into a caller-supplied buffer. Non-letter positions receive -1.
+     *
+     * @param cipherCodes The letter codes of a cryptogram
+     * @param key         A decoding key; -1 marks an unknown letter
+     * @param out         A buffer of at least cipherCodes.length entries receiving the plain letter codes
+     */
+    public static void decodeCodes(byte[] cipherCodes, byte[] key, byte[] out) {
+        for (int i = 0; i < cipherCodes.length; i++) {
+            byte code = cipherCodes[i];
+            out[i] = code < 0 ? -1 : key[code];
+        }
+    }
+
+    /**
+     * Decodes the text with a key, into caller-supplied buffers. The case of the letters and the
+     * other characters are restored; unknown letters of the key are written as spaces.
+     *
+     * @param key   A decoding key; -1 marks an unknown letter
+     * @param table A buffer of at least 52 characters, receiving the substitution table of the key
+     * @param out   A buffer of at least {@link #length()} characters
+     */
+    public void decode(byte[] key, char[] table, char[] out) {
+        fillTable(key, table);
+        decode(table, out);
+    }
+
+    /**
+     * Builds the substitution table of a key, as used by {@link #decode(char[], char[])}.
+     *
+     * @param key   A decoding key; -1 marks an unknown letter
+     * @param table A buffer of at least 52 characters : the substitutes of 'A' to 'Z', then those of 'a' to 'z'
+     */
+    public static void fillTable(byte[] key, char[] table) {
+        for (int i = 0; i < ALPHABET_SIZE; i++) {
+            table[i] = key[i] < 0 ? ' ' : (char) ('A' + key[i]);
+            table[i + ALPHABET_SIZE] = key[i] < 0 ? ' ' : (char) ('a' + key[i]);
+        }
+    }
+
+    /**
+     * Decodes the text with a substitution table, into a caller-supplied buffer.
+     *
+     * @param table 52 characters : the substitutes of 'A' to 'Z', then those of 'a' to 'z'
+     * @param out   A buffer of at least {@link #length()} characters
+     */
+    public void decode(char[] table, char[] out) {
+        int other = 0;
+        for (int i = 0; i < symbols.length; i++) {
+            byte symbol = symbols[i];
+            out[i] = symbol < 0 ? others[other++] : table[symbol];
+        }
+    }
+}
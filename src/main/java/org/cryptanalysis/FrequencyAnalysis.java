@@ -0,0 +1,255 @@
+package org.cryptanalysis;
+
+import org.tree.LexicographicTree;
+
+import java.nio.CharBuffer;
+import java.util.*;
+
+/**
+ * Letter statistics of a text : letter, bigram and doubled-letter counts, gathered in a single pass.
+ * Bigrams never cross a word boundary; a doubled letter is a bigram of the same letter twice.
+ * Matching the statistics of a cryptogram against reference statistics of the language gives a
+ * starting decoding alphabet far better than the identity one : the letters are first paired by
+ * frequency rank, then the pairing is refined by letter swaps bringing the bigram and doubled-letter
+ * frequencies closer to the reference.
+ */
+public class FrequencyAnalysis {
+
+    private static final int ALPHABET_SIZE = 26;
+    private static final double BIGRAM_WEIGHT = 1.0;
+    private static final double DOUBLE_WEIGHT = 0.5;
+
+    private final long[] letters = new long[ALPHABET_SIZE];
+    private final long[] bigrams = new long[ALPHABET_SIZE * ALPHABET_SIZE];
+    private final long[] doubles = new long[ALPHABET_SIZE];
+    private long letterCount;
+    private long bigramCount;
+
+    /*
+     * CONSTRUCTOR
+     */
+    private FrequencyAnalysis() {
+    }
+
+    /*
+     * FACTORY METHODS
+     */
+
+    /**
+     * Gathers the statistics of a text, in one pass over its characters. Only the letters 'a' to 'z'
+     * are counted, whatever their case.
+     *
+     * @param text A text; its position is left unchanged
+     * @return The statistics of the text
+     */
+    public static FrequencyAnalysis of(CharBuffer text) {
+        FrequencyAnalysis analysis = new FrequencyAnalysis();
+        int previous = -1;
+        for (int i = text.position(); i < text.limit(); i++) {
+            previous = analysis.add(code(text.get(i)), previous);
+        }
+        return analysis;
+    }
+
+    /**
+     * Gathers the statistics of a text.
+     *
+     * @param text A text
+     * @return The statistics of the text
+     */
+    public static FrequencyAnalysis of(CharSequence text) {
+        return of(CharBuffer.wrap(text));
+    }
+
+    /**
+     * Gathers the statistics of a text in an ASCII-compatible encoding, in one pass over its bytes.
+     * Any byte other than an ASCII letter is a word boundary.
+     *
+     * @param text The bytes of a text
+     * @return The statistics of the text
+     */
+    public static FrequencyAnalysis of(byte[] text) {
+        FrequencyAnalysis analysis = new FrequencyAnalysis();
+        int previous = -1;
+        for (byte b : text) {
+            previous = analysis.add(code((char) (b & 0xFF)), previous);
+        }
+        return analysis;
+    }
+
+    /**
+     * Gathers reference statistics from the words of a dictionary, each word counting once.
+     *
+     * @param dict A dictionary
+     * @return The statistics of the dictionary words
+     */
+    public static FrequencyAnalysis fromDictionary(LexicographicTree dict) {
+        FrequencyAnalysis analysis = new FrequencyAnalysis();
+        dict.getWordList("").forEach(word -> {
+            int previous = -1;
+            for (int i = 0; i < word.length(); i++) {
+                previous = analysis.add(code(word.charAt(i)), previous);
+            }
+        });
+        return analysis;
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Returns the number of letters counted.
+     *
+     * @return the number of letters
+     */
+    public long letterCount() {
+        return letterCount;
+    }
+
+    /**
+     * Returns the relative frequency of a letter.
+     *
+     * @param code A letter code, 0 for 'A' ... 25 for 'Z'
+     * @return the frequency of the letter among all letters
+     */
+    public double letterFrequency(int code) {
+        return letterCount == 0 ? 0 : (double) letters[code] / letterCount;
+    }
+
+    /**
+     * Returns the relative frequency of a bigram.
+     *
+     * @param first  The code of the first letter
+     * @param second The code of the second letter
+     * @return the frequency of the bigram among all bigrams
+     */
+    public double bigramFrequency(int first, int second) {
+        return bigramCount == 0 ? 0 : (double) bigrams[first * ALPHABET_SIZE + second] / bigramCount;
+    }
+
+    /**
+     * Returns the relative frequency of a doubled letter.
+     *
+     * @param code A letter code
+     * @return the frequency of the doubled letter among all bigrams
+     */
+    public double doubleFrequency(int code) {
+        return bigramCount == 0 ? 0 : (double) doubles[code] / bigramCount;
+    }
+
+    /**
+     * Builds a decoding alphabet matching the statistics of this cryptogram onto reference statistics.
+     *
+     * @param reference The statistics of plain texts of the language
+     * @return A complete decoding alphabet
+     */
+    public String seedAlphabet(FrequencyAnalysis reference) {
+        // 1. Appariement des lettres par rang de fréquence
+        Integer[] cipherRanks = byFrequency(this);
+        Integer[] plainRanks = byFrequency(reference);
+        byte[] key = new byte[ALPHABET_SIZE];
+        for (int rank = 0; rank < ALPHABET_SIZE; rank++) {
+            key[cipherRanks[rank]] = (byte) (int) plainRanks[rank];
+        }
+
+        // 2. Échanges de lettres tant qu'ils rapprochent les bigrammes de la référence
+        double[] cipher = frequencies(this);
+        double[] plain = frequencies(reference);
+        double cost = cost(cipher, plain, key);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int a = 0; a < ALPHABET_SIZE; a++) {
+                for (int b = a + 1; b < ALPHABET_SIZE; b++) {
+                    swap(key, a, b);
+                    double newCost = cost(cipher, plain, key);
+                    if (newCost < cost) {
+                        cost = newCost;
+                        improved = true;
+                    } else {
+                        swap(key, a, b);
+                    }
+                }
+            }
+        }
+        return StochasticKeySearch.toAlphabet(key);
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    private int add(int code, int previous) {
+        if (code < 0) {
+            return -1;
+        }
+        letters[code]++;
+        letterCount++;
+        if (previous >= 0) {
+            bigrams[previous * ALPHABET_SIZE + code]++;
+            bigramCount++;
+            if (previous == code) {
+                doubles[code]++;
+            }
+        }
+        return code;
+    }
+
+    private static int code(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        return -1;
+    }
+
+    private static Integer[] byFrequency(FrequencyAnalysis analysis) {
+        Integer[] codes = new Integer[ALPHABET_SIZE];
+        for (int i = 0; i < ALPHABET_SIZE; i++) {
+            codes[i] = i;
+        }
+        Arrays.sort(codes, Comparator.comparingLong((Integer code) -> -analysis.letters[code]).thenComparing(code -> code));
+        return codes;
+    }
+
+    // Lettres, puis bigrammes, puis lettres doublées, en fréquences relatives
+    private static double[] frequencies(FrequencyAnalysis analysis) {
+        double[] frequencies = new double[ALPHABET_SIZE * (ALPHABET_SIZE + 2)];
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            frequencies[c] = analysis.letterFrequency(c);
+            frequencies[ALPHABET_SIZE * (ALPHABET_SIZE + 1) + c] = analysis.doubleFrequency(c);
+        }
+        for (int i = 0; i < ALPHABET_SIZE * ALPHABET_SIZE; i++) {
+            frequencies[ALPHABET_SIZE + i] = analysis.bigramCount == 0 ? 0 : (double) analysis.bigrams[i] / analysis.bigramCount;
+        }
+        return frequencies;
+    }
+
+    private static double cost(double[] cipher, double[] plain, byte[] key) {
+        double letterCost = 0;
+        double doubleCost = 0;
+        int doubleOffset = ALPHABET_SIZE * (ALPHABET_SIZE + 1);
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            letterCost += Math.abs(cipher[c] - plain[key[c]]);
+            doubleCost += Math.abs(cipher[doubleOffset + c] - plain[doubleOffset + key[c]]);
+        }
+        double bigramCost = 0;
+        for (int a = 0; a < ALPHABET_SIZE; a++) {
+            int cipherRow = ALPHABET_SIZE + a * ALPHABET_SIZE;
+            int plainRow = ALPHABET_SIZE + key[a] * ALPHABET_SIZE;
+            for (int b = 0; b < ALPHABET_SIZE; b++) {
+                bigramCost += Math.abs(cipher[cipherRow + b] - plain[plainRow + key[b]]);
+            }
+        }
+        return letterCost + BIGRAM_WEIGHT * bigramCost + DOUBLE_WEIGHT * doubleCost;
+    }
+
+    private static void swap(byte[] key, int a, int b) {
+        byte tmp = key[a];
+        key[a] = key[b];
+        key[b] = tmp;
+    }
+}
@@ -0,0 +1,26 @@
+package org.cryptanalysis;
+
+/**
+ * A fitness function keeping a current key, so that a swap of two letters can be rated
+ * by only re-examining what the swap changes.
+ */
+public interface IncrementalKeyFitness extends KeyFitness {
+
+    /**
+     * Makes a copy of the supplied key the current key and rates it.
+     *
+     * @param key A decoding key
+     * @return the score of the key
+     */
+    double reset(byte[] key);
+
+    /**
+     * Swaps two entries of the current key and rates the new key. Swapping them again
+     * restores the previous key and score.
+     *
+     * @param a The first cipher letter code
+     * @param b The second cipher letter code
+     * @return the score of the new current key
+     */
+    double swap(int a, int b);
+}
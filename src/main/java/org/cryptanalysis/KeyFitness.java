@@ -0,0 +1,29 @@
+package org.cryptanalysis;
+
+/**
+ * A fitness function rating a decoding key : the higher the score, the more plausible the decoded text.
+ * A key is a 26-entry array where key[i] is the code (0 for 'A' ... 25 for 'Z') of the plain letter
+ * substituted for the cipher letter of code i.
+ */
+@FunctionalInterface
+public interface KeyFitness {
+
+    /**
+     * Rates a decoding key. Implementations must not modify the key.
+     * @param key The decoding key
+     * @return the score of the key
+     */
+    double score(byte[] key);
+
+    /**
+     * Returns a fitness function adding a weighted second fitness to this one,
+     * e.g. to combine n-gram statistics with dictionary hits.
+     *
+     * @param other  The second fitness function
+     * @param weight The weight applied to the second fitness
+     * @return The combined fitness function
+     */
+    default KeyFitness plus(KeyFitness other, double weight) {
+        return key -> score(key) + weight * other.score(key);
+    }
+}
@@ -0,0 +1,208 @@
+package org.cryptanalysis;
+
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+
+/**
+ * Letter n-gram language model (bigrams to quadgrams) used to rate decoded texts.
+ * The log-probabilities are stored in a flat array indexed by the packed letter codes of the
+ * n-gram, 5 bits per letter, so that sliding the window is a shift and a mask. N-grams never
+ * cross a word boundary : texts are handled as arrays of letter codes (0 to 25) where any other
+ * character is encoded as -1.
+ */
+public class NGramModel {
+
+    private static final int BITS_PER_LETTER = 5;
+    private static final int MIN_ORDER = 2;
+    private static final int MAX_ORDER = 4;
+
+    private final int order;
+    private final int mask;
+    private final float[] logProbs;
+
+    /*
+     * CONSTRUCTOR
+     */
+    private NGramModel(int order, long[] counts) {
+        this.order = order;
+        this.mask = counts.length - 1;
+        this.logProbs = new float[counts.length];
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        // Les n-grammes jamais rencontrés reçoivent une probabilité plancher
+        double floor = Math.log10(0.01 / Math.max(1, total));
+        for (int i = 0; i < counts.length; i++) {
+            logProbs[i] = (float) (counts[i] == 0 ? floor : Math.log10((double) counts[i] / total));
+        }
+    }
+
+    /*
+     * FACTORY METHODS
+     */
+
+    /**
+     * Trains a model on a text. Accented letters are reduced to their base letter.
+     *
+     * @param text  A training text
+     * @param order The length of the n-grams, from 2 to 4
+     * @return The trained model
+     */
+    public static NGramModel fromText(String text, int order) {
+        checkOrder(order);
+        String plain = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        long[] counts = new long[1 << (BITS_PER_LETTER * order)];
+        count(encode(plain), order, counts);
+        return new NGramModel(order, counts);
+    }
+
+    /**
+     * Trains a model on a text file.
+     *
+     * @param pathname A path to a training text
+     * @param encoding Character set used by the text file
+     * @param order    The length of the n-grams, from 2 to 4
+     * @return The trained model
+     * @throws IOException if the file cannot be read
+     */
+    public static NGramModel fromFile(String pathname, Charset encoding, int order) throws IOException {
+        return fromText(Files.readString(Paths.get(pathname), encoding), order);
+    }
+
+    /**
+     * Trains a model on the words of a dictionary, each word counting once.
+     *
+     * @param dict  A dictionary
+     * @param order The length of the n-grams, from 2 to 4
+     * @return The trained model
+     */
+    public static NGramModel fromDictionary(LexicographicTree dict, int order) {
+        checkOrder(order);
+        long[] counts = new long[1 << (BITS_PER_LETTER * order)];
+        dict.getWordList("").forEach(word -> count(encode(word), order, counts));
+        return new NGramModel(order, counts);
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Encodes a text into letter codes : 0 to 25 for letters (case-insensitive), -1 for any other character.
+     *
+     * @param text A text
+     * @return The letter codes of the text
+     */
+    public static byte[] encode(CharSequence text) {
+        return EncodedText.of(text).codes();
+    }
+
+    /**
+     * Returns the length of the n-grams of the model.
+     *
+     * @return The order of the model
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * Rates an encoded plain text : sum of the log-probabilities of its n-grams.
+     *
+     * @param codes The letter codes of the text
+     * @return The log-probability of the text
+     */
+    public double score(byte[] codes) {
+        double score = 0;
+        int index = 0;
+        int run = 0;
+        for (byte code : codes) {
+            if (code < 0) {
+                run = 0;
+                continue;
+            }
+            index = ((index << BITS_PER_LETTER) | code) & mask;
+            if (++run >= order) {
+                score += logProbs[index];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Rates the text obtained by decoding an encoded cryptogram with a key, without building it.
+     *
+     * @param cipherCodes The letter codes of the cryptogram
+     * @param key         A decoding key
+     * @return The log-probability of the decoded text
+     */
+    public double score(byte[] cipherCodes, byte[] key) {
+        double score = 0;
+        int index = 0;
+        int run = 0;
+        for (byte code : cipherCodes) {
+            if (code < 0) {
+                run = 0;
+                continue;
+            }
+            index = ((index << BITS_PER_LETTER) | key[code]) & mask;
+            if (++run >= order) {
+                score += logProbs[index];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Returns a fitness function rating keys with this model on a cryptogram.
+     *
+     * @param cryptogram A cryptogram
+     * @return The fitness function
+     */
+    public KeyFitness fitness(String cryptogram) {
+        return fitness(EncodedText.of(cryptogram));
+    }
+
+    /**
+     * Returns a fitness function rating keys with this model on an encoded cryptogram.
+     *
+     * @param cryptogram An encoded cryptogram
+     * @return The fitness function
+     */
+    public KeyFitness fitness(EncodedText cryptogram) {
+        byte[] cipherCodes = cryptogram.codes();
+        return key -> score(cipherCodes, key);
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    private static void count(byte[] codes, int order, long[] counts) {
+        int mask = counts.length - 1;
+        int index = 0;
+        int run = 0;
+        for (byte code : codes) {
+            if (code < 0) {
+                run = 0;
+                continue;
+            }
+            index = ((index << BITS_PER_LETTER) | code) & mask;
+            if (++run >= order) {
+                counts[index]++;
+            }
+        }
+    }
+
+    private static void checkOrder(int order) {
+        if (order < MIN_ORDER || order > MAX_ORDER) {
+            throw new IllegalArgumentException("L'ordre du modèle doit être compris entre " + MIN_ORDER + " et " + MAX_ORDER + ".");
+        }
+    }
+}
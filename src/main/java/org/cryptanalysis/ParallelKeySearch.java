@@ -0,0 +1,178 @@
+package org.cryptanalysis;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Independent key searches run concurrently on a {@link ForkJoinPool}.
+ * Each search is a single hill-climbing from its own seed alphabet with its own fitness instance,
+ * the fitness functions only sharing read-only data such as the dictionary. The searches publish their improvements to a
+ * {@link BestKeyHolder} and all stop as soon as one reaches the target score or the deadline passes.
+ */
+public class ParallelKeySearch {
+
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private final Supplier<? extends KeyFitness> fitnessFactory;
+    private final int parallelism;
+    private SearchMetrics metrics;
+
+    /**
+     * The outcome of a parallel search.
+     */
+    public static class Result {
+        private final String alphabet;
+        private final double score;
+        private final int searchesStarted;
+        private final long keysScored;
+        private final int improvements;
+        private final long durationNanos;
+
+        public Result(String alphabet, double score, int searchesStarted, long keysScored, int improvements, long durationNanos) {
+            this.alphabet = alphabet;
+            this.score = score;
+            this.searchesStarted = searchesStarted;
+            this.keysScored = keysScored;
+            this.improvements = improvements;
+            this.durationNanos = durationNanos;
+        }
+
+        public String getAlphabet() {
+            return alphabet;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        /**
+         * Returns the number of searches actually started before the stop condition was met.
+         */
+        public int getSearchesStarted() {
+            return searchesStarted;
+        }
+
+        public long getKeysScored() {
+            return keysScored;
+        }
+
+        /**
+         * Returns the number of times a search improved the shared best key.
+         */
+        public int getImprovements() {
+            return improvements;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+    }
+
+    /*
+     * CONSTRUCTORS
+     */
+
+    /**
+     * Constructor : runs the searches on all available cores.
+     *
+     * @param fitnessFactory Creates the fitness function of each search
+     */
+    public ParallelKeySearch(Supplier<? extends KeyFitness> fitnessFactory) {
+        this(fitnessFactory, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param fitnessFactory Creates the fitness function of each search
+     * @param parallelism    The number of searches running at the same time
+     */
+    public ParallelKeySearch(Supplier<? extends KeyFitness> fitnessFactory, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Le parallélisme doit être strictement positif.");
+        }
+        this.fitnessFactory = fitnessFactory;
+        this.parallelism = parallelism;
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Attaches metrics shared by all the searches, or detaches them.
+     *
+     * @param metrics The metrics, or null
+     */
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Runs independent searches and returns the best key found by any of them.
+     * The first searches start from the supplied alphabets, the following ones from random keys.
+     *
+     * @param startAlphabets   The seed alphabets, e.g. the results of the greedy or constraint-based analyses
+     * @param searches         The number of searches
+     * @param timeBudgetMillis The maximum duration of the whole run
+     * @param targetScore      The score from which all searches stop
+     * @param seed             The seed of the random generators
+     * @return the best key found and the run statistics
+     */
+    public Result search(List<String> startAlphabets, int searches, long timeBudgetMillis, double targetScore, long seed) {
+        long startTime = System.nanoTime();
+        BestKeyHolder best = new BestKeyHolder(targetScore, timeBudgetMillis);
+        AtomicInteger started = new AtomicInteger();
+        AtomicLong keysScored = new AtomicLong();
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(searches);
+        for (int i = 0; i < searches; i++) {
+            String start = i < startAlphabets.size() ? startAlphabets.get(i) : randomAlphabet(new Random(seed + i));
+            long searchSeed = seed + i;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    if (best.isStopped()) {
+                        return;
+                    }
+                    started.incrementAndGet();
+                    StochasticKeySearch search = new StochasticKeySearch(fitnessFactory.get());
+                    search.setMetrics(metrics);
+                    keysScored.addAndGet(search.search(start, 1, searchSeed, best).getKeysScored());
+                }
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        BestKeyHolder.Snapshot snapshot = best.get();
+        return new Result(snapshot == null ? null : snapshot.getAlphabet(),
+                snapshot == null ? Double.NEGATIVE_INFINITY : snapshot.getScore(),
+                started.get(), keysScored.get(), best.improvements(), System.nanoTime() - startTime);
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    private static String randomAlphabet(Random random) {
+        char[] letters = LETTERS.toCharArray();
+        for (int i = letters.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char tmp = letters[i];
+            letters[i] = letters[j];
+            letters[j] = tmp;
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,14 @@
+package org.cryptanalysis;
+
+/**
+ * Receives the periodic snapshots of the metrics of a search.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * Called from the reporting thread of the metrics, at each period.
+     * @param snapshot The state of the metrics
+     */
+    void onProgress(SearchMetrics.Snapshot snapshot);
+}
@@ -0,0 +1,288 @@
+package org.cryptanalysis;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a cryptanalysis run : dictionary probes, candidate words examined, keys scored, and moves
+ * accepted or rejected by the climbs, along with the best key found so far.
+ * The searches count in local variables and add their counts here once per pass, and only when metrics
+ * are attached, so that a run without metrics pays nothing. The counters can be read at any time, pushed
+ * periodically to {@link ProgressListener}s and flight recorder events, or exposed as a JMX MBean.
+ */
+public class SearchMetrics implements SearchMetricsMXBean, AutoCloseable {
+
+    private final LongAdder dictionaryProbes = new LongAdder();
+    private final LongAdder candidatesExamined = new LongAdder();
+    private final LongAdder keysScored = new LongAdder();
+    private final LongAdder acceptedMoves = new LongAdder();
+    private final LongAdder rejectedMoves = new LongAdder();
+    private final BestKeyHolder best = new BestKeyHolder(Double.POSITIVE_INFINITY, Long.MAX_VALUE / 1_000_000);
+    private final List<ProgressListener> listeners = new CopyOnWriteArrayList<>();
+    private final long startTime = System.nanoTime();
+    private ScheduledExecutorService reporter;
+    private ObjectName objectName;
+
+    /**
+     * The state of the metrics at a given time.
+     */
+    public static class Snapshot {
+        private final long elapsedNanos;
+        private final long dictionaryProbes;
+        private final long candidatesExamined;
+        private final long keysScored;
+        private final long acceptedMoves;
+        private final long rejectedMoves;
+        private final double bestScore;
+        private final String bestAlphabet;
+
+        public Snapshot(long elapsedNanos, long dictionaryProbes, long candidatesExamined, long keysScored,
+                        long acceptedMoves, long rejectedMoves, double bestScore, String bestAlphabet) {
+            this.elapsedNanos = elapsedNanos;
+            this.dictionaryProbes = dictionaryProbes;
+            this.candidatesExamined = candidatesExamined;
+            this.keysScored = keysScored;
+            this.acceptedMoves = acceptedMoves;
+            this.rejectedMoves = rejectedMoves;
+            this.bestScore = bestScore;
+            this.bestAlphabet = bestAlphabet;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long getDictionaryProbes() {
+            return dictionaryProbes;
+        }
+
+        public long getCandidatesExamined() {
+            return candidatesExamined;
+        }
+
+        public long getKeysScored() {
+            return keysScored;
+        }
+
+        public long getAcceptedMoves() {
+            return acceptedMoves;
+        }
+
+        public long getRejectedMoves() {
+            return rejectedMoves;
+        }
+
+        /**
+         * Returns the best score published so far, or negative infinity if none was.
+         */
+        public double getBestScore() {
+            return bestScore;
+        }
+
+        /**
+         * Returns the best key published so far, or null if none was.
+         */
+        public String getBestAlphabet() {
+            return bestAlphabet;
+        }
+
+        public double getKeysPerSecond() {
+            return elapsedNanos == 0 ? 0 : keysScored / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%.1f s : %d probes, %d candidates, %d keys (%.0f/s), %d accepted, %d rejected, best %.1f %s",
+                    elapsedNanos / 1e9, dictionaryProbes, candidatesExamined, keysScored, getKeysPerSecond(),
+                    acceptedMoves, rejectedMoves, bestScore, bestAlphabet);
+        }
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    public void addDictionaryProbes(long count) {
+        dictionaryProbes.add(count);
+    }
+
+    public void addCandidatesExamined(long count) {
+        candidatesExamined.add(count);
+    }
+
+    public void addKeysScored(long count) {
+        keysScored.add(count);
+    }
+
+    public void addMoves(long accepted, long rejected) {
+        acceptedMoves.add(accepted);
+        rejectedMoves.add(rejected);
+    }
+
+    /**
+     * Publishes a key; it becomes the best one if its score is higher.
+     *
+     * @param alphabet A decoding alphabet
+     * @param score    Its score
+     */
+    public void offerBest(String alphabet, double score) {
+        best.offer(alphabet, score);
+    }
+
+    /**
+     * Returns the current state of the metrics.
+     *
+     * @return a snapshot of the counters
+     */
+    public Snapshot snapshot() {
+        BestKeyHolder.Snapshot bestKey = best.get();
+        return new Snapshot(System.nanoTime() - startTime, dictionaryProbes.sum(), candidatesExamined.sum(),
+                keysScored.sum(), acceptedMoves.sum(), rejectedMoves.sum(),
+                bestKey == null ? Double.NEGATIVE_INFINITY : bestKey.getScore(),
+                bestKey == null ? null : bestKey.getAlphabet());
+    }
+
+    public void addListener(ProgressListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ProgressListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts pushing a snapshot to the listeners, and as a flight recorder event, at a fixed period.
+     *
+     * @param periodMillis The period of the snapshots
+     */
+    public synchronized void startReporting(long periodMillis) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("La période doit être strictement positive.");
+        }
+        if (reporter != null) {
+            throw new IllegalStateException("Le rapport périodique est déjà démarré.");
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::report, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic snapshots, after pushing a last one.
+     */
+    public synchronized void stopReporting() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+            report();
+        }
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server.
+     *
+     * @param name The name of the MBean, e.g. "org.cryptanalysis:type=SearchMetrics,name=sherlock"
+     * @throws JMException if the name is invalid or already registered
+     */
+    public synchronized void registerMBean(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName newName = new ObjectName(name);
+        server.registerMBean(this, newName);
+        objectName = newName;
+    }
+
+    /**
+     * Unregisters the metrics from the platform MBean server, if they were registered.
+     *
+     * @throws JMException if the MBean cannot be unregistered
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if (objectName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        }
+    }
+
+    /**
+     * Stops the periodic snapshots and unregisters the MBean.
+     */
+    @Override
+    public void close() throws JMException {
+        stopReporting();
+        unregisterMBean();
+    }
+
+    @Override
+    public long getDictionaryProbes() {
+        return dictionaryProbes.sum();
+    }
+
+    @Override
+    public long getCandidatesExamined() {
+        return candidatesExamined.sum();
+    }
+
+    @Override
+    public long getKeysScored() {
+        return keysScored.sum();
+    }
+
+    @Override
+    public long getAcceptedMoves() {
+        return acceptedMoves.sum();
+    }
+
+    @Override
+    public long getRejectedMoves() {
+        return rejectedMoves.sum();
+    }
+
+    @Override
+    public double getBestScore() {
+        return snapshot().getBestScore();
+    }
+
+    @Override
+    public String getBestAlphabet() {
+        return snapshot().getBestAlphabet();
+    }
+
+    @Override
+    public double getKeysPerSecond() {
+        return snapshot().getKeysPerSecond();
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    private void report() {
+        Snapshot snapshot = snapshot();
+        SearchProgressEvent event = new SearchProgressEvent();
+        if (event.shouldCommit()) {
+            event.dictionaryProbes = snapshot.getDictionaryProbes();
+            event.candidatesExamined = snapshot.getCandidatesExamined();
+            event.keysScored = snapshot.getKeysScored();
+            event.acceptedMoves = snapshot.getAcceptedMoves();
+            event.rejectedMoves = snapshot.getRejectedMoves();
+            event.bestScore = snapshot.getBestScore();
+            event.bestAlphabet = snapshot.getBestAlphabet();
+            event.commit();
+        }
+        for (ProgressListener listener : listeners) {
+            listener.onProgress(snapshot);
+        }
+    }
+}
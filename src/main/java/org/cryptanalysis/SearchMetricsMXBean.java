@@ -0,0 +1,23 @@
+package org.cryptanalysis;
+
+/**
+ * JMX view of the metrics of a search.
+ */
+public interface SearchMetricsMXBean {
+
+    long getDictionaryProbes();
+
+    long getCandidatesExamined();
+
+    long getKeysScored();
+
+    long getAcceptedMoves();
+
+    long getRejectedMoves();
+
+    double getBestScore();
+
+    String getBestAlphabet();
+
+    double getKeysPerSecond();
+}
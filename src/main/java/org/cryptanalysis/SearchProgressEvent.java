@@ -0,0 +1,38 @@
+package org.cryptanalysis;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event committed at each periodic snapshot of the metrics of a search.
+ */
+@Name("org.cryptanalysis.SearchProgress")
+@Label("Search Progress")
+@Category("Cryptanalysis")
+@Description("Periodic snapshot of the counters of a key search")
+class SearchProgressEvent extends Event {
+
+    @Label("Dictionary Probes")
+    long dictionaryProbes;
+
+    @Label("Candidates Examined")
+    long candidatesExamined;
+
+    @Label("Keys Scored")
+    long keysScored;
+
+    @Label("Accepted Moves")
+    long acceptedMoves;
+
+    @Label("Rejected Moves")
+    long rejectedMoves;
+
+    @Label("Best Score")
+    double bestScore;
+
+    @Label("Best Alphabet")
+    String bestAlphabet;
+}
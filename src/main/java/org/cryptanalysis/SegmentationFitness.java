@@ -0,0 +1,54 @@
+package org.cryptanalysis;
+
+/**
+ * Rates a decoding key for a cryptogram written without spaces : the decoded text is split into
+ * dictionary words by a {@link WordSegmenter}, and the score is the opposite of the cost of the best split.
+ * A key decoding more letters into words thus scores higher, without relying on the word boundaries of
+ * the cryptogram. Only the beginning of a long cryptogram is rated, each key costing a full split.
+ * The decoding buffers are reused from key to key : a fitness is used by one search at a time.
+ */
+public class SegmentationFitness implements KeyFitness {
+
+    /**
+     * The default number of characters rated, enough for the statistics of a long text.
+     */
+    public static final int DEFAULT_SAMPLE_LENGTH = 2000;
+
+    private final WordSegmenter segmenter;
+    private final EncodedText sample;
+    private final char[] table = new char[52];
+    private final char[] decoded;
+
+    /*
+     * CONSTRUCTORS
+     */
+    public SegmentationFitness(String cryptogram, WordSegmenter segmenter) {
+        this(cryptogram, segmenter, DEFAULT_SAMPLE_LENGTH);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param cryptogram   The cryptogram, with or without spaces
+     * @param segmenter    The segmenter splitting the decoded texts
+     * @param sampleLength The number of characters of the cryptogram rated
+     */
+    public SegmentationFitness(String cryptogram, WordSegmenter segmenter, int sampleLength) {
+        if (sampleLength < 1) {
+            throw new IllegalArgumentException("La longueur de l'échantillon doit être strictement positive.");
+        }
+        this.segmenter = segmenter;
+        this.sample = EncodedText.of(cryptogram.substring(0, Math.min(sampleLength, cryptogram.length())));
+        this.decoded = new char[sample.length()];
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    @Override
+    public double score(byte[] key) {
+        sample.decode(key, table, decoded);
+        return -segmenter.cost(decoded, 0, decoded.length);
+    }
+}
@@ -0,0 +1,260 @@
+package org.cryptanalysis;
+
+import java.util.*;
+
+/**
+ * Hill-climbing search over full 26-letter decoding keys, with random restarts.
+ * Each climb swaps two letters of the key at a time and keeps the swap when the fitness improves;
+ * a climb ends when no swap of the 325 possible ones improves the key. The first climb starts from
+ * the supplied alphabet, the following ones from random keys, until the restarts or the time budget
+ * are exhausted. An {@link IncrementalKeyFitness} is rated swap by swap instead of key by key.
+ */
+public class StochasticKeySearch {
+
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private final KeyFitness fitness;
+    private SearchMetrics metrics;
+    private long reportedProbes;
+
+    /**
+     * The outcome of a search : best key, its score and search statistics.
+     */
+    public static class Result {
+        private final String alphabet;
+        private final double score;
+        private final long keysScored;
+        private final int climbs;
+        private final long durationNanos;
+
+        public Result(String alphabet, double score, long keysScored, int climbs, long durationNanos) {
+            this.alphabet = alphabet;
+            this.score = score;
+            this.keysScored = keysScored;
+            this.climbs = climbs;
+            this.durationNanos = durationNanos;
+        }
+
+        public String getAlphabet() {
+            return alphabet;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public long getKeysScored() {
+            return keysScored;
+        }
+
+        public int getClimbs() {
+            return climbs;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+    }
+
+    /*
+     * CONSTRUCTOR
+     */
+    public StochasticKeySearch(KeyFitness fitness) {
+        this.fitness = fitness;
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Attaches metrics counting the keys scored and the moves of the searches, or detaches them.
+     *
+     * @param metrics The metrics, or null
+     */
+    public void setMetrics(SearchMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Searches for the decoding key maximizing the fitness.
+     *
+     * @param startAlphabet    The decoding alphabet the first climb starts from; unknown letters (' ') are filled with the missing ones
+     * @param restarts         The maximum number of climbs
+     * @param timeBudgetMillis The maximum duration of the search
+     * @param seed             The seed of the random generator
+     * @return the best key found
+     */
+    public Result search(String startAlphabet, int restarts, long timeBudgetMillis, long seed) {
+        return search(startAlphabet, restarts, seed, new BestKeyHolder(Double.POSITIVE_INFINITY, timeBudgetMillis));
+    }
+
+    /**
+     * Searches for the decoding key maximizing the fitness, as one of several concurrent searches.
+     * The best key of each climb is published to the shared holder, and the search stops as soon as
+     * the holder says so.
+     *
+     * @param startAlphabet The decoding alphabet the first climb starts from; unknown letters (' ') are filled with the missing ones
+     * @param restarts      The maximum number of climbs
+     * @param seed          The seed of the random generator
+     * @param shared        The best key shared by the searches, carrying their stop condition
+     * @return the best key found by this search
+     */
+    public Result search(String startAlphabet, int restarts, long seed, BestKeyHolder shared) {
+        Random random = new Random(seed);
+        long startTime = System.nanoTime();
+
+        byte[] best = toKey(startAlphabet);
+        double bestScore = Double.NEGATIVE_INFINITY;
+        long keysScored = 0;
+        int climbs = 0;
+        int[] pairs = allPairs();
+        IncrementalKeyFitness incremental = fitness instanceof IncrementalKeyFitness ? (IncrementalKeyFitness) fitness : null;
+
+        while (climbs < Math.max(1, restarts) && (climbs == 0 || !shared.isStopped())) {
+            byte[] key = climbs == 0 ? toKey(startAlphabet) : randomKey(random);
+            double score = incremental != null ? incremental.reset(key) : fitness.score(key);
+            keysScored++;
+            climbs++;
+
+            boolean improved = true;
+            while (improved && !shared.isStopped()) {
+                improved = false;
+                int accepted = 0;
+                shuffle(pairs, random);
+                for (int pair : pairs) {
+                    int a = pair / 26;
+                    int b = pair % 26;
+                    swap(key, a, b);
+                    double newScore = incremental != null ? incremental.swap(a, b) : fitness.score(key);
+                    keysScored++;
+                    if (newScore > score) {
+                        score = newScore;
+                        improved = true;
+                        accepted++;
+                    } else {
+                        swap(key, a, b);
+                        if (incremental != null) {
+                            incremental.swap(a, b);
+                        }
+                    }
+                }
+                if (metrics != null) {
+                    reportPass(accepted, pairs.length - accepted);
+                }
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                best = key.clone();
+                shared.offer(toAlphabet(best), bestScore);
+                if (metrics != null) {
+                    metrics.offerBest(toAlphabet(best), bestScore);
+                }
+            }
+        }
+
+        return new Result(toAlphabet(best), bestScore, keysScored, climbs, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Converts a decoding alphabet into a key. Unknown letters (' ') are replaced by the letters
+     * missing from the alphabet, in alphabetical order.
+     *
+     * @param alphabet A decoding alphabet of 26 letters, possibly containing spaces
+     * @return the corresponding key
+     */
+    public static byte[] toKey(String alphabet) {
+        if (alphabet.length() != LETTERS.length()) {
+            throw new IllegalArgumentException("L'alphabet doit contenir " + LETTERS.length() + " caractères.");
+        }
+        byte[] key = new byte[LETTERS.length()];
+        boolean[] used = new boolean[LETTERS.length()];
+        for (int i = 0; i < key.length; i++) {
+            int code = LETTERS.indexOf(Character.toUpperCase(alphabet.charAt(i)));
+            if (code >= 0 && !used[code]) {
+                used[code] = true;
+                key[i] = (byte) code;
+            } else {
+                key[i] = -1;
+            }
+        }
+        int missing = 0;
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] < 0) {
+                while (used[missing]) {
+                    missing++;
+                }
+                used[missing] = true;
+                key[i] = (byte) missing;
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Converts a key into a decoding alphabet.
+     *
+     * @param key A decoding key
+     * @return the corresponding alphabet
+     */
+    public static String toAlphabet(byte[] key) {
+        StringBuilder alphabet = new StringBuilder(key.length);
+        for (byte code : key) {
+            alphabet.append(LETTERS.charAt(code));
+        }
+        return alphabet.toString();
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    // Les compteurs sont reportés une fois par passe, pas à chaque clé
+    private void reportPass(int accepted, int rejected) {
+        metrics.addKeysScored(accepted + rejected);
+        metrics.addMoves(accepted, rejected);
+        if (fitness instanceof DictionaryFitness) {
+            long probes = ((DictionaryFitness) fitness).probes();
+            metrics.addDictionaryProbes(probes - reportedProbes);
+            reportedProbes = probes;
+        }
+    }
+
+    private static byte[] randomKey(Random random) {
+        byte[] key = new byte[LETTERS.length()];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = (byte) i;
+        }
+        for (int i = key.length - 1; i > 0; i--) {
+            swap(key, i, random.nextInt(i + 1));
+        }
+        return key;
+    }
+
+    private static int[] allPairs() {
+        int[] pairs = new int[LETTERS.length() * (LETTERS.length() - 1) / 2];
+        int n = 0;
+        for (int a = 0; a < LETTERS.length(); a++) {
+            for (int b = a + 1; b < LETTERS.length(); b++) {
+                pairs[n++] = a * 26 + b;
+            }
+        }
+        return pairs;
+    }
+
+    private static void shuffle(int[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    private static void swap(byte[] key, int a, int b) {
+        byte tmp = key[a];
+        key[a] = key[b];
+        key[b] = tmp;
+    }
+}
@@ -0,0 +1,227 @@
+package org.cryptanalysis;
+
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Decoding of cryptogram files of any size, in constant memory.
+ * The substitution only touches the ASCII letters, which are single bytes in UTF-8 as in any
+ * ASCII-compatible encoding, so a file can be decoded byte by byte through a 256-entry lookup table
+ * without decoding characters : every byte of the output sits at the same position as in the input.
+ * The input is memory-mapped chunk by chunk, and each chunk is translated into a buffer then written
+ * at its position in the output, so the chunks can be decoded in parallel and in any order.
+ */
+public class StreamingDecoder {
+
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+    private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    private final byte[] table = new byte[256];
+
+    /*
+     * CONSTRUCTOR
+     */
+
+    /**
+     * Constructor.
+     *
+     * @param alphabet A decoding alphabet of 26 letters
+     */
+    public StreamingDecoder(String alphabet) {
+        if (alphabet.length() != LETTERS.length()) {
+            throw new IllegalArgumentException("L'alphabet doit contenir " + LETTERS.length() + " caractères.");
+        }
+        for (int b = 0; b < table.length; b++) {
+            table[b] = (byte) b;
+        }
+        for (int i = 0; i < LETTERS.length(); i++) {
+            char upper = Character.toUpperCase(alphabet.charAt(i));
+            table['A' + i] = (byte) upper;
+            table['a' + i] = (byte) Character.toLowerCase(upper);
+        }
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Decodes the remaining bytes of a buffer into another one. Both positions are advanced.
+     *
+     * @param in  The encoded bytes
+     * @param out A buffer with at least as many remaining bytes
+     */
+    public void decode(ByteBuffer in, ByteBuffer out) {
+        while (in.hasRemaining()) {
+            out.put(table[in.get() & 0xFF]);
+        }
+    }
+
+    /**
+     * Decodes a file into another, chunk by chunk on all available cores.
+     *
+     * @param input  The cryptogram file
+     * @param output The decoded file, created or overwritten
+     * @return the number of bytes decoded
+     * @throws IOException if a file cannot be read or written
+     */
+    public long decodeFile(Path input, Path output) throws IOException {
+        return decodeFile(input, output, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Decodes a file into another, chunk by chunk. Each thread only holds one chunk buffer, so the
+     * memory used does not depend on the file size.
+     *
+     * @param input       The cryptogram file
+     * @param output      The decoded file, created or overwritten
+     * @param chunkSize   The number of bytes decoded at once
+     * @param parallelism The number of chunks decoded at the same time
+     * @return the number of bytes decoded
+     * @throws IOException if a file cannot be read or written
+     */
+    public long decodeFile(Path input, Path output, int chunkSize, int parallelism) throws IOException {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("La taille des blocs et le parallélisme doivent être strictement positifs.");
+        }
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = in.size();
+            int chunks = (int) ((size + chunkSize - 1) / chunkSize);
+            ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(chunkSize));
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                    long position = (long) chunk * chunkSize;
+                    try {
+                        decodeChunk(in, out, position, (int) Math.min(chunkSize, size - position), buffers.get());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })).join();
+            } catch (RuntimeException e) {
+                // L'exception peut avoir été enveloppée en traversant le pool
+                for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                    if (cause instanceof UncheckedIOException) {
+                        throw ((UncheckedIOException) cause).getCause();
+                    }
+                }
+                throw e;
+            } finally {
+                pool.shutdown();
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Reads the beginning of a text file, for instance to recover the key from a sample of a huge
+     * cryptogram. The sample ends on a whitespace so as not to cut a word, when there is one.
+     *
+     * @param input    A UTF-8 text file
+     * @param maxBytes The maximum number of bytes read
+     * @return the beginning of the text
+     * @throws IOException if the file cannot be read
+     */
+    public static String readPrefix(Path input, int maxBytes) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            int length = (int) Math.min(maxBytes, in.size());
+            MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            byte[] bytes = new byte[length];
+            mapped.get(bytes);
+            int end = length;
+            if (length < in.size()) {
+                // Une coupure sur un blanc ne tombe jamais au milieu d'un caractère UTF-8
+                while (end > 0 && !Character.isWhitespace(bytes[end - 1])) {
+                    end--;
+                }
+                if (end == 0) {
+                    end = length;
+                    while (end > 0 && (bytes[end - 1] & 0xC0) == 0x80) {
+                        end--;
+                    }
+                    if (end > 0 && (bytes[end - 1] & 0x80) != 0) {
+                        end--;
+                    }
+                }
+            }
+            return new String(bytes, 0, end, StandardCharsets.UTF_8);
+        }
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    private void decodeChunk(FileChannel in, FileChannel out, long position, int length, ByteBuffer buffer) throws IOException {
+        MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.clear();
+        decode(mapped, buffer);
+        buffer.flip();
+        long written = position;
+        while (buffer.hasRemaining()) {
+            written += out.write(buffer, written);
+        }
+    }
+
+    /*
+     * MAIN PROGRAM
+     */
+
+    public static void main(String[] args) throws IOException {
+        System.out.print("Loading dictionary... ");
+        LexicographicTree dict = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+        System.out.println("done.");
+        System.out.println();
+
+        // Un gros fichier chiffré : le cryptogramme répété
+        byte[] cryptogram = Files.readAllBytes(Paths.get(CRYPTOGRAM_FILE));
+        Path input = Files.createTempFile("cryptogram", ".txt");
+        Path output = Files.createTempFile("decoded", ".txt");
+        try {
+            try (FileChannel channel = FileChannel.open(input, StandardOpenOption.WRITE)) {
+                for (int i = 0; i < 1000; i++) {
+                    channel.write(ByteBuffer.wrap(cryptogram));
+                }
+            }
+            System.out.println("Cryptogram size : " + Files.size(input) / (1024 * 1024) + " MB");
+
+            // 1. Recherche de la clé sur un échantillon
+            long startTime = System.currentTimeMillis();
+            String sample = readPrefix(input, 1 << 16);
+            DictionaryBasedAnalysis dba = new DictionaryBasedAnalysis(sample, dict);
+            String alphabet = dba.searchAlphabet(dba.guessAlphabetFromFrequencies(), 5, 60_000);
+            System.out.println("Key recovered from " + sample.length() + " characters in seconds: "
+                    + (System.currentTimeMillis() - startTime) / 1000.0);
+            System.out.println("Decoding     alphabet : " + DECODING_ALPHABET);
+            System.out.println("Recovered    alphabet : " + alphabet);
+
+            // 2. Déchiffrement du fichier complet
+            startTime = System.currentTimeMillis();
+            long size = new StreamingDecoder(alphabet).decodeFile(input, output);
+            long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+            System.out.println("Decoded " + size / (1024 * 1024) + " MB in seconds: " + elapsed / 1000.0
+                    + " (" + size / 1024 / elapsed + " MB/s)");
+            System.out.println("*** DECODED TEXT ***\n" + readPrefix(output, 200));
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.cryptanalysis;
+
+import org.tree.LexicographicTree;
+
+import java.util.*;
+
+/**
+ * Incremental version of the dictionary fitness, for searches swapping two letters of the key at a time.
+ * The distinct cipher words are indexed by the cipher letters they contain, and the score of each word
+ * under the current key is cached. A swap of two letters only rescores the words containing one of
+ * them, so the cost of a move is proportional to the number of words it touches. Swapping back the
+ * same two letters restores the cached scores without rescoring the words.
+ */
+public class WordScoringContext extends DictionaryFitness implements IncrementalKeyFitness {
+
+    private static final int ALPHABET_SIZE = 26;
+
+    private final int[][] wordsByLetter;
+    private final int[] wordScores;
+    private final int[] visits;
+    private final byte[] key;
+    private int visit;
+    private long score;
+    private long hits;
+
+    // Mémoire du dernier échange, pour l'annuler sans réévaluer les mots
+    private final int[] undoWords;
+    private final int[] undoScores;
+    private int undoCount;
+    private int lastA = -1;
+    private int lastB = -1;
+    private long undoScore;
+    private long undoHits;
+
+    /*
+     * CONSTRUCTOR
+     */
+    public WordScoringContext(Collection<String> cipherWords, LexicographicTree dict) {
+        super(cipherWords, dict);
+        wordScores = new int[words.length];
+        visits = new int[words.length];
+        key = new byte[ALPHABET_SIZE];
+        undoWords = new int[words.length];
+        undoScores = new int[words.length];
+
+        // Index inversé : lettre chiffrée -> mots qui la contiennent
+        int[] sizes = new int[ALPHABET_SIZE];
+        boolean[] seen = new boolean[ALPHABET_SIZE];
+        for (byte[] word : words) {
+            Arrays.fill(seen, false);
+            for (byte code : word) {
+                if (!seen[code]) {
+                    seen[code] = true;
+                    sizes[code]++;
+                }
+            }
+        }
+        wordsByLetter = new int[ALPHABET_SIZE][];
+        for (int c = 0; c < ALPHABET_SIZE; c++) {
+            wordsByLetter[c] = new int[sizes[c]];
+        }
+        int[] filled = new int[ALPHABET_SIZE];
+        for (int i = 0; i < words.length; i++) {
+            Arrays.fill(seen, false);
+            for (byte code : words[i]) {
+                if (!seen[code]) {
+                    seen[code] = true;
+                    wordsByLetter[code][filled[code]++] = i;
+                }
+            }
+        }
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    @Override
+    public double reset(byte[] newKey) {
+        System.arraycopy(newKey, 0, key, 0, ALPHABET_SIZE);
+        lastA = -1;
+        score = 0;
+        hits = 0;
+        for (int i = 0; i < words.length; i++) {
+            wordScores[i] = wordScore(i, key);
+            score += (long) wordScores[i] * counts[i];
+            if (isHit(i, wordScores[i])) {
+                hits += counts[i];
+            }
+        }
+        return score;
+    }
+
+    @Override
+    public double swap(int a, int b) {
+        byte tmp = key[a];
+        key[a] = key[b];
+        key[b] = tmp;
+
+        if ((a == lastA && b == lastB) || (a == lastB && b == lastA)) {
+            for (int n = 0; n < undoCount; n++) {
+                wordScores[undoWords[n]] = undoScores[n];
+            }
+            score = undoScore;
+            hits = undoHits;
+            lastA = -1;
+            return score;
+        }
+
+        lastA = a;
+        lastB = b;
+        undoCount = 0;
+        undoScore = score;
+        undoHits = hits;
+        // Un mot contenant les deux lettres ne doit être réévalué qu'une fois
+        visit++;
+        rescore(wordsByLetter[a]);
+        rescore(wordsByLetter[b]);
+        return score;
+    }
+
+    /**
+     * Returns the number of cipher words, counted with their multiplicity, decoded by the current key
+     * into dictionary words.
+     *
+     * @return the number of dictionary hits
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of distinct cipher words containing a cipher letter, i.e. the number of words
+     * rescored when this letter takes part in a swap.
+     *
+     * @param code The cipher letter code
+     * @return the number of distinct words containing the letter
+     */
+    public int wordsContaining(int code) {
+        return wordsByLetter[code].length;
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    private void rescore(int[] affected) {
+        for (int i : affected) {
+            if (visits[i] == visit) {
+                continue;
+            }
+            visits[i] = visit;
+            int oldScore = wordScores[i];
+            int newScore = wordScore(i, key);
+            if (newScore != oldScore) {
+                undoWords[undoCount] = i;
+                undoScores[undoCount++] = oldScore;
+                wordScores[i] = newScore;
+                score += (long) (newScore - oldScore) * counts[i];
+                if (isHit(i, oldScore) != isHit(i, newScore)) {
+                    hits += isHit(i, newScore) ? counts[i] : -counts[i];
+                }
+            }
+        }
+    }
+
+    private boolean isHit(int i, int wordScore) {
+        return wordScore == 2 * words[i].length;
+    }
+}
@@ -0,0 +1,340 @@
+package org.cryptanalysis;
+
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Splits a text written without spaces into dictionary words, e.g. "lesenfants" into "les enfants".
+ * The best split is found by dynamic programming : from each position reached, the text is walked down
+ * the lexicographic tree, and every word ending met along the walk extends a split to a further position.
+ * A walk stops at the first letter without child, so the cost is O(n * maxWordLength) for n letters.
+ * <p>
+ * Each word has a cost, -log of its probability : without frequencies all words are equally probable,
+ * so the split with the fewest words is preferred; with frequencies, common words are preferred. A letter
+ * left outside any word costs more than any word, so that the split covers as many letters as possible.
+ * Characters other than letters, '-' and '\'' are word boundaries and cost nothing.
+ * A segmenter is immutable and can be shared by concurrent analyses.
+ */
+public class WordSegmenter {
+
+    private static final String PLAIN_TEXT_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes.txt";
+
+    private final LexicographicTree dict;
+    private final float[] wordCosts;
+    private final double uniformCost;
+    private final double unknownLetterCost;
+
+    /**
+     * The split of a text.
+     */
+    public static class Segmentation {
+        private final List<String> words;
+        private final BitSet unknown;
+        private final int unknownLetters;
+        private final double cost;
+
+        public Segmentation(List<String> words, BitSet unknown, int unknownLetters, double cost) {
+            this.words = Collections.unmodifiableList(words);
+            this.unknown = unknown;
+            this.unknownLetters = unknownLetters;
+            this.cost = cost;
+        }
+
+        /**
+         * Returns the words of the split, in order; the runs of letters outside the dictionary are kept as words.
+         */
+        public List<String> getWords() {
+            return words;
+        }
+
+        /**
+         * Determines if a word of the split is a run of letters outside the dictionary.
+         *
+         * @param index The rank of the word in the split
+         * @return True if the word is not in the dictionary
+         */
+        public boolean isUnknown(int index) {
+            return unknown.get(index);
+        }
+
+        public int getUnknownLetters() {
+            return unknownLetters;
+        }
+
+        /**
+         * Returns the cost of the split : the sum of -log of the probabilities of its words and unknown letters.
+         */
+        public double getCost() {
+            return cost;
+        }
+
+        @Override
+        public String toString() {
+            return String.join(" ", words);
+        }
+    }
+
+    /*
+     * CONSTRUCTORS
+     */
+
+    /**
+     * Constructor : all the words of the dictionary are equally probable.
+     *
+     * @param dict The dictionary
+     */
+    public WordSegmenter(LexicographicTree dict) {
+        if (dict.size() == 0) {
+            throw new IllegalArgumentException("Le dictionnaire ne doit pas être vide.");
+        }
+        this.dict = dict;
+        this.wordCosts = null;
+        this.uniformCost = Math.log(dict.size());
+        this.unknownLetterCost = uniformCost + 1;
+    }
+
+    /**
+     * Constructor : the words are weighted by their frequencies, smoothed so that dictionary words
+     * never seen still have a small probability. Words missing from the dictionary are ignored.
+     *
+     * @param dict        The dictionary
+     * @param frequencies The number of occurrences of words, e.g. counted in a reference text
+     */
+    public WordSegmenter(LexicographicTree dict, Map<String, ? extends Number> frequencies) {
+        if (dict.size() == 0) {
+            throw new IllegalArgumentException("Le dictionnaire ne doit pas être vide.");
+        }
+        this.dict = dict;
+        double[] counts = new double[dict.size()];
+        double total = 0;
+        for (Map.Entry<String, ? extends Number> entry : frequencies.entrySet()) {
+            int ordinal = dict.getOrdinal(entry.getKey());
+            double count = entry.getValue().doubleValue();
+            if (ordinal >= 0 && count > 0) {
+                counts[ordinal] += count;
+                total += count;
+            }
+        }
+        // Lissage additif : chaque mot du dictionnaire compte une occurrence de plus
+        this.wordCosts = new float[counts.length];
+        double logTotal = Math.log(total + counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            wordCosts[i] = (float) (logTotal - Math.log(counts[i] + 1));
+        }
+        this.uniformCost = logTotal;
+        this.unknownLetterCost = logTotal + 1;
+    }
+
+    /*
+     * PUBLIC METHODS
+     */
+
+    /**
+     * Counts the words of a text, e.g. to weight a segmenter. Words are lower-cased and stripped of their accents.
+     *
+     * @param text A text with word boundaries
+     * @return The number of occurrences of each word
+     */
+    public static Map<String, Integer> countWords(String text) {
+        String plain = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+        Map<String, Integer> counts = new HashMap<>();
+        for (String word : plain.split("[^a-z'-]+")) {
+            if (!word.isEmpty()) {
+                counts.merge(word, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Splits a text into dictionary words.
+     *
+     * @param text A text, whatever its case
+     * @return The best split of the text
+     */
+    public Segmentation segment(CharSequence text) {
+        char[] letters = normalize(text);
+        double[] best = new double[letters.length + 1];
+        int[] previous = new int[letters.length + 1];
+        solve(letters, 0, letters.length, best, previous);
+
+        // On remonte les positions de coupure depuis la fin du texte
+        List<String> words = new ArrayList<>();
+        BitSet unknown = new BitSet();
+        int unknownLetters = 0;
+        int end = letters.length;
+        while (end > 0) {
+            int start = previous[end];
+            if (start >= 0 && isSeparator(letters[start])) {
+                end = start;
+                continue;
+            }
+            if (start < 0) {
+                // Une suite de lettres hors dictionnaire forme un seul mot inconnu
+                start = end - 1;
+                while (start > 0 && previous[start] < 0) {
+                    start--;
+                }
+                unknownLetters += end - start;
+                unknown.set(words.size());
+            }
+            words.add(new String(letters, start, end - start));
+            end = start;
+        }
+        Collections.reverse(words);
+        BitSet flags = new BitSet();
+        for (int i = unknown.nextSetBit(0); i >= 0; i = unknown.nextSetBit(i + 1)) {
+            flags.set(words.size() - 1 - i);
+        }
+        return new Segmentation(words, flags, unknownLetters, best[letters.length]);
+    }
+
+    /**
+     * Returns the cost of the best split of a part of a text, without building the split.
+     *
+     * @param letters Characters; upper-case ASCII letters are read as lower-case ones
+     * @param from    The start of the part, inclusive
+     * @param to      The end of the part, exclusive
+     * @return The cost of the best split
+     */
+    public double cost(char[] letters, int from, int to) {
+        double[] best = new double[to - from + 1];
+        solve(letters, from, to, best, null);
+        return best[to - from];
+    }
+
+    /*
+     * PRIVATE METHODS
+     */
+
+    // best[i] : coût minimal du découpage des i premiers caractères ; previous[i] : début du dernier mot,
+    // ou -1 pour une lettre inconnue
+    private void solve(char[] letters, int from, int to, double[] best, int[] previous) {
+        int length = to - from;
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        best[0] = 0;
+        LexicographicTree.Node root = dict.getRoot();
+        for (int i = 0; i < length; i++) {
+            double cost = best[i];
+            char first = letters[from + i];
+            if (isSeparator(first)) {
+                // Les séparateurs sont gratuits
+                relax(best, previous, i + 1, cost, i);
+                continue;
+            }
+            relax(best, previous, i + 1, cost + unknownLetterCost, -1);
+            LexicographicTree.Node node = root;
+            for (int j = i; j < length; j++) {
+                char c = toLowerCase(letters[from + j]);
+                node = isWordChar(c) ? node.getChild(c) : null;
+                if (node == null) {
+                    break;
+                }
+                if (node.isEndOfWord()) {
+                    relax(best, previous, j + 1, cost + wordCost(node), i);
+                }
+            }
+        }
+    }
+
+    private static void relax(double[] best, int[] previous, int end, double cost, int start) {
+        if (cost < best[end]) {
+            best[end] = cost;
+            if (previous != null) {
+                previous[end] = start;
+            }
+        }
+    }
+
+    private double wordCost(LexicographicTree.Node node) {
+        return wordCosts == null ? uniformCost : wordCosts[node.getOrdinal()];
+    }
+
+    // Un séparateur est franchi sans coût et n'appartient à aucun mot
+    private static boolean isSeparator(char c) {
+        return !isWordChar(c) && !Character.isLetter(c);
+    }
+
+    private static boolean isWordChar(char c) {
+        return c >= 'a' && c <= 'z' || c == '-' || c == '\'';
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static char[] normalize(CharSequence text) {
+        char[] letters = new char[text.length()];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = Character.toLowerCase(text.charAt(i));
+        }
+        return letters;
+    }
+
+    /*
+     * MAIN PROGRAM
+     */
+
+    public static void main(String[] args) throws IOException {
+        System.out.print("Loading dictionary... ");
+        LexicographicTree dict = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+        System.out.println("done.");
+
+        // Le texte de Sherlock, sans accents ni espaces ; la première moitié sert à compter les mots
+        String text = Normalizer.normalize(Files.readString(Paths.get(PLAIN_TEXT_FILE), StandardCharsets.UTF_8),
+                Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+        String training = text.substring(0, text.length() / 2);
+        List<String> expected = new ArrayList<>(Arrays.asList(text.substring(text.length() / 2).split("[^a-z]+")));
+        expected.removeIf(String::isEmpty);
+        String despaced = String.join("", expected);
+        System.out.println("De-spaced text : " + despaced.length() + " letters, " + expected.size() + " words");
+        System.out.println();
+
+        Map<String, WordSegmenter> segmenters = new LinkedHashMap<>();
+        segmenters.put("uniform", new WordSegmenter(dict));
+        segmenters.put("frequencies", new WordSegmenter(dict, countWords(training)));
+        for (Map.Entry<String, WordSegmenter> entry : segmenters.entrySet()) {
+            Segmentation segmentation = null;
+            long elapsed = 0;
+            for (int round = 0; round < 5; round++) {
+                long startTime = System.nanoTime();
+                segmentation = entry.getValue().segment(despaced);
+                elapsed = System.nanoTime() - startTime;
+            }
+            double[] scores = boundaryScores(expected, segmentation.getWords());
+            System.out.println(String.format(Locale.ROOT,
+                    "%-11s : %6.1f ms, %5.2f M letters/s, %d words, %d unknown letters, boundaries precision %.3f recall %.3f",
+                    entry.getKey(), elapsed / 1e6, despaced.length() / (elapsed / 1e3), segmentation.getWords().size(),
+                    segmentation.getUnknownLetters(), scores[0], scores[1]));
+            System.out.println("              " + segmentation.toString().substring(0, 120) + "...");
+        }
+    }
+
+    // Précision et rappel des positions de coupure trouvées par rapport à celles du texte d'origine
+    private static double[] boundaryScores(List<String> expected, List<String> actual) {
+        Set<Integer> reference = boundaries(expected);
+        Set<Integer> found = boundaries(actual);
+        int common = 0;
+        for (int boundary : found) {
+            common += reference.contains(boundary) ? 1 : 0;
+        }
+        return new double[] {(double) common / found.size(), (double) common / reference.size()};
+    }
+
+    private static Set<Integer> boundaries(List<String> words) {
+        Set<Integer> boundaries = new HashSet<>();
+        int position = 0;
+        for (String word : words) {
+            position += word.length();
+            boundaries.add(position);
+        }
+        return boundaries;
+    }
+}
@@ -0,0 +1,180 @@
+package org.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A connection to a {@link DictionaryServer}.
+ * A batch of requests is pipelined : all requests are sent before the responses are read, so a batch
+ * costs a single round-trip. Large batches are sent by a background thread while the responses are read,
+ * so that neither side blocks on a full socket buffer. A client is used by one thread at a time.
+ */
+public class DictionaryClient implements AutoCloseable {
+
+	// Au-delà, les requêtes pourraient remplir les tampons réseau avant que les réponses soient lues
+	private static final int INLINE_BATCH_BYTES = 8 * 1024;
+
+	private final Socket socket;
+	private final DataInputStream in;
+	private final DataOutputStream out;
+	private ExecutorService sender;
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : connects to a server on the loopback interface.
+	 * @param port The port of the server
+	 * @throws IOException if the connection fails
+	 */
+	public DictionaryClient(int port) throws IOException {
+		this(InetAddress.getLoopbackAddress().getHostAddress(), port);
+	}
+
+	/**
+	 * Constructor : connects to a server.
+	 * @param host The host of the server
+	 * @param port The port of the server
+	 * @throws IOException if the connection fails
+	 */
+	public DictionaryClient(String host, int port) throws IOException {
+		socket = new Socket(host, port);
+		socket.setTcpNoDelay(true);
+		in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+		out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	public boolean containsWord(String word) throws IOException {
+		return (Boolean) send(List.of(Request.containsWord(word))).get(0);
+	}
+
+	public boolean isPrefix(String prefix) throws IOException {
+		return (Boolean) send(List.of(Request.isPrefix(prefix))).get(0);
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<String> getWords(String prefix) throws IOException {
+		return (List<String>) send(List.of(Request.getWords(prefix))).get(0);
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<String> getWordsOfLength(int length) throws IOException {
+		return (List<String>) send(List.of(Request.getWordsOfLength(length))).get(0);
+	}
+
+	/**
+	 * Determines which words of a batch are in the dictionary, in a single round-trip.
+	 * @param words Words
+	 * @return For each word, true if it is in the dictionary
+	 * @throws IOException if the connection fails
+	 */
+	public boolean[] containsWords(List<String> words) throws IOException {
+		List<Request> requests = new ArrayList<>(words.size());
+		for (String word : words) {
+			requests.add(Request.containsWord(word));
+		}
+		List<Object> responses = send(requests);
+		boolean[] found = new boolean[responses.size()];
+		for (int i = 0; i < found.length; i++) {
+			found[i] = (Boolean) responses.get(i);
+		}
+		return found;
+	}
+
+	/**
+	 * Sends a batch of requests and waits for their responses.
+	 * @param requests The requests
+	 * @return For each request, a Boolean or a list of words
+	 * @throws IOException if the connection fails or the server rejects a request
+	 */
+	public synchronized List<Object> send(List<Request> requests) throws IOException {
+		Future<?> sending = null;
+		if (estimateSize(requests) <= INLINE_BATCH_BYTES) {
+			writeRequests(requests);
+		} else {
+			if (sender == null) {
+				sender = Executors.newSingleThreadExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "dictionary-client");
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+			sending = sender.submit(() -> {
+				try {
+					writeRequests(requests);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+		List<Object> responses = new ArrayList<>(requests.size());
+		IOException rejected = null;
+		for (Request request : requests) {
+			try {
+				responses.add(Protocol.readResponse(in, request.returnsWords()));
+			} catch (Protocol.ServerError e) {
+				// Les réponses suivantes sont lues pour que la connexion reste synchronisée
+				rejected = rejected == null ? e : rejected;
+				responses.add(null);
+			}
+		}
+		if (sending != null) {
+			try {
+				sending.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				throw e.getCause() instanceof UncheckedIOException
+						? ((UncheckedIOException) e.getCause()).getCause() : new IOException(e.getCause());
+			}
+		}
+		if (rejected != null) {
+			throw rejected;
+		}
+		return responses;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (sender != null) {
+			sender.shutdownNow();
+		}
+		socket.close();
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private void writeRequests(List<Request> requests) throws IOException {
+		for (Request request : requests) {
+			Protocol.writeRequest(out, request);
+		}
+		out.flush();
+	}
+
+	private static long estimateSize(List<Request> requests) {
+		long size = 0;
+		for (Request request : requests) {
+			size += Integer.BYTES + 1 + (request.getEncodedWord() == null ? Integer.BYTES : request.getEncodedWord().length);
+		}
+		return size;
+	}
+}
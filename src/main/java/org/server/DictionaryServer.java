@@ -0,0 +1,222 @@
+package org.server;
+
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A TCP server answering dictionary queries, so that several processes can share one loaded dictionary.
+ * Each connection is served by its own thread, a virtual thread when the JVM provides them; the requests
+ * of a connection are answered in order, and the responses are only flushed when no request is waiting,
+ * so that a pipelined batch of requests is answered with few writes. See {@link Protocol} for the format.
+ */
+public class DictionaryServer implements AutoCloseable {
+
+	public static final int DEFAULT_PORT = 7070;
+	private static final Logger LOGGER = Logger.getLogger(DictionaryServer.class.getName());
+
+	private final LexicographicTree dict;
+	private final ServerSocket serverSocket;
+	private final ExecutorService connections;
+	private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+	private final Thread acceptor;
+
+	/*
+	 * CONSTRUCTOR
+	 */
+
+	/**
+	 * Constructor : starts a server on the loopback interface.
+	 * @param dict A dictionary, which must no longer be modified
+	 * @param port A port, or 0 for any free port
+	 * @throws IOException if the port cannot be bound
+	 */
+	public DictionaryServer(LexicographicTree dict, int port) throws IOException {
+		this(dict, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+	}
+
+	/**
+	 * Constructor : starts a server.
+	 * @param dict    A dictionary, which must no longer be modified
+	 * @param address The address to bind
+	 * @throws IOException if the address cannot be bound
+	 */
+	public DictionaryServer(LexicographicTree dict, InetSocketAddress address) throws IOException {
+		this.dict = dict;
+		this.serverSocket = new ServerSocket();
+		serverSocket.bind(address);
+		this.connections = newConnectionExecutor();
+		this.acceptor = new Thread(this::acceptConnections, "dictionary-server");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Returns the port the server listens on.
+	 * @return The port
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Stops accepting connections and closes the open ones.
+	 */
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+		for (Socket socket : sockets) {
+			socket.close();
+		}
+		connections.shutdownNow();
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	// Un thread virtuel par connexion si la JVM en dispose (Java 21), sinon un pool de threads classiques
+	private static ExecutorService newConnectionExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return Executors.newCachedThreadPool(runnable -> {
+				Thread thread = new Thread(runnable, "dictionary-connection");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	private void acceptConnections() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				socket.setTcpNoDelay(true);
+				sockets.add(socket);
+				connections.execute(() -> serve(socket));
+			} catch (IOException e) {
+				// Le serveur a été fermé
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (socket;
+			 DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16))) {
+			byte[] request = new byte[256];
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			DataOutputStream response = new DataOutputStream(body);
+			while (true) {
+				int length;
+				try {
+					length = in.readInt();
+				} catch (EOFException e) {
+					return;
+				}
+				if (length < 1 || length > Protocol.MAX_REQUEST_LENGTH) {
+					// Impossible de retrouver le début de la trame suivante
+					return;
+				}
+				if (request.length < length) {
+					request = new byte[length];
+				}
+				in.readFully(request, 0, length);
+				body.reset();
+				answer(request, length, response);
+				Protocol.writeFrame(out, body);
+				if (in.available() == 0) {
+					out.flush();
+				}
+			}
+		} catch (SocketException e) {
+			// Connexion fermée par le client ou par l'arrêt du serveur
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Connexion interrompue : " + socket.getRemoteSocketAddress(), e);
+		} finally {
+			sockets.remove(socket);
+		}
+	}
+
+	private void answer(byte[] request, int length, DataOutputStream response) throws IOException {
+		byte operation = request[0];
+		if (operation == Protocol.GET_WORDS_OF_LENGTH) {
+			if (length != 1 + Integer.BYTES) {
+				error(response, "Longueur attendue sur 4 octets.");
+				return;
+			}
+			int wordLength = (request[1] & 0xFF) << 24 | (request[2] & 0xFF) << 16 | (request[3] & 0xFF) << 8 | request[4] & 0xFF;
+			// Liste vide au-delà du mot le plus long : la longueur reçue ne dimensionne aucun tampon
+			words(response, dict.getWordListOfLength(wordLength).asList());
+			return;
+		}
+		String word = new String(request, 1, length - 1, StandardCharsets.UTF_8);
+		switch (operation) {
+			case Protocol.CONTAINS_WORD:
+				response.writeByte(Protocol.OK);
+				response.writeBoolean(dict.containsWord(word));
+				break;
+			case Protocol.IS_PREFIX:
+				response.writeByte(Protocol.OK);
+				response.writeBoolean(dict.isPrefix(word));
+				break;
+			case Protocol.GET_WORDS:
+				words(response, dict.getWords(word));
+				break;
+			default:
+				error(response, "Opération inconnue : " + operation);
+		}
+	}
+
+	private static void words(DataOutputStream response, List<String> words) throws IOException {
+		response.writeByte(Protocol.OK);
+		response.writeInt(words.size());
+		for (String word : words) {
+			response.writeUTF(word);
+		}
+	}
+
+	private static void error(DataOutputStream response, String message) throws IOException {
+		response.writeByte(Protocol.ERROR);
+		response.write(message.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		System.out.print("Loading dictionary... ");
+		LexicographicTree dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		System.out.println("done.");
+		DictionaryServer server = new DictionaryServer(dictionary, port);
+		System.out.println("Dictionary server listening on port " + server.getPort());
+		server.acceptor.join();
+	}
+}
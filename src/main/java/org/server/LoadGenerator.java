@@ -0,0 +1,198 @@
+package org.server;
+
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Load test of a {@link DictionaryServer} : several connections send batches of containsWord queries,
+ * drawn from the dictionary with one missing word out of five, for a fixed duration. The report gives
+ * the query throughput and the distribution of the round-trip latency of a batch.
+ * <p>
+ * Usage : LoadGenerator [host port] ; without arguments, a server is started in this process.
+ */
+public class LoadGenerator {
+
+	private final String host;
+	private final int port;
+	private final List<String> words;
+
+	/**
+	 * The outcome of a load test.
+	 */
+	public static class Report {
+		private final int connections;
+		private final int batchSize;
+		private final long[] latenciesNanos;
+		private final long durationNanos;
+
+		public Report(int connections, int batchSize, long[] latenciesNanos, long durationNanos) {
+			this.connections = connections;
+			this.batchSize = batchSize;
+			this.latenciesNanos = latenciesNanos.clone();
+			Arrays.sort(this.latenciesNanos);
+			this.durationNanos = durationNanos;
+		}
+
+		public int getBatchCount() {
+			return latenciesNanos.length;
+		}
+
+		/**
+		 * Returns the number of queries answered per second.
+		 */
+		public double getQueriesPerSecond() {
+			return (double) latenciesNanos.length * batchSize / Math.max(1e-9, durationNanos / 1e9);
+		}
+
+		/**
+		 * Returns a percentile of the batch latencies, by the nearest-rank method.
+		 *
+		 * @param percentile A percentile, between 0 and 100
+		 * @return the latency in microseconds, or 0 if no batch was sent
+		 */
+		public double getLatencyMicros(double percentile) {
+			if (percentile < 0 || percentile > 100) {
+				throw new IllegalArgumentException("Le centile doit être compris entre 0 et 100.");
+			}
+			if (latenciesNanos.length == 0) {
+				return 0;
+			}
+			int rank = (int) Math.ceil(percentile / 100 * latenciesNanos.length);
+			return latenciesNanos[Math.max(0, rank - 1)] / 1e3;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "%d connections, batches of %5d : %9.0f queries/s, batch latency p50 %8.1f us, p99 %8.1f us",
+					connections, batchSize, getQueriesPerSecond(), getLatencyMicros(50), getLatencyMicros(99));
+		}
+	}
+
+	/*
+	 * CONSTRUCTOR
+	 */
+
+	/**
+	 * Constructor.
+	 * @param host  The host of the server
+	 * @param port  The port of the server
+	 * @param words The words to query, from the dictionary served
+	 */
+	public LoadGenerator(String host, int port, List<String> words) {
+		if (words.isEmpty()) {
+			throw new IllegalArgumentException("La liste des mots ne doit pas être vide.");
+		}
+		this.host = host;
+		this.port = port;
+		this.words = words;
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Sends batches of queries on several connections for a given duration.
+	 * @param connections    The number of connections, each with its own thread
+	 * @param batchSize      The number of queries of a batch
+	 * @param durationMillis The duration of the test
+	 * @return The throughput and latency statistics
+	 * @throws IOException if a connection fails
+	 */
+	public Report run(int connections, int batchSize, long durationMillis) throws IOException {
+		if (connections < 1 || batchSize < 1) {
+			throw new IllegalArgumentException("Le nombre de connexions et la taille des lots doivent être strictement positifs.");
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(connections);
+		long startTime = System.nanoTime();
+		long deadline = startTime + durationMillis * 1_000_000;
+		try {
+			List<Future<long[]>> futures = new ArrayList<>();
+			for (int c = 0; c < connections; c++) {
+				long seed = c;
+				futures.add(executor.submit(() -> sendBatches(batchSize, deadline, new Random(seed))));
+			}
+			long[] latencies = new long[0];
+			for (Future<long[]> future : futures) {
+				long[] connectionLatencies = future.get();
+				int offset = latencies.length;
+				latencies = Arrays.copyOf(latencies, offset + connectionLatencies.length);
+				System.arraycopy(connectionLatencies, 0, latencies, offset, connectionLatencies.length);
+			}
+			return new Report(connections, batchSize, latencies, System.nanoTime() - startTime);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private long[] sendBatches(int batchSize, long deadline, Random random) throws IOException {
+		long[] latencies = new long[1024];
+		int count = 0;
+		try (DictionaryClient client = new DictionaryClient(host, port)) {
+			List<String> batch = new ArrayList<>(batchSize);
+			while (System.nanoTime() < deadline) {
+				batch.clear();
+				for (int i = 0; i < batchSize; i++) {
+					String word = words.get(random.nextInt(words.size()));
+					// Un mot sur cinq est absent du dictionnaire
+					batch.add(random.nextInt(5) == 0 ? word + "zz" : word);
+				}
+				long start = System.nanoTime();
+				client.containsWords(batch);
+				if (count == latencies.length) {
+					latencies = Arrays.copyOf(latencies, 2 * count);
+				}
+				latencies[count++] = System.nanoTime() - start;
+			}
+		}
+		return Arrays.copyOf(latencies, count);
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	public static void main(String[] args) throws IOException {
+		System.out.print("Loading dictionary... ");
+		LexicographicTree dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		System.out.println("done.");
+
+		DictionaryServer server = null;
+		String host = args.length > 1 ? args[0] : "127.0.0.1";
+		int port;
+		if (args.length > 1) {
+			port = Integer.parseInt(args[1]);
+		} else {
+			server = new DictionaryServer(dictionary, 0);
+			port = server.getPort();
+			System.out.println("Server started on port " + port);
+		}
+		System.out.println();
+
+		try {
+			LoadGenerator generator = new LoadGenerator(host, port, dictionary.getWords(""));
+			for (int connections : new int[] {1, 4}) {
+				for (int batchSize : new int[] {1, 100, 1000, 10_000}) {
+					System.out.println(generator.run(connections, batchSize, 2_000));
+				}
+			}
+		} finally {
+			if (server != null) {
+				server.close();
+			}
+		}
+	}
+}
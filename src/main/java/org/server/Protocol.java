@@ -0,0 +1,109 @@
+package org.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The wire format shared by the dictionary server and its client.
+ * Every message is a frame : the length of its body on 4 bytes, then the body. A request body is an
+ * operation code followed by its argument, a word in UTF-8 or a length on 4 bytes. A response body is a
+ * status followed by the result, a boolean on one byte or a word count followed by the words in modified
+ * UTF-8, or by an error message. Responses come in the order of the requests, so that a client can send
+ * many requests before reading their responses.
+ */
+final class Protocol {
+
+	static final byte CONTAINS_WORD = 1;
+	static final byte IS_PREFIX = 2;
+	static final byte GET_WORDS = 3;
+	static final byte GET_WORDS_OF_LENGTH = 4;
+
+	static final byte OK = 0;
+	static final byte ERROR = 1;
+
+	static final int MAX_REQUEST_LENGTH = 1 << 16;
+
+	/**
+	 * An error reported by the server for one request; the connection remains usable.
+	 */
+	static final class ServerError extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		ServerError(String message) {
+			super(message);
+		}
+	}
+
+	private Protocol() {
+	}
+
+	/**
+	 * Encodes the word of a request, which must fit in a request frame.
+	 * @param word A word
+	 * @return The word in UTF-8
+	 * @throws IllegalArgumentException if the request would exceed {@link #MAX_REQUEST_LENGTH} bytes
+	 */
+	static byte[] encodeWord(String word) {
+		byte[] encoded = word.getBytes(StandardCharsets.UTF_8);
+		checkLength(1 + encoded.length);
+		return encoded;
+	}
+
+	static void writeRequest(DataOutputStream out, Request request) throws IOException {
+		if (request.getOperation() == GET_WORDS_OF_LENGTH) {
+			out.writeInt(1 + Integer.BYTES);
+			out.writeByte(request.getOperation());
+			out.writeInt(request.getLength());
+		} else {
+			byte[] word = request.getEncodedWord();
+			checkLength(1 + word.length);
+			out.writeInt(1 + word.length);
+			out.writeByte(request.getOperation());
+			out.write(word);
+		}
+	}
+
+	// Le serveur fermerait la connexion sur une trame trop longue, sans pouvoir répondre
+	private static void checkLength(int length) {
+		if (length > MAX_REQUEST_LENGTH) {
+			throw new IllegalArgumentException("Requête de " + length + " octets, la limite du protocole est de "
+					+ MAX_REQUEST_LENGTH + " octets.");
+		}
+	}
+
+	static void writeFrame(DataOutputStream out, ByteArrayOutputStream body) throws IOException {
+		out.writeInt(body.size());
+		body.writeTo(out);
+	}
+
+	/**
+	 * Reads a response frame.
+	 * @param in       The stream
+	 * @param hasWords True if the response holds words, false if it holds a boolean
+	 * @return A Boolean or a list of words
+	 * @throws ServerError if the server rejected the request
+	 * @throws IOException if the stream is cut
+	 */
+	static Object readResponse(DataInputStream in, boolean hasWords) throws IOException {
+		int size = in.readInt();
+		if (in.readByte() == ERROR) {
+			byte[] message = new byte[size - 1];
+			in.readFully(message);
+			throw new ServerError("Erreur du serveur : " + new String(message, StandardCharsets.UTF_8));
+		}
+		if (!hasWords) {
+			return in.readBoolean();
+		}
+		int count = in.readInt();
+		List<String> words = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			words.add(in.readUTF());
+		}
+		return words;
+	}
+}
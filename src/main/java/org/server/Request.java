@@ -0,0 +1,69 @@
+package org.server;
+
+/**
+ * A dictionary query sent to a {@link DictionaryServer}.
+ */
+public final class Request {
+
+	private final byte operation;
+	private final String word;
+	private final byte[] encodedWord;
+	private final int length;
+
+	private Request(byte operation, String word, int length) {
+		this.operation = operation;
+		this.word = word;
+		this.encodedWord = word == null ? null : Protocol.encodeWord(word);
+		this.length = length;
+	}
+
+	/*
+	 * FACTORIES
+	 * The factories taking a word throw IllegalArgumentException if the request exceeds the size
+	 * accepted by the server, so that a batch is rejected before any of its requests is sent.
+	 */
+
+	public static Request containsWord(String word) {
+		return new Request(Protocol.CONTAINS_WORD, word, 0);
+	}
+
+	public static Request isPrefix(String prefix) {
+		return new Request(Protocol.IS_PREFIX, prefix, 0);
+	}
+
+	public static Request getWords(String prefix) {
+		return new Request(Protocol.GET_WORDS, prefix, 0);
+	}
+
+	public static Request getWordsOfLength(int length) {
+		return new Request(Protocol.GET_WORDS_OF_LENGTH, null, length);
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Determines if the response to this request is a list of words.
+	 * @return True for a list of words, false for a boolean
+	 */
+	public boolean returnsWords() {
+		return operation == Protocol.GET_WORDS || operation == Protocol.GET_WORDS_OF_LENGTH;
+	}
+
+	byte getOperation() {
+		return operation;
+	}
+
+	String getWord() {
+		return word;
+	}
+
+	byte[] getEncodedWord() {
+		return encodedWord;
+	}
+
+	int getLength() {
+		return length;
+	}
+}
@@ -0,0 +1,278 @@
+package org.tree;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Shared dictionaries : one read-only lexicographic tree per source, whatever the number of callers.
+ * A source is a file path, or a resource name prefixed by {@value #CLASSPATH_PREFIX}. The trees are
+ * identified by their source and the checksum of its content, so a file modified on disk is loaded again.
+ * Loading is lazy and asynchronous; concurrent requests for the same source wait for a single load.
+ * A tree can be requested with its suffix index, which is built before the tree is frozen : such a tree
+ * is held apart from the plain tree of the same source.
+ * The registry only holds weak references to the trees : a dictionary no longer used by any caller
+ * can be reclaimed, and will be loaded again on the next request.
+ */
+public class DictionaryRegistry {
+
+	public static final String CLASSPATH_PREFIX = "classpath:";
+
+	/**
+	 * The French dictionary shipped with the project.
+	 */
+	public static final String FRENCH_DICTIONARY = CLASSPATH_PREFIX + "mots/dictionnaire_FR_sans_accents.txt";
+
+	private static final DictionaryRegistry DEFAULT = new DictionaryRegistry(ForkJoinPool.commonPool());
+
+	private final Executor executor;
+	private final ConcurrentHashMap<Source, CompletableFuture<LexicographicTree>> loading = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Key, Entry> loaded = new ConcurrentHashMap<>();
+	private final ReferenceQueue<LexicographicTree> released = new ReferenceQueue<>();
+	private final AtomicInteger loads = new AtomicInteger();
+
+	// Une source et la forme de l'arbre demandé
+	private static final class Source {
+		private final String name;
+		private final boolean suffixIndex;
+
+		private Source(String name, boolean suffixIndex) {
+			this.name = Objects.requireNonNull(name);
+			this.suffixIndex = suffixIndex;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Source)) {
+				return false;
+			}
+			Source other = (Source) o;
+			return name.equals(other.name) && suffixIndex == other.suffixIndex;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(name, suffixIndex);
+		}
+	}
+
+	// Une source et l'empreinte de son contenu
+	private static final class Key {
+		private final Source source;
+		private final long checksum;
+
+		private Key(Source source, long checksum) {
+			this.source = source;
+			this.checksum = checksum;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return source.equals(other.source) && checksum == other.checksum;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(source, checksum);
+		}
+	}
+
+	// Référence faible qui retient sa clé, pour retirer l'entrée une fois l'arbre récupéré
+	private static final class Entry extends WeakReference<LexicographicTree> {
+		private final Key key;
+
+		private Entry(Key key, LexicographicTree tree, ReferenceQueue<LexicographicTree> queue) {
+			super(tree, queue);
+			this.key = key;
+		}
+	}
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : the dictionaries are loaded on the common fork-join pool.
+	 */
+	public DictionaryRegistry() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructor.
+	 * @param executor The executor loading the dictionaries
+	 */
+	public DictionaryRegistry(Executor executor) {
+		this.executor = executor;
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	/**
+	 * Returns the registry shared by the whole application.
+	 * @return The default registry
+	 */
+	public static DictionaryRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Returns the dictionary of a source, loading it in the background if needed.
+	 * @param source A file path, or a resource name prefixed by {@value #CLASSPATH_PREFIX}
+	 * @return The future read-only dictionary, failed if the executor rejects the load
+	 */
+	public CompletableFuture<LexicographicTree> load(String source) {
+		return load(source, false);
+	}
+
+	/**
+	 * Returns the dictionary of a source, loading it in the background if needed.
+	 * @param source      A file path, or a resource name prefixed by {@value #CLASSPATH_PREFIX}
+	 * @param suffixIndex True for a tree with its suffix index, see {@link LexicographicTree#enableSuffixIndex()}
+	 * @return The future read-only dictionary, failed if the executor rejects the load
+	 */
+	public CompletableFuture<LexicographicTree> load(String source, boolean suffixIndex) {
+		Source requested = new Source(source, suffixIndex);
+		CompletableFuture<LexicographicTree> created = new CompletableFuture<>();
+		CompletableFuture<LexicographicTree> pending = loading.putIfAbsent(requested, created);
+		if (pending != null) {
+			return pending;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					created.complete(loadNow(requested));
+				} catch (Throwable e) {
+					created.completeExceptionally(e);
+				} finally {
+					loading.remove(requested, created);
+				}
+			});
+		} catch (RuntimeException e) {
+			// Exécuteur arrêté ou saturé : les appelants déjà en attente reçoivent l'erreur, la source pourra être rechargée
+			loading.remove(requested, created);
+			created.completeExceptionally(e);
+		}
+		return created;
+	}
+
+	/**
+	 * Returns the dictionary of a source, waiting for it to be loaded if needed.
+	 * @param source A file path, or a resource name prefixed by {@value #CLASSPATH_PREFIX}
+	 * @return The read-only dictionary
+	 * @throws IOException if the source cannot be read
+	 */
+	public LexicographicTree get(String source) throws IOException {
+		return get(source, false);
+	}
+
+	/**
+	 * Returns the dictionary of a source, waiting for it to be loaded if needed.
+	 * @param source      A file path, or a resource name prefixed by {@value #CLASSPATH_PREFIX}
+	 * @param suffixIndex True for a tree with its suffix index, see {@link LexicographicTree#enableSuffixIndex()}
+	 * @return The read-only dictionary
+	 * @throws IOException if the source cannot be read
+	 */
+	public LexicographicTree get(String source, boolean suffixIndex) throws IOException {
+		try {
+			return load(source, suffixIndex).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the number of dictionaries held by the registry and still in use.
+	 * @return The number of dictionaries
+	 */
+	public int size() {
+		purge();
+		return loaded.size();
+	}
+
+	/**
+	 * Returns the number of dictionaries loaded since the creation of the registry.
+	 * @return The number of loads
+	 */
+	public int getLoadCount() {
+		return loads.get();
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private LexicographicTree loadNow(Source source) throws IOException {
+		purge();
+		byte[] content = read(source.name);
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		Key key = new Key(source, crc.getValue());
+		Entry entry = loaded.get(key);
+		LexicographicTree tree = entry == null ? null : entry.get();
+		if (tree == null) {
+			tree = parse(content, source.suffixIndex);
+			loads.incrementAndGet();
+			loaded.put(key, new Entry(key, tree, released));
+		}
+		return tree;
+	}
+
+	private static byte[] read(String source) throws IOException {
+		if (!source.startsWith(CLASSPATH_PREFIX)) {
+			return Files.readAllBytes(Paths.get(source));
+		}
+		String name = source.substring(CLASSPATH_PREFIX.length());
+		try (InputStream in = DictionaryRegistry.class.getClassLoader().getResourceAsStream(name)) {
+			if (in == null) {
+				throw new NoSuchFileException(source);
+			}
+			return in.readAllBytes();
+		}
+	}
+
+	private static LexicographicTree parse(byte[] content, boolean suffixIndex) {
+		LexicographicTree tree = new LexicographicTree();
+		if (suffixIndex) {
+			// Index construit au fil des insertions, tant que l'arbre est modifiable
+			tree.enableSuffixIndex();
+		}
+		tree.insertWords(ByteBuffer.wrap(content), StandardCharsets.UTF_8);
+		return tree.freeze();
+	}
+
+	// Retire les entrées dont l'arbre a été récupéré par le ramasse-miettes
+	private void purge() {
+		Entry entry;
+		while ((entry = (Entry) released.poll()) != null) {
+			loaded.remove(entry.key, entry);
+		}
+	}
+}
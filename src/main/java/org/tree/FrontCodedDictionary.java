@@ -0,0 +1,410 @@
+package org.tree;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A compact dictionary : the sorted word list, front-coded in blocks inside a single byte array.
+ * Each block starts with a word stored in full, as its length then its letters; each following word of
+ * the block is stored as the length of the prefix it shares with the previous word, the length of the
+ * rest, then the rest. The offset of the first word of each block is kept in an index, so that a word is
+ * found by a binary search over the blocks then a scan of one block. The words starting with a prefix
+ * form a contiguous range of the list, read by a single forward scan.
+ * Words are stored one byte per letter, in the order of the lexicographic tree, and are at most 255
+ * letters long. The dictionary is immutable and can be shared between threads.
+ */
+public class FrontCodedDictionary implements Lexicon {
+
+	public static final int DEFAULT_BLOCK_SIZE = 16;
+	private static final int MAX_WORD_LENGTH = 255;
+
+	// Rang de chaque caractère dans l'ordre de l'arbre : les lettres, puis '-', puis '\''
+	private static final byte[] RANKS = new byte[128];
+
+	static {
+		Arrays.fill(RANKS, (byte) -1);
+		for (char c = 'a'; c <= 'z'; c++) {
+			RANKS[c] = (byte) (c - 'a');
+		}
+		RANKS['-'] = 26;
+		RANKS['\''] = 27;
+	}
+
+	// Ordre de l'arbre lexicographique, pour des mots déjà normalisés uniquement
+	private static final Comparator<String> ORDER = (a, b) -> {
+		int length = Math.min(a.length(), b.length());
+		for (int i = 0; i < length; i++) {
+			int difference = RANKS[a.charAt(i)] - RANKS[b.charAt(i)];
+			if (difference != 0) {
+				return difference;
+			}
+		}
+		return a.length() - b.length();
+	};
+
+	private final byte[] data;
+	private final int[] blockOffsets;
+	private final int blockSize;
+	private final int size;
+	private final int maxLength;
+
+	// Lecture séquentielle des mots à partir du début d'un bloc
+	private final class Cursor {
+		private final byte[] word = new byte[maxLength];
+		private int length;
+		private int block;
+		private int indexInBlock;
+		private int position;
+		private int remaining;
+
+		private Cursor(int block) {
+			this.block = block;
+			this.position = blockOffsets[block];
+			this.indexInBlock = -1;
+			this.remaining = size - block * blockSize;
+		}
+
+		// Décode le mot suivant dans 'word', ou retourne faux à la fin de la liste
+		private boolean next() {
+			if (remaining == 0) {
+				return false;
+			}
+			remaining--;
+			if (++indexInBlock == blockSize) {
+				block++;
+				indexInBlock = 0;
+			}
+			int shared = indexInBlock == 0 ? 0 : data[position++] & 0xFF;
+			int rest = data[position++] & 0xFF;
+			System.arraycopy(data, position, word, shared, rest);
+			position += rest;
+			length = shared + rest;
+			return true;
+		}
+
+		private String current() {
+			return new String(word, 0, length, StandardCharsets.ISO_8859_1);
+		}
+
+		private void copyTo(WordList.Builder words, char[] letters) {
+			for (int i = 0; i < length; i++) {
+				letters[i] = (char) word[i];
+			}
+			words.add(letters, 0, length);
+		}
+	}
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	/**
+	 * Constructor : builds the dictionary of a file holding one word per line.
+	 * @param path    A text file containing the words
+	 * @param charset The encoding of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	public FrontCodedDictionary(Path path, Charset charset) throws IOException {
+		this(Files.readAllLines(path, charset), DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * Constructor : builds the dictionary of a collection of words.
+	 * As with the lexicographic tree, the words are lower-cased and stripped of the characters other than
+	 * letters, '-' and '\''; words holding other letters, such as accented letters, are ignored.
+	 * @param words     The words, in any order and possibly repeated
+	 * @param blockSize The number of words of a block : larger blocks are smaller but slower to search
+	 */
+	public FrontCodedDictionary(Collection<String> words, int blockSize) {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("La taille des blocs doit être strictement positive.");
+		}
+		TreeSet<String> sorted = new TreeSet<>(ORDER);
+		for (String word : words) {
+			String normalized = normalize(word);
+			if (normalized != null && !normalized.isEmpty()) {
+				sorted.add(normalized);
+			}
+		}
+		this.blockSize = blockSize;
+		this.size = sorted.size();
+		this.blockOffsets = new int[(size + blockSize - 1) / blockSize + 1];
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		String previous = "";
+		int index = 0;
+		int longest = 0;
+		for (String word : sorted) {
+			longest = Math.max(longest, word.length());
+			if (index % blockSize == 0) {
+				blockOffsets[index / blockSize] = out.size();
+				out.write(word.length());
+				out.write(word.getBytes(StandardCharsets.ISO_8859_1), 0, word.length());
+			} else {
+				int shared = sharedPrefixLength(previous, word);
+				out.write(shared);
+				out.write(word.length() - shared);
+				out.write(word.getBytes(StandardCharsets.ISO_8859_1), shared, word.length() - shared);
+			}
+			previous = word;
+			index++;
+		}
+		// Une sentinelle après le dernier bloc évite de traiter le cas d'un dictionnaire vide
+		blockOffsets[blockOffsets.length - 1] = out.size();
+		this.data = out.toByteArray();
+		this.maxLength = longest;
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsWord(String word) {
+		byte[] key = encode(word);
+		if (key == null || key.length == 0 || key.length > maxLength) {
+			return false;
+		}
+		Cursor cursor = new Cursor(findBlock(key));
+		while (cursor.next()) {
+			int comparison = compare(cursor.word, cursor.length, key, key.length);
+			if (comparison >= 0) {
+				return comparison == 0;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean isPrefix(String prefix) {
+		byte[] key = encode(prefix);
+		if (key == null) {
+			return false;
+		}
+		Cursor cursor = seek(key);
+		return key.length == 0 || cursor != null && startsWith(cursor, key);
+	}
+
+	@Override
+	public List<String> getWords(String prefix) {
+		List<String> words = new ArrayList<>();
+		byte[] key = encode(prefix);
+		if (key == null) {
+			return words;
+		}
+		Cursor cursor = seek(key);
+		if (cursor == null) {
+			return words;
+		}
+		// Les mots de même préfixe sont contigus dans la liste triée
+		do {
+			if (!startsWith(cursor, key)) {
+				break;
+			}
+			words.add(cursor.current());
+		} while (cursor.next());
+		return words;
+	}
+
+	@Override
+	public List<String> getWordsOfLength(int length) {
+		List<String> words = new ArrayList<>();
+		if (length <= 0 || length > maxLength || size == 0) {
+			return words;
+		}
+		Cursor cursor = new Cursor(0);
+		while (cursor.next()) {
+			if (cursor.length == length) {
+				words.add(cursor.current());
+			}
+		}
+		return words;
+	}
+
+	@Override
+	public WordList getWordList(String prefix) {
+		byte[] key = encode(prefix);
+		Cursor cursor = key == null ? null : seek(key);
+		if (cursor == null) {
+			return WordList.EMPTY;
+		}
+		WordList.Builder words = new WordList.Builder();
+		char[] letters = new char[maxLength];
+		do {
+			if (!startsWith(cursor, key)) {
+				break;
+			}
+			cursor.copyTo(words, letters);
+		} while (cursor.next());
+		return words.build();
+	}
+
+	@Override
+	public WordList getWordListOfLength(int length) {
+		if (length <= 0 || length > maxLength || size == 0) {
+			return WordList.EMPTY;
+		}
+		WordList.Builder words = new WordList.Builder();
+		char[] letters = new char[maxLength];
+		Cursor cursor = new Cursor(0);
+		while (cursor.next()) {
+			if (cursor.length == length) {
+				cursor.copyTo(words, letters);
+			}
+		}
+		return words.build();
+	}
+
+	/**
+	 * Returns the memory retained by the dictionary, in bytes, following the HotSpot layout with compressed references.
+	 * @return The size of the word data, of the block index and of the object itself
+	 */
+	public long getEstimatedBytes() {
+		return align(16 + data.length) + align(16 + 4L * blockOffsets.length) + align(12 + 4 * 5 + 2 * 4);
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	// Le dernier bloc dont le premier mot est inférieur ou égal à la clé, ou le premier bloc
+	private int findBlock(byte[] key) {
+		int low = 0;
+		int high = blockOffsets.length - 2;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			int offset = blockOffsets[middle];
+			int length = data[offset] & 0xFF;
+			if (compare(data, offset + 1, length, key, key.length) <= 0) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	// Place un curseur sur le premier mot supérieur ou égal à la clé, ou retourne null s'il n'y en a pas
+	private Cursor seek(byte[] key) {
+		if (size == 0) {
+			return null;
+		}
+		Cursor cursor = new Cursor(findBlock(key));
+		while (cursor.next()) {
+			if (compare(cursor.word, cursor.length, key, key.length) >= 0) {
+				return cursor;
+			}
+		}
+		return null;
+	}
+
+	private static boolean startsWith(Cursor cursor, byte[] key) {
+		if (cursor.length < key.length) {
+			return false;
+		}
+		for (int i = 0; i < key.length; i++) {
+			if (cursor.word[i] != key[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int compare(byte[] a, int aLength, byte[] b, int bLength) {
+		return compare(a, 0, aLength, b, bLength);
+	}
+
+	private static int compare(byte[] a, int aOffset, int aLength, byte[] b, int bLength) {
+		int length = Math.min(aLength, bLength);
+		for (int i = 0; i < length; i++) {
+			int difference = RANKS[a[aOffset + i]] - RANKS[b[i]];
+			if (difference != 0) {
+				return difference;
+			}
+		}
+		return aLength - bLength;
+	}
+
+	// La clé d'une requête, ou null si elle contient une lettre qui ne peut figurer dans le dictionnaire
+	private static byte[] encode(String word) {
+		String normalized = normalize(word);
+		return normalized == null ? null : normalized.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	private static String normalize(String word) {
+		StringBuilder sb = new StringBuilder(word.length());
+		for (int i = 0; i < word.length(); i++) {
+			char c = Character.toLowerCase(word.charAt(i));
+			if (c >= 'a' && c <= 'z' || c == '-' || c == '\'') {
+				sb.append(c);
+			} else if (Character.isLetter(c)) {
+				return null;
+			}
+		}
+		return sb.length() > MAX_WORD_LENGTH ? null : sb.toString();
+	}
+
+	private static int sharedPrefixLength(String a, String b) {
+		int length = Math.min(Math.min(a.length(), b.length()), MAX_WORD_LENGTH);
+		int i = 0;
+		while (i < length && a.charAt(i) == b.charAt(i)) {
+			i++;
+		}
+		return i;
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+
+	/*
+	 * MAIN PROGRAM
+	 */
+
+	public static void main(String[] args) throws IOException {
+		Path file = Paths.get("src/main/resources/mots/dictionnaire_FR_sans_accents.txt");
+		final double MB = 1024 * 1024;
+
+		long startTime = System.currentTimeMillis();
+		LexicographicTree tree = new LexicographicTree(file, StandardCharsets.UTF_8);
+		System.out.println("Trie         : loaded in seconds: " + (System.currentTimeMillis() - startTime) / 1000.0
+				+ String.format(Locale.ROOT, ", %.1f MB", tree.stats().getEstimatedBytes() / MB));
+		for (int blockSize : new int[] {8, 16, 32, 64}) {
+			startTime = System.currentTimeMillis();
+			FrontCodedDictionary dictionary = new FrontCodedDictionary(Files.readAllLines(file), blockSize);
+			System.out.println(String.format(Locale.ROOT, "Front-coded  : blocks of %2d, loaded in seconds: %.3f, %.2f MB",
+					blockSize, (System.currentTimeMillis() - startTime) / 1000.0, dictionary.getEstimatedBytes() / MB));
+		}
+		System.out.println();
+
+		// Recherche de tous les mots, présents puis absents
+		List<String> words = tree.getWords("");
+		Collections.shuffle(words, new Random(42));
+		for (Lexicon lexicon : new Lexicon[] {tree, new FrontCodedDictionary(words, DEFAULT_BLOCK_SIZE)}) {
+			for (int round = 0; round < 3; round++) {
+				startTime = System.nanoTime();
+				int found = 0;
+				for (String word : words) {
+					found += lexicon.containsWord(word) ? 1 : 0;
+					found += lexicon.containsWord(word + "zz") ? 1 : 0;
+				}
+				long elapsed = System.nanoTime() - startTime;
+				if (round == 2) {
+					System.out.println(String.format(Locale.ROOT, "%-20s : %d words found, %.0f ns per lookup",
+							lexicon.getClass().getSimpleName(), found, elapsed / (2.0 * words.size())));
+				}
+			}
+		}
+	}
+}
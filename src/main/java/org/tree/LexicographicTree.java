@@ -4,31 +4,82 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
-public class LexicographicTree {
+public class LexicographicTree implements Lexicon, LexicographicTreeMXBean {
+
+	private static final int CHILDREN = 28;
+	private static final int READ_BUFFER_SIZE = 1 << 16;
+	private static final Logger LOGGER = Logger.getLogger(LexicographicTree.class.getName());
 
 	/*
 	 * PRIVATE ATTRIBUTES
 	 */
 	private final Node root;
+	private Node reversedRoot;
 	private int size;
+	private volatile boolean frozen;
+	private ObjectName objectName;
 
+	/**
+	 * A node of the tree. Its public methods only read it, so that a frozen tree shared between
+	 * callers cannot be changed by walking it; only the tree modifies its nodes.
+	 */
 	public static class Node {
 		private Node[] children;
 		private boolean isEndOfWord;
+		private int height;
+		private int ordinal;
 
 		public Node() {
 			children = null;
 			isEndOfWord = false;
+			height = 0;
+			ordinal = -1;
 		}
 
 
-		public Node[] getChildren() {
-			if (children == null) {
-				children = new Node[28];
+		/**
+		 * Returns the child reached by the supplied character, without allocating the children array.
+		 * @param c A character
+		 * @return The child node, or null if there is none
+		 */
+		public Node getChild(char c) {
+			int index = c >= 'A' && c <= 'Z' ? c - 'A' : getIndex(c);
+			if (children == null || index < 0 || index >= children.length) {
+				return null;
 			}
-			return children;
+			return children[index];
+		}
+
+		/**
+		 * Returns the length of the longest word suffix stored below this node (0 for a leaf).
+		 * @return The maximum number of letters that can still follow this node
+		 */
+		public int getHeight() {
+			return height;
+		}
+
+		/**
+		 * Returns the ordinal of the word ending at this node, i.e. its rank of insertion in the tree.
+		 * Ordinals range from 0 to size() - 1 and can index compact per-word structures such as bitsets.
+		 * @return The ordinal of the word, or -1 if no word ends at this node
+		 */
+		public int getOrdinal() {
+			return ordinal;
 		}
 
 
@@ -36,10 +87,107 @@ public class LexicographicTree {
 			return isEndOfWord;
 		}
 
-		public void setEndOfWord(boolean isEndOfWord) {
+		void setEndOfWord(boolean isEndOfWord) {
 			this.isEndOfWord = isEndOfWord;
 		}
+
+		// Tableau des enfants, alloué à la première insertion sous ce nœud
+		private Node[] childrenForInsertion() {
+			if (children == null) {
+				children = new Node[CHILDREN];
+			}
+			return children;
+		}
 	}
+	// Lecture des mots octet par octet : les lignes sont découpées et normalisées dans des tampons réutilisés
+	private final class ByteIngestion {
+		private final Charset charset;
+		private byte[] line = new byte[64];
+		private int lineLength;
+		private char[] letters = new char[64];
+		private CharBuffer word = CharBuffer.wrap(letters);
+		private int rejectedWords;
+		private final Map<Character, Integer> rejectedCharacters = new TreeMap<>();
+
+		private ByteIngestion(Charset charset) {
+			byte[] ascii = "az-'\n".getBytes(StandardCharsets.US_ASCII);
+			if (!Arrays.equals(ascii, "az-'\n".getBytes(charset))) {
+				throw new IllegalArgumentException("L'encodage " + charset + " ne code pas les caractères ASCII sur un octet.");
+			}
+			this.charset = charset;
+		}
+
+		private void accept(ByteBuffer bytes) {
+			while (bytes.hasRemaining()) {
+				byte b = bytes.get();
+				if (b == '\n') {
+					endLine();
+				} else {
+					if (lineLength == line.length) {
+						line = Arrays.copyOf(line, 2 * lineLength);
+					}
+					line[lineLength++] = b;
+				}
+			}
+		}
+
+		private void finish() {
+			if (lineLength > 0) {
+				endLine();
+			}
+			if (rejectedWords > 0) {
+				LOGGER.warning(rejectedWords + " mots rejetés, caractères non pris en charge : " + rejectedCharacters);
+			}
+		}
+
+		private void endLine() {
+			if (letters.length < lineLength) {
+				letters = new char[line.length];
+				word = CharBuffer.wrap(letters);
+			}
+			int length = 0;
+			for (int i = 0; i < lineLength; i++) {
+				byte b = line[i];
+				if (b < 0) {
+					// Caractère non ASCII : la ligne est décodée selon son encodage
+					length = decodeLine();
+					break;
+				}
+				if (b >= 'a' && b <= 'z' || b == '-' || b == '\'') {
+					letters[length++] = (char) b;
+				} else if (b >= 'A' && b <= 'Z') {
+					letters[length++] = (char) (b + ('a' - 'A'));
+				}
+			}
+			if (length > 0) {
+				word.clear().limit(length);
+				insert(word);
+			}
+			lineLength = 0;
+		}
+
+		private int decodeLine() {
+			String text = new String(line, 0, lineLength, charset);
+			int length = 0;
+			boolean rejected = false;
+			for (int i = 0; i < text.length(); i++) {
+				char c = Character.toLowerCase(text.charAt(i));
+				if (c >= 'a' && c <= 'z' || c == '-' || c == '\'') {
+					letters[length++] = c;
+				} else if (Character.isLetter(c)) {
+					rejectedCharacters.merge(c, 1, Integer::sum);
+					rejected = true;
+				}
+			}
+			if (rejected) {
+				rejectedWords++;
+				LOGGER.fine(() -> "Mot rejeté : " + text);
+				return 0;
+			}
+			return length;
+		}
+	}
+
 	/*
 	 * CONSTRUCTORS
 	 */
@@ -69,6 +217,45 @@ public class LexicographicTree {
 
 	}
 
+	/**
+	 * Constructor : creates a lexicographic tree populated with the words of a file, one word per line.
+	 * The file is read as raw bytes through a direct buffer : the lines are split and their letters
+	 * lower-cased in a reusable buffer, from which they are inserted, without creating any string.
+	 * As with {@link #insertWord(String)}, characters other than letters, '-' and '\'' are ignored;
+	 * a word holding a letter the tree cannot store, such as an accented letter, is rejected and logged.
+	 * @param path    A text file containing the words to be inserted in the tree
+	 * @param charset The encoding of the file, which must encode ASCII characters on single bytes
+	 * @throws IOException if the file cannot be read
+	 */
+	public LexicographicTree(Path path, Charset charset) throws IOException {
+		this(path, charset, false);
+	}
+
+	/**
+	 * Constructor : creates a lexicographic tree populated with the words of a file, one word per line,
+	 * as {@link #LexicographicTree(Path, Charset)} does, optionally building the suffix index along.
+	 * @param path        A text file containing the words to be inserted in the tree
+	 * @param charset     The encoding of the file, which must encode ASCII characters on single bytes
+	 * @param suffixIndex True to build the index of the reversed words, see {@link #enableSuffixIndex()}
+	 * @throws IOException if the file cannot be read
+	 */
+	public LexicographicTree(Path path, Charset charset, boolean suffixIndex) throws IOException {
+		this();
+		if (suffixIndex) {
+			buildSuffixIndex();
+		}
+		ByteIngestion ingestion = new ByteIngestion(charset);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+			while (channel.read(buffer) >= 0) {
+				buffer.flip();
+				ingestion.accept(buffer);
+				buffer.clear();
+			}
+		}
+		ingestion.finish();
+	}
+
 	/*
 	 * PUBLIC METHODS
 	 */
@@ -77,36 +264,57 @@ public class LexicographicTree {
 	 * Returns the number of words present in the lexicographic tree.
 	 * @return The number of words present in the lexicographic tree
 	 */
+	@Override
 	public int size() {
 		return size;
 	}
 
+	/**
+	 * Returns the root node of the tree, for callers walking the tree letter by letter.
+	 * @return The root node
+	 */
+	public Node getRoot() {
+		return root;
+	}
+
+
+	/**
+	 * Makes the tree read-only : later insertions are rejected, so the tree can be shared between threads.
+	 * The queries never modify the tree.
+	 * @return This tree
+	 */
+	public LexicographicTree freeze() {
+		frozen = true;
+		return this;
+	}
+
+	/**
+	 * Determines if the tree is read-only.
+	 * @return True if words can no longer be inserted
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
 
 	/**
 	 * Inserts a word in the lexicographic tree if not already present.
 	 * @param word A word
+	 * @throws UnsupportedOperationException if the tree is read-only
 	 */
 	public void insertWord(String word) {
-		word = sanitize(word);
-		Node current = root;
-		for (int i = 0; i < word.length(); i++) {
-			char c = word.charAt(i);
-			if (!Character.isLetter(c) && c != '-' && c != '\'') {
-				continue;
-			}
-			Node[] children = current.getChildren();
-			Node child = children[getIndex(c)];
-			if (child == null) {
-				child = new Node();
-				children[getIndex(c)] = child;
-			}
-			current = child;
-		}
+		insert(sanitize(word));
+	}
 
-		if (!current.isEndOfWord()) {
-			current.setEndOfWord(true);
-			size++;
-		}
+	/**
+	 * Inserts the words of a buffer holding lines of text, as read by {@link #LexicographicTree(Path, Charset)}.
+	 * @param bytes   The encoded lines; the buffer position is advanced to its limit
+	 * @param charset The encoding of the lines, which must encode ASCII characters on single bytes
+	 * @throws UnsupportedOperationException if the tree is read-only
+	 */
+	public void insertWords(ByteBuffer bytes, Charset charset) {
+		ByteIngestion ingestion = new ByteIngestion(charset);
+		ingestion.accept(bytes);
+		ingestion.finish();
 	}
 
 
@@ -115,6 +323,7 @@ public class LexicographicTree {
 	 * @param word A word
 	 * @return True if the word is present, false otherwise
 	 */
+	@Override
 	public boolean containsWord(String word) {
 		word = sanitize(word);
 		Node current = getNode(word);
@@ -125,6 +334,17 @@ public class LexicographicTree {
 
 
 
+	/**
+	 * Returns the ordinal of a word, i.e. its rank of insertion in the lexicographic tree.
+	 * @param word A word
+	 * @return The ordinal of the word, or -1 if the word is not present
+	 */
+	public int getOrdinal(String word) {
+		Node current = getNode(word);
+		return current == null ? -1 : current.getOrdinal();
+	}
+
+	@Override
 	public boolean isPrefix(String word) {
 		Node current = getNode(word);
 		return current != null;
@@ -136,6 +356,7 @@ public class LexicographicTree {
 	 * @param prefix Expected prefix
 	 * @return The list of words starting with the supplied prefix
 	 */
+	@Override
 	public List<String> getWords(String prefix) {
 		prefix = sanitize(prefix);
 		List<String> words = new ArrayList<>();
@@ -143,28 +364,101 @@ public class LexicographicTree {
 
 		// On parcourt le préfixe
 		for (int i = 0; i < prefix.length(); i++) {
-			char c = prefix.charAt(i);
-			Node[] children = current.getChildren();
-			Node child = children[getIndex(c)];
+			Node child = current.getChild(prefix.charAt(i));
 			if (child == null) {
 				// Si un caractère du préfixe ne correspond à aucun nœud de l'arbre, on retourne une liste vide
 				return words;
 			}
 			current = child;
 		}
-		getWords(current, new StringBuilder(prefix), words);
+		getWords(current, new StringBuilder(prefix), words, null);
 		return words;
 	}
 
 
+	/**
+	 * Builds the suffix index : a second tree holding the reversed words, whose nodes carry the ordinals
+	 * of the words of this tree. Suffix queries then cost a walk of the suffix, as prefix queries do.
+	 * The index is kept up to date by later insertions. Nothing is done if the index already exists.
+	 * @return This tree
+	 * @throws UnsupportedOperationException if the tree is read-only
+	 */
+	public LexicographicTree enableSuffixIndex() {
+		if (frozen) {
+			throw new UnsupportedOperationException("L'arbre est en lecture seule.");
+		}
+		buildSuffixIndex();
+		return this;
+	}
+
+	/**
+	 * Determines if the suffix index has been built.
+	 * @return True if suffix queries are available
+	 */
+	public boolean hasSuffixIndex() {
+		return reversedRoot != null;
+	}
+
+	/**
+	 * Determines if a string ends at least one word of the tree.
+	 * @param suffix A word ending
+	 * @return True if a word ends with the supplied suffix
+	 * @throws IllegalStateException if the suffix index has not been built
+	 */
+	public boolean isSuffix(String suffix) {
+		return getReversedNode(sanitize(suffix)) != null;
+	}
+
+	/**
+	 * Returns the list of all words ending with the supplied suffix, sorted by their reversed spelling,
+	 * so that the words sharing the longest endings come together.
+	 * If 'suffix' is an empty string, all words are returned.
+	 * @param suffix Expected suffix
+	 * @return The list of words ending with the supplied suffix
+	 * @throws IllegalStateException if the suffix index has not been built
+	 */
+	public List<String> getWordsWithSuffix(String suffix) {
+		suffix = sanitize(suffix);
+		List<String> words = new ArrayList<>();
+		Node current = getReversedNode(suffix);
+		if (current != null) {
+			getReversedWords(current, new StringBuilder(suffix).reverse(), words);
+		}
+		return words;
+	}
+
+	/**
+	 * Returns an alphabetic list of all words starting with a prefix and ending with a suffix.
+	 * The ordinals of the words ending with the suffix are marked in a bitset, then the words starting
+	 * with the prefix are filtered by their ordinal, so no string is built for the rejected words.
+	 * @param prefix Expected prefix
+	 * @param suffix Expected suffix
+	 * @return The list of words starting with the prefix and ending with the suffix
+	 * @throws IllegalStateException if the suffix index has not been built
+	 */
+	public List<String> getWords(String prefix, String suffix) {
+		prefix = sanitize(prefix);
+		List<String> words = new ArrayList<>();
+		Node suffixNode = getReversedNode(sanitize(suffix));
+		Node prefixNode = getNode(prefix);
+		if (suffixNode == null || prefixNode == null) {
+			return words;
+		}
+		BitSet ordinals = new BitSet(size);
+		markOrdinals(suffixNode, ordinals);
+		getWords(prefixNode, new StringBuilder(prefix), words, ordinals);
+		return words;
+	}
+
 	/**
 	 * Returns an alphabetic list of all words of a given length.
-	 * If 'length' is lower than or equal to zero, an empty list is returned.
+	 * If 'length' is lower than or equal to zero, or longer than any word, an empty list is returned.
 	 * @param length Expected word length
 	 * @return The list of words with the given length
 	 */
+	@Override
 	public List<String> getWordsOfLength(int length) {
-		if (length <= 0) {
+		if (length <= 0 || length > root.height) {
 			return new ArrayList<>();
 		}
 		List<String> words = new ArrayList<>();
@@ -173,6 +467,97 @@ public class LexicographicTree {
 		return words;
 	}
 
+	/**
+	 * Returns all words starting with the supplied prefix, packed into a single list : no string is
+	 * built for the words, whose letters are copied from the traversal buffer.
+	 * @param prefix Expected prefix
+	 * @return The alphabetic list of words starting with the supplied prefix
+	 */
+	@Override
+	public WordList getWordList(String prefix) {
+		prefix = sanitize(prefix);
+		Node current = getNode(prefix);
+		if (current == null) {
+			return WordList.EMPTY;
+		}
+		char[] word = Arrays.copyOf(prefix.toCharArray(), prefix.length() + current.height);
+		long[] totals = new long[2];
+		countWords(current, prefix.length(), -1, totals);
+		WordList.Builder words = new WordList.Builder((int) totals[0], (int) totals[1]);
+		collectWords(current, word, prefix.length(), -1, words);
+		return words.build();
+	}
+
+	/**
+	 * Returns all words of a given length, packed into a single list.
+	 * If 'length' is lower than or equal to zero, an empty list is returned.
+	 * @param length Expected word length
+	 * @return The alphabetic list of words with the given length
+	 */
+	@Override
+	public WordList getWordListOfLength(int length) {
+		if (length <= 0 || length > root.height) {
+			return WordList.EMPTY;
+		}
+		long[] totals = new long[2];
+		countWords(root, 0, length, totals);
+		WordList.Builder words = new WordList.Builder((int) totals[0], (int) totals[1]);
+		collectWords(root, new char[length], 0, length, words);
+		return words.build();
+	}
+
+	/**
+	 * Walks the tree to compute its shape and estimate its memory footprint, suffix index included.
+	 * @return The statistics of the tree
+	 */
+	public TreeStats stats() {
+		int[] counts = new int[3]; // nœuds, tableaux d'enfants, tableaux d'enfants vides
+		int[] fanOut = new int[CHILDREN + 1];
+		int[] nodesPerDepth = new int[root.height + 1];
+		int[] wordsPerLength = new int[root.height + 1];
+		collectStats(root, 0, counts, fanOut, nodesPerDepth, wordsPerLength);
+		int[] suffixCounts = new int[3];
+		if (reversedRoot != null) {
+			// L'index des suffixes est compté à part, sans fausser la forme de l'arbre des préfixes
+			collectStats(reversedRoot, 0, suffixCounts, new int[CHILDREN + 1], new int[reversedRoot.height + 1],
+					new int[reversedRoot.height + 1]);
+		}
+		return new TreeStats(size, counts[0], counts[1], counts[2], CHILDREN, fanOut, nodesPerDepth, wordsPerLength,
+				referenceSize(), suffixCounts[0], suffixCounts[1]);
+	}
+
+	@Override
+	public int getWordCount() {
+		return size;
+	}
+
+	@Override
+	public TreeStats getStats() {
+		return stats();
+	}
+
+	/**
+	 * Registers the tree with the platform MBean server, to inspect its statistics.
+	 * @param name The name of the MBean, e.g. "org.tree:type=LexicographicTree,name=fr"
+	 * @throws JMException if the name is invalid or already registered
+	 */
+	public synchronized void registerMBean(String name) throws JMException {
+		ObjectName newName = new ObjectName(name);
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+		objectName = newName;
+	}
+
+	/**
+	 * Unregisters the tree from the platform MBean server, if it was registered.
+	 * @throws JMException if the MBean cannot be unregistered
+	 */
+	public synchronized void unregisterMBean() throws JMException {
+		if (objectName != null) {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+			objectName = null;
+		}
+	}
+
 
 
 
@@ -182,37 +567,155 @@ public class LexicographicTree {
 	 * PRIVATE METHODS
 	 */
 
-	private void getWords(Node node, StringBuilder prefix, List<String> words) {
+	private void insert(CharSequence word) {
+		if (frozen) {
+			throw new UnsupportedOperationException("L'arbre est en lecture seule.");
+		}
+		Node current = root;
+		for (int i = 0; i < word.length(); i++) {
+			char c = word.charAt(i);
+			if (!Character.isLetter(c) && c != '-' && c != '\'') {
+				continue;
+			}
+			current.height = Math.max(current.height, word.length() - i);
+			Node[] children = current.childrenForInsertion();
+			Node child = children[getIndex(c)];
+			if (child == null) {
+				child = new Node();
+				children[getIndex(c)] = child;
+			}
+			current = child;
+		}
+
+		if (!current.isEndOfWord()) {
+			current.setEndOfWord(true);
+			current.ordinal = size;
+			if (reversedRoot != null) {
+				insertReversed(word, size);
+			}
+			size++;
+		}
+	}
+
+	// Insère le mot retourné dans l'index des suffixes, sous l'ordinal du mot
+	private void insertReversed(CharSequence word, int ordinal) {
+		Node current = reversedRoot;
+		for (int i = word.length() - 1; i >= 0; i--) {
+			char c = word.charAt(i);
+			if (!Character.isLetter(c) && c != '-' && c != '\'') {
+				continue;
+			}
+			current.height = Math.max(current.height, i + 1);
+			Node[] children = current.childrenForInsertion();
+			Node child = children[getIndex(c)];
+			if (child == null) {
+				child = new Node();
+				children[getIndex(c)] = child;
+			}
+			current = child;
+		}
+		current.setEndOfWord(true);
+		current.ordinal = ordinal;
+	}
+
+	private void buildSuffixIndex() {
+		if (reversedRoot == null) {
+			reversedRoot = new Node();
+			indexSuffixes(root, new StringBuilder());
+		}
+	}
+
+	private void indexSuffixes(Node node, StringBuilder word) {
+		if (node.isEndOfWord()) {
+			insertReversed(word, node.ordinal);
+		}
+		if (node.children != null) {
+			for (int j = 0; j < node.children.length; j++) {
+				if (node.children[j] != null) {
+					word.append(getChar(j));
+					indexSuffixes(node.children[j], word);
+					word.deleteCharAt(word.length() - 1);
+				}
+			}
+		}
+	}
+
+	private Node getReversedNode(String suffix) {
+		if (reversedRoot == null) {
+			throw new IllegalStateException("L'index des suffixes n'a pas été construit.");
+		}
+		Node current = reversedRoot;
+		for (int i = suffix.length() - 1; i >= 0 && current != null; i--) {
+			current = current.getChild(suffix.charAt(i));
+		}
+		return current;
+	}
+
+	private void getReversedWords(Node node, StringBuilder reversed, List<String> words) {
 		if (node.isEndOfWord()) {
+			char[] word = new char[reversed.length()];
+			for (int i = 0; i < word.length; i++) {
+				word[i] = reversed.charAt(word.length - 1 - i);
+			}
+			words.add(new String(word));
+		}
+		if (node.children != null) {
+			for (int j = 0; j < node.children.length; j++) {
+				if (node.children[j] != null) {
+					reversed.append(getChar(j));
+					getReversedWords(node.children[j], reversed, words);
+					reversed.deleteCharAt(reversed.length() - 1);
+				}
+			}
+		}
+	}
+
+	private static void markOrdinals(Node node, BitSet ordinals) {
+		if (node.isEndOfWord()) {
+			ordinals.set(node.ordinal);
+		}
+		if (node.children != null) {
+			for (Node child : node.children) {
+				if (child != null) {
+					markOrdinals(child, ordinals);
+				}
+			}
+		}
+	}
+
+	private void getWords(Node node, StringBuilder prefix, List<String> words, BitSet ordinals) {
+		if (node.isEndOfWord() && (ordinals == null || ordinals.get(node.ordinal))) {
 			// Si le nœud correspond à la fin d'un mot, on l'ajoute à la liste
 			words.add(prefix.toString());
 		}
+		Node[] children = node.children;
+		if (children == null) {
+			return;
+		}
 
 		// On parcourt tous les enfants du nœud actuel
 		for (char c = 'a'; c <= 'z'; c++) {
-			Node[] children = node.getChildren();
 			Node child = children[c - 'a'];
 			if (child != null) {
 				// Si l'enfant existe, on l'ajoute au préfixe et on appelle la méthode récursive avec ce nœud
 				prefix.append(c);
-				getWords(child, prefix, words);
+				getWords(child, prefix, words, ordinals);
 				prefix.deleteCharAt(prefix.length() - 1);
 			}
 		}
 
 		// On gère les cas spéciaux pour les caractères "-" et "'"
-		Node[] children = node.getChildren();
 		Node child = children[26];
 		if (child != null) {
 			prefix.append('-');
-			getWords(child, prefix, words);
+			getWords(child, prefix, words, ordinals);
 			prefix.deleteCharAt(prefix.length() - 1);
 		}
 
 		child = children[27];
 		if (child != null) {
 			prefix.append('\'');
-			getWords(child, prefix, words);
+			getWords(child, prefix, words, ordinals);
 			prefix.deleteCharAt(prefix.length() - 1);
 		}
 
@@ -223,34 +726,92 @@ public class LexicographicTree {
 			words.add(new String(prefix));
 		}
 
-		if (i == length) {
+		if (i == length || node.children == null) {
 			return;
 		}
 
-		Node[] children = node.getChildren();
+		Node[] children = node.children;
 		for (int j = 0; j < children.length; j++) {
 			Node child = children[j];
 			if (child != null) {
-				prefix[i] = (char) (j == 26 ? '-' : j == 27 ? '\'' : j + 'a');
+				prefix[i] = getChar(j);
 				getWordsOfLength(child, prefix, length, words, i + 1);
 			}
 		}
 	}
 
+	// Compte les mots sous le nœud et leurs lettres, pour dimensionner exactement la liste
+	private void countWords(Node node, int depth, int length, long[] totals) {
+		if (node.isEndOfWord() && (length < 0 || depth == length)) {
+			totals[0]++;
+			totals[1] += depth;
+		}
+		Node[] children = node.children;
+		if (depth == length || children == null) {
+			return;
+		}
+		for (Node child : children) {
+			if (child != null) {
+				countWords(child, depth + 1, length, totals);
+			}
+		}
+	}
+
+	// Copie les mots sous le nœud dans la liste, tous ou seulement ceux de la longueur demandée (si positive)
+	private void collectWords(Node node, char[] word, int depth, int length, WordList.Builder words) {
+		if (node.isEndOfWord() && (length < 0 || depth == length)) {
+			words.add(word, 0, depth);
+		}
+		Node[] children = node.children;
+		if (depth == length || children == null) {
+			return;
+		}
+		for (int j = 0; j < children.length; j++) {
+			Node child = children[j];
+			if (child != null) {
+				word[depth] = getChar(j);
+				collectWords(child, word, depth + 1, length, words);
+			}
+		}
+	}
+
+	// Les tableaux d'enfants sont lus directement pour ne pas en allouer pendant le parcours
+	private void collectStats(Node node, int depth, int[] counts, int[] fanOut, int[] nodesPerDepth, int[] wordsPerLength) {
+		counts[0]++;
+		nodesPerDepth[depth]++;
+		if (node.isEndOfWord()) {
+			wordsPerLength[depth]++;
+		}
+		int childCount = 0;
+		if (node.children != null) {
+			counts[1]++;
+			for (Node child : node.children) {
+				if (child != null) {
+					childCount++;
+					collectStats(child, depth + 1, counts, fanOut, nodesPerDepth, wordsPerLength);
+				}
+			}
+			if (childCount == 0) {
+				counts[2]++;
+			}
+		}
+		fanOut[childCount]++;
+	}
+
+	// Références compressées sur une JVM 64 bits tant que le tas reste sous 32 Go
+	private static int referenceSize() {
+		boolean is32Bit = "32".equals(System.getProperty("sun.arch.data.model"));
+		return is32Bit || Runtime.getRuntime().maxMemory() < 32L * 1024 * 1024 * 1024 ? 4 : 8;
+	}
+
 	private Node getNode(String word) {
 		word = sanitize(word);
 		Node current = root;
 		for (int i = 0; i < word.length(); i++) {
-			char c = word.charAt(i);
-			Node[] children = current.getChildren();
-			if (children.length <= getIndex(c)) {
+			current = current.getChild(word.charAt(i));
+			if (current == null) {
 				return null;
 			}
-			Node child = children[getIndex(c)];
-			if (child == null) {
-				return null;
-			}
-			current = child;
 		}
 		return current;
 	}
@@ -266,10 +827,14 @@ public class LexicographicTree {
 		return sb.toString().toLowerCase();
 	}
 
-	private int getIndex(char c) {
+	private static int getIndex(char c) {
 		return c == '-' ? 26 : c == '\'' ? 27 : c - 'a';
 	}
 
+	private static char getChar(int index) {
+		return (char) (index == 26 ? '-' : index == 27 ? '\'' : index + 'a');
+	}
+
 
 
 
@@ -363,6 +928,48 @@ public class LexicographicTree {
 		}
 		System.out.println("Search time : " + (System.currentTimeMillis() - startTime) / 1000.0);
 		System.out.println();
+
+		// Search words by suffix, with the same walk as the prefix search
+		dico.enableSuffixIndex();
+		System.out.println("Searching prefixes and suffixes...");
+		long prefixTime = 0;
+		long suffixTime = 0;
+		for (String ending : new String[] {"e", "ment", "ement", "tion", "able", "x"}) {
+			long start = System.nanoTime();
+			int prefixCount = dico.getWords(ending).size();
+			prefixTime += System.nanoTime() - start;
+			start = System.nanoTime();
+			int suffixCount = dico.getWordsWithSuffix(ending).size();
+			suffixTime += System.nanoTime() - start;
+			System.out.println(ending + " : " + prefixCount + " words starting with, " + suffixCount + " ending with");
+		}
+		System.out.println("Prefix search time : " + prefixTime / 1e9 + ", suffix search time : " + suffixTime / 1e9);
+		System.out.println();
+
+		// Shape and memory footprint of the tree
+		System.out.println(dico.stats());
+		System.out.println();
+	}
+
+	private static void testLoadingPaths(String filename) throws IOException {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		int repeatCount = 10;
+		for (String loader : new String[] {"FileReader", "FileChannel"}) {
+			long startTime = System.currentTimeMillis();
+			long allocated = threads.getCurrentThreadAllocatedBytes();
+			LexicographicTree dico = null;
+			for (int i = 0; i < repeatCount; i++) {
+				dico = loader.equals("FileReader")
+						? new LexicographicTree(filename)
+						: new LexicographicTree(Paths.get(filename), StandardCharsets.UTF_8);
+			}
+			allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+			TreeStats stats = dico.stats();
+			System.out.printf(Locale.ROOT, "%-11s : %.3f s per load, %.1f MB allocated per load, of which %.1f MB retained by the tree%n",
+					loader, (System.currentTimeMillis() - startTime) / 1000.0 / repeatCount,
+					allocated / 1048576.0 / repeatCount, stats.getEstimatedBytes() / 1048576.0);
+		}
+		System.out.println();
 	}
 
 	private static void testDictionarySize() {
@@ -376,7 +983,8 @@ public class LexicographicTree {
 			dico.insertWord(numberToWordBreadthFirst(count));
 			count++;
 			if (count % MB == 0) {
-				System.out.println(count / MB + "M -> " + Runtime.getRuntime().freeMemory()/MB);
+				System.out.println(count / MB + "M -> " + Runtime.getRuntime().freeMemory()/MB
+						+ " (tree : " + dico.stats().getEstimatedBytes()/MB + ")");
 			}
 		}
 	}
@@ -385,7 +993,10 @@ public class LexicographicTree {
 	 * MAIN PROGRAM
 	 */
 
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException {
+		// Comparaison des chargements par caractères et par octets
+		testLoadingPaths("src/main/resources/mots/dictionnaire_FR_sans_accents.txt");
+
 		// CTT : test de performance insertion/recherche
 		testDictionaryPerformance("src/main/resources/mots/dictionnaire_FR_sans_accents.txt");
 
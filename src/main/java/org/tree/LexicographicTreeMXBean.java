@@ -0,0 +1,15 @@
+package org.tree;
+
+/**
+ * JMX view of a lexicographic tree.
+ */
+public interface LexicographicTreeMXBean {
+
+	int getWordCount();
+
+	/**
+	 * Returns the shape of the tree, computed by walking it.
+	 * @return The statistics of the tree
+	 */
+	TreeStats getStats();
+}
@@ -0,0 +1,63 @@
+package org.tree;
+
+import java.util.List;
+
+/**
+ * The queries common to the dictionary implementations. Words are made of the lower-case letters
+ * 'a' to 'z', '-' and '\''; queries are case-insensitive and ignore other characters. Lists of words
+ * are sorted in the order of the lexicographic tree : letters first, then '-', then '\''.
+ */
+public interface Lexicon {
+
+	/**
+	 * Returns the number of words of the dictionary.
+	 * @return The number of words
+	 */
+	int size();
+
+	/**
+	 * Determines if a word is present in the dictionary.
+	 * @param word A word
+	 * @return True if the word is present, false otherwise
+	 */
+	boolean containsWord(String word);
+
+	/**
+	 * Determines if a string starts at least one word of the dictionary.
+	 * @param prefix A word beginning
+	 * @return True if a word starts with the supplied prefix
+	 */
+	boolean isPrefix(String prefix);
+
+	/**
+	 * Returns the list of all words starting with the supplied prefix, all words for an empty prefix.
+	 * @param prefix Expected prefix
+	 * @return The sorted list of words starting with the supplied prefix
+	 */
+	List<String> getWords(String prefix);
+
+	/**
+	 * Returns the list of all words of a given length, an empty list for a length lower than 1.
+	 * @param length Expected word length
+	 * @return The sorted list of words with the given length
+	 */
+	List<String> getWordsOfLength(int length);
+
+	/**
+	 * Returns the words starting with the supplied prefix, packed into a single list.
+	 * @param prefix Expected prefix
+	 * @return The sorted words starting with the supplied prefix
+	 */
+	default WordList getWordList(String prefix) {
+		return WordList.of(getWords(prefix));
+	}
+
+	/**
+	 * Returns the words of a given length, packed into a single list.
+	 * @param length Expected word length
+	 * @return The sorted words with the given length
+	 */
+	default WordList getWordListOfLength(int length) {
+		return WordList.of(getWordsOfLength(length));
+	}
+}
@@ -0,0 +1,224 @@
+package org.tree;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The shape of a lexicographic tree : number of nodes and of child arrays, fan-out of the nodes,
+ * occupation of the child arrays, nodes per depth, words per length, and an estimate of the memory
+ * retained by each kind of object. The nodes and child arrays of the suffix index, if any, are counted
+ * apart from the shape of the tree but included in its memory. The memory estimate follows the HotSpot layout : 8-byte aligned
+ * objects with a 12-byte header and 4-byte references when the heap allows compressed references,
+ * 16-byte headers and 8-byte references otherwise.
+ */
+public class TreeStats {
+
+	private final int wordCount;
+	private final int nodeCount;
+	private final int childArrayCount;
+	private final int emptyChildArrayCount;
+	private final int childArrayLength;
+	private final int[] fanOutHistogram;
+	private final int[] nodesPerDepth;
+	private final int[] wordsPerLength;
+	private final int referenceSize;
+	private final int suffixNodeCount;
+	private final int suffixChildArrayCount;
+
+	/**
+	 * Constructor, for a tree without suffix index.
+	 *
+	 * @param wordCount            The number of words
+	 * @param nodeCount            The number of nodes, root included
+	 * @param childArrayCount      The number of child arrays allocated
+	 * @param emptyChildArrayCount The number of child arrays without any child
+	 * @param childArrayLength     The number of slots of a child array
+	 * @param fanOutHistogram      The number of nodes by number of children
+	 * @param nodesPerDepth        The number of nodes by depth, the root being at depth 0
+	 * @param wordsPerLength       The number of words by length
+	 * @param referenceSize        The size of a reference, in bytes
+	 */
+	public TreeStats(int wordCount, int nodeCount, int childArrayCount, int emptyChildArrayCount, int childArrayLength,
+			int[] fanOutHistogram, int[] nodesPerDepth, int[] wordsPerLength, int referenceSize) {
+		this(wordCount, nodeCount, childArrayCount, emptyChildArrayCount, childArrayLength, fanOutHistogram,
+				nodesPerDepth, wordsPerLength, referenceSize, 0, 0);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param wordCount             The number of words
+	 * @param nodeCount             The number of nodes, root included
+	 * @param childArrayCount       The number of child arrays allocated
+	 * @param emptyChildArrayCount  The number of child arrays without any child
+	 * @param childArrayLength      The number of slots of a child array
+	 * @param fanOutHistogram       The number of nodes by number of children
+	 * @param nodesPerDepth         The number of nodes by depth, the root being at depth 0
+	 * @param wordsPerLength        The number of words by length
+	 * @param referenceSize         The size of a reference, in bytes
+	 * @param suffixNodeCount       The number of nodes of the suffix index, root included, or 0 without index
+	 * @param suffixChildArrayCount The number of child arrays of the suffix index
+	 */
+	public TreeStats(int wordCount, int nodeCount, int childArrayCount, int emptyChildArrayCount, int childArrayLength,
+			int[] fanOutHistogram, int[] nodesPerDepth, int[] wordsPerLength, int referenceSize,
+			int suffixNodeCount, int suffixChildArrayCount) {
+		this.wordCount = wordCount;
+		this.nodeCount = nodeCount;
+		this.childArrayCount = childArrayCount;
+		this.emptyChildArrayCount = emptyChildArrayCount;
+		this.childArrayLength = childArrayLength;
+		this.fanOutHistogram = fanOutHistogram.clone();
+		this.nodesPerDepth = nodesPerDepth.clone();
+		this.wordsPerLength = wordsPerLength.clone();
+		this.referenceSize = referenceSize;
+		this.suffixNodeCount = suffixNodeCount;
+		this.suffixChildArrayCount = suffixChildArrayCount;
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	public int getWordCount() {
+		return wordCount;
+	}
+
+	public int getNodeCount() {
+		return nodeCount;
+	}
+
+	public int getChildArrayCount() {
+		return childArrayCount;
+	}
+
+	/**
+	 * Returns the number of child arrays without any child, e.g. allocated on a leaf by a query.
+	 * @return The number of empty child arrays
+	 */
+	public int getEmptyChildArrayCount() {
+		return emptyChildArrayCount;
+	}
+
+	/**
+	 * Returns the number of nodes by number of children : the element i counts the nodes with i children.
+	 * @return The fan-out histogram
+	 */
+	public int[] getFanOutHistogram() {
+		return fanOutHistogram.clone();
+	}
+
+	/**
+	 * Returns the proportion of the slots of the child arrays holding no child.
+	 * @return The empty-slot ratio, between 0 and 1
+	 */
+	public double getEmptySlotRatio() {
+		long slots = (long) childArrayCount * childArrayLength;
+		return slots == 0 ? 0 : 1 - (nodeCount - 1) / (double) slots;
+	}
+
+	/**
+	 * Returns the number of nodes by depth, the root being at depth 0.
+	 * @return The depth distribution
+	 */
+	public int[] getNodesPerDepth() {
+		return nodesPerDepth.clone();
+	}
+
+	/**
+	 * Returns the number of words by length : the element i counts the words of i letters.
+	 * @return The words per length
+	 */
+	public int[] getWordsPerLength() {
+		return wordsPerLength.clone();
+	}
+
+	/**
+	 * Returns the estimated size of one node object.
+	 * @return A size in bytes
+	 */
+	public int getNodeBytes() {
+		// En-tête, référence vers les enfants, booléen de fin de mot, hauteur et ordinal
+		return align(headerSize() + referenceSize + 1 + 2 * Integer.BYTES);
+	}
+
+	/**
+	 * Returns the estimated size of one child array.
+	 * @return A size in bytes
+	 */
+	public int getChildArrayBytes() {
+		return align(headerSize() + Integer.BYTES + childArrayLength * referenceSize);
+	}
+
+	/**
+	 * Returns the estimated memory retained by the node objects.
+	 * @return A size in bytes
+	 */
+	public long getEstimatedNodeBytes() {
+		return (long) nodeCount * getNodeBytes();
+	}
+
+	/**
+	 * Returns the estimated memory retained by the child arrays.
+	 * @return A size in bytes
+	 */
+	public long getEstimatedChildArrayBytes() {
+		return (long) childArrayCount * getChildArrayBytes();
+	}
+
+	/**
+	 * Returns the number of nodes of the suffix index, root included.
+	 * @return The number of nodes, 0 if the tree has no suffix index
+	 */
+	public int getSuffixIndexNodeCount() {
+		return suffixNodeCount;
+	}
+
+	public int getSuffixIndexChildArrayCount() {
+		return suffixChildArrayCount;
+	}
+
+	/**
+	 * Returns the estimated memory retained by the suffix index.
+	 * @return A size in bytes, 0 if the tree has no suffix index
+	 */
+	public long getEstimatedSuffixIndexBytes() {
+		return (long) suffixNodeCount * getNodeBytes() + (long) suffixChildArrayCount * getChildArrayBytes();
+	}
+
+	/**
+	 * Returns the estimated memory retained by the whole tree, suffix index included.
+	 * @return A size in bytes
+	 */
+	public long getEstimatedBytes() {
+		return getEstimatedNodeBytes() + getEstimatedChildArrayBytes() + getEstimatedSuffixIndexBytes();
+	}
+
+	@Override
+	public String toString() {
+		final double MB = 1024 * 1024;
+		String stats = String.format(Locale.ROOT, "%d words, %d nodes, %d child arrays (%d empty), %.1f %% empty slots%n"
+						+ "estimated memory : %.1f MB (nodes %.1f MB at %d bytes, child arrays %.1f MB at %d bytes)%n"
+						+ "fan-out histogram : %s%nnodes per depth : %s%nwords per length : %s",
+				wordCount, nodeCount, childArrayCount, emptyChildArrayCount, 100 * getEmptySlotRatio(),
+				getEstimatedBytes() / MB, getEstimatedNodeBytes() / MB, getNodeBytes(),
+				getEstimatedChildArrayBytes() / MB, getChildArrayBytes(),
+				Arrays.toString(fanOutHistogram), Arrays.toString(nodesPerDepth), Arrays.toString(wordsPerLength));
+		if (suffixNodeCount == 0) {
+			return stats;
+		}
+		return stats + String.format(Locale.ROOT, "%nsuffix index : %d nodes, %d child arrays, %.1f MB",
+				suffixNodeCount, suffixChildArrayCount, getEstimatedSuffixIndexBytes() / MB);
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private int headerSize() {
+		return referenceSize == 4 ? 12 : 16;
+	}
+
+	private static int align(int size) {
+		return (size + 7) & ~7;
+	}
+}
@@ -0,0 +1,335 @@
+package org.tree;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * A packed list of words : the letters of all words follow each other in a single char array, and the
+ * start of each word is kept in an array of offsets. A large result, such as all the words of a given
+ * length, costs two arrays instead of one String per word.
+ * The words are read through {@link View}, a CharSequence that moves from word to word without
+ * allocating; {@link #asList()} gives the words as strings to the callers expecting a list.
+ * A word list is immutable and can be shared between threads, its views cannot.
+ */
+public final class WordList {
+
+	/**
+	 * The list without any word.
+	 */
+	public static final WordList EMPTY = new WordList(new char[0], new int[] {0}, 0);
+
+	private final char[] chars;
+	private final int[] offsets;
+	private final int size;
+
+	/**
+	 * A reusable window on one word of the list. Moving it to another word allocates nothing; the
+	 * characters it shows change accordingly, so a view must be copied with toString() to be kept.
+	 */
+	public final class View implements CharSequence {
+		private int index;
+		private int start;
+		private int length;
+
+		private View() {
+		}
+
+		/**
+		 * Moves the view to a word of the list.
+		 * @param index The rank of the word
+		 * @return This view
+		 */
+		public View moveTo(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Indice " + index + " hors de la liste de " + size + " mots.");
+			}
+			this.index = index;
+			this.start = offsets[index];
+			this.length = offsets[index + 1] - start;
+			return this;
+		}
+
+		/**
+		 * Returns the rank of the word shown by the view.
+		 * @return The rank in the list
+		 */
+		public int index() {
+			return index;
+		}
+
+		@Override
+		public int length() {
+			return length;
+		}
+
+		@Override
+		public char charAt(int i) {
+			if (i < 0 || i >= length) {
+				throw new IndexOutOfBoundsException(i);
+			}
+			return chars[start + i];
+		}
+
+		@Override
+		public CharSequence subSequence(int from, int to) {
+			if (from < 0 || to > length || from > to) {
+				throw new IndexOutOfBoundsException("Intervalle [" + from + ", " + to + "[ hors du mot de longueur " + length + ".");
+			}
+			return new String(chars, start + from, to - from);
+		}
+
+		/**
+		 * Compares the word shown by the view with a sequence of characters.
+		 * @param word A word
+		 * @return True if both have the same characters
+		 */
+		public boolean contentEquals(CharSequence word) {
+			if (word.length() != length) {
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				if (chars[start + i] != word.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public String toString() {
+			return new String(chars, start, length);
+		}
+	}
+
+	/**
+	 * Accumulates words, then packs them into a list.
+	 */
+	public static final class Builder {
+		private char[] chars;
+		private int[] offsets;
+		private int size;
+
+		public Builder() {
+			this(16, 128);
+		}
+
+		/**
+		 * Constructor : with exact expectations, the list is built without any copy.
+		 * @param expectedWords   The expected number of words
+		 * @param expectedLetters The expected number of letters of all words
+		 */
+		public Builder(int expectedWords, int expectedLetters) {
+			chars = new char[Math.max(0, expectedLetters)];
+			offsets = new int[Math.max(0, expectedWords) + 1];
+		}
+
+		public Builder add(CharSequence word) {
+			int end = reserve(word.length());
+			for (int i = 0; i < word.length(); i++) {
+				chars[end + i] = word.charAt(i);
+			}
+			return this;
+		}
+
+		/**
+		 * Adds a word held in a part of a char array.
+		 * @param word   Characters
+		 * @param from   The start of the word in the array
+		 * @param length The length of the word
+		 * @return This builder
+		 */
+		public Builder add(char[] word, int from, int length) {
+			int end = reserve(length);
+			System.arraycopy(word, from, chars, end, length);
+			return this;
+		}
+
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * Packs the words added; the builder cannot be used afterwards.
+		 * @return The word list
+		 */
+		public WordList build() {
+			if (size == 0) {
+				return EMPTY;
+			}
+			// Les tableaux ne sont recopiés que s'ils ont été surdimensionnés
+			char[] packedChars = chars.length == offsets[size] ? chars : Arrays.copyOf(chars, offsets[size]);
+			int[] packedOffsets = offsets.length == size + 1 ? offsets : Arrays.copyOf(offsets, size + 1);
+			chars = null;
+			offsets = null;
+			return new WordList(packedChars, packedOffsets, size);
+		}
+
+		// Réserve la place d'un mot et retourne sa position dans le tableau de caractères
+		private int reserve(int length) {
+			int end = offsets[size];
+			if (end + length > chars.length) {
+				chars = Arrays.copyOf(chars, Math.max(2 * chars.length, Math.max(16, end + length)));
+			}
+			if (size + 2 > offsets.length) {
+				offsets = Arrays.copyOf(offsets, Math.max(16, 2 * offsets.length));
+			}
+			offsets[++size] = end + length;
+			return end;
+		}
+	}
+
+	/*
+	 * CONSTRUCTORS
+	 */
+
+	private WordList(char[] chars, int[] offsets, int size) {
+		this.chars = chars;
+		this.offsets = offsets;
+		this.size = size;
+	}
+
+	/**
+	 * Packs a collection of words, in its iteration order.
+	 * @param words Words
+	 * @return The packed list
+	 */
+	public static WordList of(Collection<? extends CharSequence> words) {
+		Builder builder = new Builder(words.size(), 8 * words.size());
+		for (CharSequence word : words) {
+			builder.add(word);
+		}
+		return builder.build();
+	}
+
+	/*
+	 * PUBLIC METHODS
+	 */
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Returns the length of a word.
+	 * @param index The rank of the word
+	 * @return The number of characters of the word
+	 */
+	public int length(int index) {
+		checkIndex(index);
+		return offsets[index + 1] - offsets[index];
+	}
+
+	/**
+	 * Returns a character of a word.
+	 * @param index The rank of the word
+	 * @param i     The position of the character in the word
+	 * @return The character
+	 */
+	public char charAt(int index, int i) {
+		if (i < 0 || i >= length(index)) {
+			throw new IndexOutOfBoundsException(i);
+		}
+		return chars[offsets[index] + i];
+	}
+
+	/**
+	 * Returns a word as a new string.
+	 * @param index The rank of the word
+	 * @return The word
+	 */
+	public String getString(int index) {
+		checkIndex(index);
+		return new String(chars, offsets[index], offsets[index + 1] - offsets[index]);
+	}
+
+	/**
+	 * Returns a view on the first word, to be moved over the list.
+	 * @return A new view
+	 * @throws IndexOutOfBoundsException if the list is empty
+	 */
+	public View view() {
+		return new View().moveTo(0);
+	}
+
+	/**
+	 * Performs an action on every word, through a single view.
+	 * @param action The action, which must copy the view to keep the word
+	 */
+	public void forEach(Consumer<? super CharSequence> action) {
+		forEach(0, size, action);
+	}
+
+	/**
+	 * Performs an action on the words of a slice of the list, through a single view.
+	 * @param from   The rank of the first word, inclusive
+	 * @param to     The rank of the last word, exclusive
+	 * @param action The action, which must copy the view to keep the word
+	 */
+	public void forEach(int from, int to, Consumer<? super CharSequence> action) {
+		if (from < 0 || to > size || from > to) {
+			throw new IndexOutOfBoundsException("Intervalle [" + from + ", " + to + "[ hors de la liste de " + size + " mots.");
+		}
+		if (from == to) {
+			return;
+		}
+		View view = new View();
+		for (int i = from; i < to; i++) {
+			action.accept(view.moveTo(i));
+		}
+	}
+
+	/**
+	 * Returns the words as an unmodifiable list of strings, each string being built when it is read.
+	 * @return A list backed by this word list
+	 */
+	public List<String> asList() {
+		return new StringList();
+	}
+
+	/**
+	 * Returns the memory retained by the list, in bytes, following the HotSpot layout with compressed references.
+	 * @return The size of the two arrays and of the object itself
+	 */
+	public long getEstimatedBytes() {
+		return align(16 + 2L * chars.length) + align(16 + 4L * offsets.length) + align(12 + 2 * 4 + 4);
+	}
+
+	@Override
+	public String toString() {
+		return asList().toString();
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Indice " + index + " hors de la liste de " + size + " mots.");
+		}
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+
+	private final class StringList extends AbstractList<String> implements RandomAccess {
+		@Override
+		public String get(int index) {
+			return getString(index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
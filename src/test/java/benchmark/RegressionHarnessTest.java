@@ -0,0 +1,91 @@
+package benchmark;
+
+import org.benchmark.RegressionHarness;
+import org.benchmark.RegressionHarness.Reference;
+import org.benchmark.RegressionHarness.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegressionHarnessTest {
+
+	@Test
+	void measure() {
+		Result result = RegressionHarness.measure("sum", () -> {
+			long sum = 0;
+			for (int i = 0; i < 1000; i++) {
+				sum += i;
+			}
+			return sum;
+		}, 1, 5, 1);
+		assertEquals("sum", result.getScenario());
+		assertEquals(5, result.getRuns());
+		assertEquals(499500, result.getChecksum());
+		assertTrue(result.getMinMillis() <= result.getMedianMillis());
+		assertTrue(result.getMedianMillis() <= result.getMaxMillis());
+		assertThrows(IllegalArgumentException.class, () -> RegressionHarness.measure("none", () -> 0, 0, 0));
+	}
+
+	@Test
+	void shortScenariosAreBatched() {
+		int[] calls = new int[1];
+		Result result = RegressionHarness.measure("sleep", () -> {
+			calls[0]++;
+			try {
+				Thread.sleep(2);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return calls[0];
+		}, 0, 3, 20);
+		// Un appel dure au moins 2 ms : chaque mesure de 20 ms compte au plus 10 appels
+		assertTrue(result.getBatch() >= 1 && result.getBatch() <= 10, "batch " + result.getBatch());
+		assertTrue(calls[0] >= 3 && calls[0] <= 30, "calls " + calls[0]);
+		assertEquals(calls[0], result.getChecksum());
+		assertTrue(result.getMinMillis() >= 2, "min " + result.getMinMillis());
+	}
+
+	@Test
+	void jsonRoundTrip() {
+		List<Result> results = List.of(new Result("boggle-4x4", 5, 2.0, 1.5, 3.0, 60),
+				new Result("crypto-sherlock-greedy", 5, 500.0, 450.0, 600.0, 42));
+		Map<String, Reference> baseline = RegressionHarness.parseBaseline(RegressionHarness.toJson(results));
+		assertEquals(List.of("boggle-4x4", "crypto-sherlock-greedy"), List.copyOf(baseline.keySet()));
+		assertEquals(500.0, baseline.get("boggle-4x4").getOpsPerSecond(), 1e-3);
+		assertEquals(60, baseline.get("boggle-4x4").getChecksum());
+		assertEquals(2.0, baseline.get("crypto-sherlock-greedy").getOpsPerSecond(), 1e-3);
+		assertEquals(42, baseline.get("crypto-sherlock-greedy").getChecksum());
+	}
+
+	@Test
+	void csv() {
+		String csv = RegressionHarness.toCsv(List.of(new Result("boggle-4x4", 5, 50, 2.0, 1.5, 3.0, 60)));
+		String[] lines = csv.split("\\R");
+		assertEquals(2, lines.length);
+		assertEquals("boggle-4x4,5,50,2.000,1.500,3.000,60,500.0000", lines[1]);
+	}
+
+	@Test
+	void regressions() {
+		Map<String, Reference> baseline = Map.of("fast", new Reference(0, 100.0), "slow", new Reference(0, 10.0));
+		List<Result> results = List.of(new Result("fast", 5, 12.5, 12.0, 13.0, 0), // 80 ops/s
+				new Result("slow", 5, 200.0, 190.0, 210.0, 0), // 5 ops/s
+				new Result("new", 5, 1000.0, 900.0, 1100.0, 0));
+		List<String> regressions = RegressionHarness.regressions(results, baseline, 0.3);
+		assertEquals(1, regressions.size());
+		assertTrue(regressions.get(0).startsWith("slow"));
+		assertTrue(RegressionHarness.regressions(results, baseline, 0.6).isEmpty());
+	}
+
+	@Test
+	void checksumMismatchIsRegression() {
+		Map<String, Reference> baseline = Map.of("boggle-4x4", new Reference(40, 100.0));
+		List<Result> faster = List.of(new Result("boggle-4x4", 5, 1.0, 1.0, 1.0, 39)); // 1000 ops/s
+		List<String> regressions = RegressionHarness.regressions(faster, baseline, 0.3);
+		assertEquals(List.of("boggle-4x4 : checksum 39 vs 40 in baseline"), regressions);
+		assertTrue(RegressionHarness.regressions(List.of(new Result("boggle-4x4", 5, 1.0, 1.0, 1.0, 40)), baseline, 0.3).isEmpty());
+	}
+}
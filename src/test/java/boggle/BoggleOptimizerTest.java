@@ -0,0 +1,56 @@
+package boggle;
+
+import org.boggle.Boggle;
+import org.boggle.BoggleOptimizer;
+import org.boggle.ScoringRule;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoggleOptimizerTest {
+	private static LexicographicTree dictionary = null;
+
+	@BeforeAll
+	public static void initTestDictionary() throws IOException {
+		dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+	}
+
+	@Test
+	void optimizeReportsConsistentBest() {
+		BoggleOptimizer optimizer = new BoggleOptimizer(4, dictionary, ScoringRule.LENGTH_WEIGHTED);
+		BoggleOptimizer.Result result = optimizer.optimize(2, 500, 7);
+
+		assertEquals(16, result.getLetters().length());
+		Boggle boggle = new Boggle(4, result.getLetters(), dictionary);
+		assertEquals(result.getScore(), optimizer.score(boggle.solve()));
+		assertEquals(2 * 501, result.getBoardsEvaluated());
+		assertTrue(result.getBoardsPerSecond() > 0);
+
+		List<BoggleOptimizer.Improvement> timeline = result.getTimeline();
+		assertFalse(timeline.isEmpty());
+		assertEquals(result.getScore(), timeline.get(timeline.size() - 1).getScore());
+		for (int i = 1; i < timeline.size(); i++) {
+			assertTrue(timeline.get(i).getScore() > timeline.get(i - 1).getScore());
+		}
+	}
+
+	@Test
+	void optimizeImprovesRandomGrids() {
+		BoggleOptimizer optimizer = new BoggleOptimizer(4, dictionary, ScoringRule.WORD_COUNT);
+		BoggleOptimizer.Result result = optimizer.optimize(1, 2000, 3);
+		List<BoggleOptimizer.Improvement> timeline = result.getTimeline();
+		assertTrue(result.getScore() > timeline.get(0).getScore());
+	}
+
+	@Test
+	void invalidTemperatures() {
+		BoggleOptimizer optimizer = new BoggleOptimizer(4, dictionary, ScoringRule.WORD_COUNT);
+		assertThrows(IllegalArgumentException.class, () -> optimizer.setTemperatures(0.1, 1.0));
+	}
+}
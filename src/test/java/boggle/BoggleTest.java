@@ -1,13 +1,19 @@
 package boggle;
 
 import org.boggle.Boggle;
+import org.boggle.ScoringRule;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import org.tree.DictionaryRegistry;
 import org.tree.LexicographicTree;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -20,9 +26,9 @@ public class BoggleTest {
 	private static LexicographicTree dictionary = null;
 
 	@BeforeAll
-	public static void initTestDictionary() {
+	public static void initTestDictionary() throws IOException {
 		System.out.print("Loading dictionary...");
-		dictionary = new LexicographicTree("src/main/resources/mots/dictionnaire_FR_sans_accents.txt");
+		dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
 		System.out.println(" done.");
 	}
 	
@@ -57,6 +63,83 @@ public class BoggleTest {
 		assertTrue(result.isEmpty());
 	}
 
+	@Test
+	void testContainsAll() {
+		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
+		assertTrue(b.containsAll(EXPECTED_WORDS));
+		assertTrue(b.containsAll(List.of("songent", "rhr", "")));
+		assertFalse(b.containsAll(List.of("songent", "sono")));
+		assertFalse(b.containsAll(List.of("SONGENT")));
+		assertEquals(Set.of("songent", "gosse"), b.containedWords(List.of("songent", "sono", "gosse", "été", "gosses")));
+	}
+
+	@Test
+	void testLetterAt() {
+		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
+		assertEquals('r', b.letterAt(0, 0));
+		assertEquals('y', b.letterAt(1, 0));
+		assertEquals('o', b.letterAt(3, 3));
+		assertThrows(IllegalArgumentException.class, () -> b.letterAt(0, 4));
+		b.setLetter(3, 3, 'x');
+		assertEquals('x', b.letterAt(3, 3));
+		assertEquals("rhreypcswnsntegx", b.letters());
+	}
+
+	@Test
+	void testSolveTopK() {
+		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
+		assertEquals(List.of("engoncer", "engonces", "pressent", "cessent", "cresson"), b.solveTopK(5, Boggle.LONGEST_FIRST));
+
+		List<String> alphabetical = new ArrayList<>(EXPECTED_WORDS).subList(0, 3);
+		assertEquals(alphabetical, b.solveTopK(3, String::compareTo));
+		assertEquals(EXPECTED_WORDS, new TreeSet<>(b.solveTopK(100, Boggle.LONGEST_FIRST)));
+		assertThrows(IllegalArgumentException.class, () -> b.solveTopK(0, Boggle.LONGEST_FIRST));
+	}
+
+	@Test
+	void testScore() {
+		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
+		assertEquals(EXPECTED_WORDS.size(), b.score(ScoringRule.WORD_COUNT));
+		int expected = 0;
+		for (String word : EXPECTED_WORDS) {
+			expected += ScoringRule.STANDARD.score(word);
+		}
+		assertEquals(expected, b.score(ScoringRule.STANDARD));
+		assertEquals(11, ScoringRule.STANDARD.score("engoncer"));
+		assertEquals(1, ScoringRule.STANDARD.score("ces"));
+	}
+
+	@Test
+	void testSolveIncremental() {
+		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
+		assertEquals(EXPECTED_WORDS, b.solveIncremental());
+
+		// "songent" perd son "g", "engonce" et ses dérivés disparaissent aussi
+		b.setLetter(3, 2, 'a');
+		assertEquals(new Boggle(4, "rhreypcswnsnteao", dictionary).solve(), b.solveIncremental());
+		assertFalse(b.solveIncremental().contains("songent"));
+
+		b.setLetter(3, 2, 'g');
+		assertEquals(EXPECTED_WORDS, b.solveIncremental());
+	}
+
+	@Test
+	void testSolveIncrementalRandomChanges() {
+		Random random = new Random(1);
+		Boggle b = new Boggle(6, dictionary);
+		b.solveIncremental();
+		for (int i = 0; i < 50; i++) {
+			b.setLetter(random.nextInt(6), random.nextInt(6), "aeinrstlou".charAt(random.nextInt(10)));
+			assertEquals(new Boggle(6, b.letters(), dictionary).solve(), b.solveIncremental());
+		}
+	}
+
+	@Test
+	void testSetLetterOutsideGrid() {
+		Boggle b = new Boggle(4, GRID_LETTERS, dictionary);
+		assertThrows(IllegalArgumentException.class, () -> b.setLetter(4, 0, 'a'));
+	}
+
 	@Test
 	void testSolveWithInvalidSize() {
 		assertThrows(IllegalArgumentException.class, () -> new Boggle(0, dictionary));
@@ -0,0 +1,45 @@
+package boggle;
+
+import org.boggle.Boggle;
+import org.boggle.TiledSolver;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TiledSolverTest {
+	private static final String GRID_10X10 = "eymmccsrltjttsdiraoarliuniepeousrcgoiseerreeistiedtomcteevcmkaualilaretneerectresieenspgizeoeceecuds";
+	private static LexicographicTree dictionary = null;
+
+	@BeforeAll
+	public static void initTestDictionary() throws IOException {
+		dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+	}
+
+	@Test
+	void sameWordsAsSolve() {
+		Set<String> expected = new Boggle(10, GRID_10X10, dictionary).solve();
+		for (int tileSize : new int[] {1, 3, 10, 64}) {
+			List<String> streamed = new ArrayList<>();
+			int count = new TiledSolver(10, GRID_10X10, dictionary).solve(tileSize, streamed::add);
+			assertEquals(expected, new HashSet<>(streamed), "Tuiles de taille " + tileSize);
+			assertEquals(expected.size(), streamed.size(), "Mots en double avec des tuiles de taille " + tileSize);
+			assertEquals(expected.size(), count);
+		}
+	}
+
+	@Test
+	void invalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new TiledSolver(0, "", dictionary));
+		assertThrows(IllegalArgumentException.class, () -> new TiledSolver(4, "abc", dictionary));
+		assertThrows(IllegalArgumentException.class, () -> new TiledSolver(1, "a", dictionary).solve(0, w -> {}));
+	}
+}
@@ -0,0 +1,123 @@
+package cryptanalysis;
+
+import org.cryptanalysis.BatchAnalyzer;
+import org.cryptanalysis.DictionaryIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tree.DictionaryRegistry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchAnalyzerTest {
+	private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+	private static DictionaryIndex index = null;
+	private static String cryptogram = null;
+
+	@BeforeAll
+	public static void initTestDictionary() throws IOException {
+		index = new DictionaryIndex(DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY));
+		cryptogram = Files.readString(Paths.get(CRYPTOGRAM_FILE), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void analyzeBatchTest() {
+		List<String> cryptograms = new ArrayList<>();
+		for (int start = 0; start + 40_000 <= cryptogram.length(); start += 40_000) {
+			cryptograms.add(cryptogram.substring(start, start + 40_000));
+		}
+		BatchAnalyzer.Report report = new BatchAnalyzer(index, dba -> dba.guessApproximatedAlphabet(dba.guessAlphabetFromFrequencies()), 2)
+				.analyze(cryptograms);
+		assertEquals(cryptograms.size(), report.getAlphabets().size());
+		for (String alphabet : report.getAlphabets()) {
+			assertEquals(DECODING_ALPHABET, alphabet);
+		}
+		assertTrue(report.getThroughput() > 0);
+		assertTrue(report.getLatencyMillis(50) <= report.getLatencyMillis(99));
+		assertTrue(report.getLatencyMillis(100) * 1e6 <= report.getDurationNanos());
+	}
+
+	@Test
+	void resultsFollowInputOrderTest() {
+		List<String> cryptograms = List.of("a", "bb", "ccc", "dddd", "eeeee");
+		BatchAnalyzer.Report report = new BatchAnalyzer(index, dba -> dba.guessAlphabetFromFrequencies(), 3).analyze(cryptograms);
+		assertEquals(5, report.getAlphabets().size());
+		report.getAlphabets().forEach(alphabet -> assertEquals(26, alphabet.length()));
+	}
+
+	@Test
+	void interruptedBatchTest() throws InterruptedException {
+		AtomicInteger started = new AtomicInteger();
+		BatchAnalyzer analyzer = new BatchAnalyzer(index, dba -> {
+			started.incrementAndGet();
+			try {
+				Thread.sleep(60_000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return null;
+		}, 2);
+		Thread.currentThread().interrupt();
+		try {
+			assertThrows(CancellationException.class, () -> analyzer.analyze(List.of("a", "b", "c", "d", "e", "f")));
+		} finally {
+			assertTrue(Thread.interrupted());
+		}
+		// Au plus une analyse en cours par thread, et aucune commencée après l'annulation
+		Thread.sleep(200);
+		assertTrue(started.get() <= 2, "analyses commencées : " + started.get());
+	}
+
+	@Test
+	void failedItemStopsBatchTest() throws InterruptedException {
+		AtomicInteger started = new AtomicInteger();
+		BatchAnalyzer analyzer = new BatchAnalyzer(index, dba -> {
+			if (started.incrementAndGet() == 1) {
+				throw new IllegalArgumentException("Échec de l'analyse.");
+			}
+			try {
+				Thread.sleep(60_000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return null;
+		}, 2);
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> analyzer.analyze(List.of("a", "b", "c", "d", "e", "f")));
+		assertInstanceOf(IllegalArgumentException.class, e.getCause());
+		Thread.sleep(200);
+		assertTrue(started.get() <= 2, "analyses commencées : " + started.get());
+	}
+
+	@Test
+	void emptyBatchTest() {
+		BatchAnalyzer.Report report = new BatchAnalyzer(index).analyze(List.of());
+		assertTrue(report.getAlphabets().isEmpty());
+		assertEquals(0, report.getLatencyMillis(99));
+	}
+
+	@Test
+	void percentilesTest() {
+		BatchAnalyzer.Report report = new BatchAnalyzer.Report(List.of("A", "B", "C", "D"),
+				new long[] {4_000_000, 1_000_000, 3_000_000, 2_000_000}, 5_000_000);
+		assertEquals(2, report.getLatencyMillis(50));
+		assertEquals(4, report.getLatencyMillis(99));
+		assertEquals(1, report.getLatencyMillis(0));
+		assertEquals(800, report.getThroughput(), 1e-6);
+		assertThrows(IllegalArgumentException.class, () -> report.getLatencyMillis(101));
+	}
+
+	@Test
+	void invalidThreadsTest() {
+		assertThrows(IllegalArgumentException.class, () -> new BatchAnalyzer(index, dba -> "", 0));
+	}
+}
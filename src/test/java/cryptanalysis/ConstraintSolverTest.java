@@ -0,0 +1,102 @@
+package cryptanalysis;
+
+import org.cryptanalysis.ConstraintSolver;
+import org.cryptanalysis.DictionaryIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConstraintSolverTest {
+	private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+	private static LexicographicTree dictionary = null;
+	private static DictionaryIndex index = null;
+
+	@BeforeAll
+	public static void initTestDictionary() throws IOException {
+		dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		index = new DictionaryIndex(dictionary);
+	}
+
+	@Test
+	void patternTest() {
+		assertEquals("ABCA", DictionaryIndex.pattern("test"));
+		assertEquals("ABBA", DictionaryIndex.pattern("Elle"));
+		assertNull(DictionaryIndex.pattern("aujourd'hui"));
+		assertTrue(index.getWordsWithPatternOf("XYYX").contains("elle"));
+		assertFalse(index.getWordsWithPatternOf("XYZX").contains("elle"));
+		List<String> words = new ArrayList<>();
+		index.forEachWordWithPatternOf("XYYX", word -> words.add(word.toString()));
+		assertEquals(index.getWordsWithPatternOf("elle"), words);
+		assertEquals(words.size(), index.countWordsWithPatternOf("ABBA"));
+		assertTrue(words.stream().allMatch(word -> "ABBA".equals(DictionaryIndex.pattern(word))));
+		assertEquals(0, index.countWordsWithPatternOf("aujourd'hui"));
+		assertEquals(dictionary.getWordsOfLength(4), index.getWordsOfLength(4));
+		assertTrue(index.getWordsOfLength(0).isEmpty());
+	}
+
+	@Test
+	void solvesSmallCryptogram() {
+		// "le chat mange la souris" chiffré par décalage de 1
+		List<String> words = Arrays.asList("MF", "DIBU", "NBOHF", "MB", "TPVSJT");
+		ConstraintSolver solver = new ConstraintSolver(words, index, 2, 10);
+		ConstraintSolver.Result result = solver.solve(5_000);
+		assertTrue(result.isComplete());
+		assertEquals(2 + 4 + 5 + 2 + 6, result.getScore());
+		String alphabet = result.getAlphabet();
+		for (String cipher : words) {
+			for (char c : cipher.toCharArray()) {
+				assertNotEquals(' ', alphabet.charAt(c - 'A'));
+			}
+		}
+	}
+
+	@Test
+	void wordsWithoutCandidatesAreIgnored() {
+		ConstraintSolver solver = new ConstraintSolver(List.of("QWXQWXQWXQWXQWX", "AB"), index);
+		assertEquals(0, solver.variableCount());
+		ConstraintSolver.Result result = solver.solve(1_000);
+		assertEquals(" ".repeat(26), result.getAlphabet());
+		assertEquals(0, result.getScore());
+	}
+
+	@Test
+	void revisionKeepsOptimum() throws IOException {
+		// Sur un court extrait, la révision élague sans perdre la couverture optimale trouvée par le seul filtrage
+		String cryptogram = Files.readString(Paths.get(CRYPTOGRAM_FILE), StandardCharsets.UTF_8).substring(0, 300);
+		ConstraintSolver solver = new ConstraintSolver(Arrays.asList(cryptogram.split("[^A-Za-z]")), index);
+		ConstraintSolver.Result result = solver.solve(30_000);
+		assertTrue(result.isComplete());
+		assertEquals(173, result.getScore());
+		assertEquals(result.getScore(), solver.solve(30_000).getScore());
+	}
+
+	@Test
+	void solvesSherlockTest() throws IOException {
+		String cryptogram = Files.readString(Paths.get(CRYPTOGRAM_FILE), StandardCharsets.UTF_8);
+		ConstraintSolver solver = new ConstraintSolver(Arrays.asList(cryptogram.split("[^A-Za-z]")), index);
+		ConstraintSolver.Result result = solver.solve(30_000);
+		String alphabet = result.getAlphabet();
+		int correct = 0;
+		for (int i = 0; i < alphabet.length(); i++) {
+			if (alphabet.charAt(i) == DECODING_ALPHABET.charAt(i)) {
+				correct++;
+			} else {
+				// Une lettre inconnue est permise, une lettre fausse ne l'est pas
+				assertEquals(' ', alphabet.charAt(i));
+			}
+		}
+		assertTrue(correct >= 24, alphabet);
+	}
+}
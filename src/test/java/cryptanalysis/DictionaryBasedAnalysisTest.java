@@ -1,6 +1,7 @@
 package cryptanalysis;
 
 import org.cryptanalysis.DictionaryBasedAnalysis;
+import org.cryptanalysis.StochasticKeySearch;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -11,6 +12,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 
 import org.junit.jupiter.api.BeforeAll;
+import org.tree.DictionaryRegistry;
 import org.tree.LexicographicTree;
 
 
@@ -22,8 +24,8 @@ public class DictionaryBasedAnalysisTest {
 	private static LexicographicTree dictionary = null;
 
 	@BeforeAll
-	public static void initTestDictionary() {
-		dictionary = new LexicographicTree("src/main/resources/mots/dictionnaire_FR_sans_accents.txt");
+	public static void initTestDictionary() throws IOException {
+		dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
 	}
 	
 	@Test
@@ -47,6 +49,32 @@ public class DictionaryBasedAnalysisTest {
 		assertTrue(score >= 9, "Moins de 9 correspondances trouvées [" + score + "]");
 	}
 	
+	@Test
+	void guessApproximatedAlphabetWithoutSpacesTest() {
+		String cryptogram = readFile(CRYPTOGRAM_FILE, StandardCharsets.UTF_8);
+		assertTrue(new DictionaryBasedAnalysis(cryptogram, dictionary).hasWordBoundaries());
+		DictionaryBasedAnalysis dba = new DictionaryBasedAnalysis(cryptogram.replaceAll("[^A-Za-z]", ""), dictionary);
+		assertFalse(dba.hasWordBoundaries());
+		String alphabet = dba.guessApproximatedAlphabet(dba.guessAlphabetFromFrequencies());
+		assertEquals(DECODING_ALPHABET, alphabet);
+		assertTrue(dba.segment(alphabet).toString().startsWith("mark twa in plus fort que"));
+	}
+
+	@Test
+	void searchAlphabetFromRandomAlphabetTest() {
+		String cryptogram = readFile(CRYPTOGRAM_FILE, StandardCharsets.UTF_8);
+		DictionaryBasedAnalysis dba = new DictionaryBasedAnalysis(cryptogram, dictionary);
+		String alphabet = dba.searchAlphabet("ZISHNFOBMAVQLPEUGWXTDYRJKC", 5, 60_000);
+		assertEquals(DECODING_ALPHABET, alphabet);
+	}
+
+	@Test
+	void keyConversionTest() {
+		assertEquals(DECODING_ALPHABET, StochasticKeySearch.toAlphabet(StochasticKeySearch.toKey(DECODING_ALPHABET)));
+		assertEquals("VNSAB" + "CDEFGHJKLMOPQRTUWXYZ" + "I", StochasticKeySearch.toAlphabet(StochasticKeySearch.toKey("VNS B" + " ".repeat(20) + "I")));
+		assertThrows(IllegalArgumentException.class, () -> StochasticKeySearch.toKey("ABC"));
+	}
+
 	private static String readFile(String pathname, Charset encoding) {
 		String data = "";
 		try {
@@ -0,0 +1,56 @@
+package cryptanalysis;
+
+import org.cryptanalysis.DictionaryBasedAnalysis;
+import org.cryptanalysis.EncodedText;
+import org.cryptanalysis.StochasticKeySearch;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EncodedTextTest {
+	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+
+	@Test
+	void encodeTest() {
+		EncodedText text = EncodedText.of("Ab, z!");
+		assertEquals(6, text.length());
+		assertArrayEquals(new byte[] {0, 1, -1, -1, 25, -1}, text.codes());
+	}
+
+	@Test
+	void decodeRestoresCaseAndPunctuation() {
+		String cryptogram = "UMOYBUM pmbzjpdc, FOOMUFYDMOMBD !\nÉté 1880.";
+		EncodedText text = EncodedText.of(cryptogram);
+		char[] out = new char[text.length()];
+		text.decode(StochasticKeySearch.toKey(DECODING_ALPHABET), new char[52], out);
+		assertEquals(DictionaryBasedAnalysis.applySubstitution(cryptogram, DECODING_ALPHABET), new String(out));
+		assertEquals("DEMANDE renforts, IMMEDIATEMENT !\nÉpé 1880.", new String(out));
+	}
+
+	@Test
+	void decodeCodesTest() {
+		EncodedText text = EncodedText.of("UMO y");
+		byte[] out = new byte[text.length()];
+		text.decodeCodes(StochasticKeySearch.toKey(DECODING_ALPHABET), out);
+		assertArrayEquals(new byte[] {'D' - 'A', 'E' - 'A', 'M' - 'A', -1, 'A' - 'A'}, out);
+	}
+
+	@Test
+	void unknownLettersAreSpaces() {
+		byte[] key = StochasticKeySearch.toKey(DECODING_ALPHABET);
+		key[0] = -1;
+		EncodedText text = EncodedText.of("Ab");
+		char[] out = new char[2];
+		char[] table = new char[52];
+		text.decode(key, table, out);
+		assertEquals(' ', table[0]);
+		assertEquals('n', table[27]);
+		assertEquals(" n", new String(out));
+		assertEquals(" n", DictionaryBasedAnalysis.applySubstitution("Ab", " " + DECODING_ALPHABET.substring(1)));
+	}
+
+	@Test
+	void shortAlphabetKeepsLetters() {
+		assertEquals("Vnz", DictionaryBasedAnalysis.applySubstitution("Abz", "VN"));
+	}
+}
@@ -0,0 +1,77 @@
+package cryptanalysis;
+
+import org.cryptanalysis.DictionaryBasedAnalysis;
+import org.cryptanalysis.FrequencyAnalysis;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrequencyAnalysisTest {
+	private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+	private static LexicographicTree dictionary = null;
+	private static String cryptogram = null;
+
+	@BeforeAll
+	public static void initTestDictionary() throws IOException {
+		dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		cryptogram = Files.readString(Paths.get(CRYPTOGRAM_FILE), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void countsTest() {
+		FrequencyAnalysis analysis = FrequencyAnalysis.of("Elle a, elle.");
+		assertEquals(9, analysis.letterCount());
+		assertEquals(4.0 / 9, analysis.letterFrequency('l' - 'a'), 1e-9);
+		assertEquals(4.0 / 9, analysis.letterFrequency('e' - 'a'), 1e-9);
+		// 6 bigrammes (el, ll, le deux fois), aucun à cheval sur deux mots
+		assertEquals(2.0 / 6, analysis.bigramFrequency('l' - 'a', 'l' - 'a'), 1e-9);
+		assertEquals(2.0 / 6, analysis.doubleFrequency('l' - 'a'), 1e-9);
+		assertEquals(0, analysis.bigramFrequency('e' - 'a', 'a' - 'a'));
+		assertEquals(0, analysis.doubleFrequency('e' - 'a'));
+	}
+
+	@Test
+	void sourcesAgreeTest() {
+		FrequencyAnalysis fromString = FrequencyAnalysis.of(cryptogram);
+		FrequencyAnalysis fromBytes = FrequencyAnalysis.of(cryptogram.getBytes(StandardCharsets.UTF_8));
+		CharBuffer buffer = CharBuffer.wrap(cryptogram);
+		FrequencyAnalysis fromBuffer = FrequencyAnalysis.of(buffer);
+		assertEquals(0, buffer.position());
+		for (int c = 0; c < 26; c++) {
+			assertEquals(fromString.letterFrequency(c), fromBytes.letterFrequency(c), 1e-12);
+			assertEquals(fromString.letterFrequency(c), fromBuffer.letterFrequency(c), 1e-12);
+			assertEquals(fromString.doubleFrequency(c), fromBuffer.doubleFrequency(c), 1e-12);
+		}
+	}
+
+	@Test
+	void emptyTextTest() {
+		FrequencyAnalysis analysis = FrequencyAnalysis.of("");
+		assertEquals(0, analysis.letterCount());
+		assertEquals(0, analysis.letterFrequency(0));
+		assertEquals(0, analysis.bigramFrequency(0, 0));
+	}
+
+	@Test
+	void seedAlphabetTest() {
+		String seed = new DictionaryBasedAnalysis(cryptogram, dictionary).guessAlphabetFromFrequencies();
+		assertEquals(26, seed.chars().distinct().count());
+		int correct = 0;
+		for (int i = 0; i < seed.length(); i++) {
+			if (seed.charAt(i) == DECODING_ALPHABET.charAt(i)) {
+				correct++;
+			}
+		}
+		assertTrue(correct >= 18, seed);
+	}
+}
@@ -0,0 +1,81 @@
+package cryptanalysis;
+
+import org.cryptanalysis.DictionaryFitness;
+import org.cryptanalysis.KeyFitness;
+import org.cryptanalysis.NGramModel;
+import org.cryptanalysis.StochasticKeySearch;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NGramModelTest {
+	private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+	private static final String PLAIN_TEXT_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes.txt";
+	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+	private static LexicographicTree dictionary = null;
+	private static String cryptogram = null;
+
+	@BeforeAll
+	public static void initTestDictionary() throws IOException {
+		dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		cryptogram = Files.readString(Paths.get(CRYPTOGRAM_FILE), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void encodeTest() {
+		assertArrayEquals(new byte[] {0, 25, -1, 1, -1, 2}, NGramModel.encode("aZ b'C"));
+	}
+
+	@Test
+	void invalidOrderTest() {
+		assertThrows(IllegalArgumentException.class, () -> NGramModel.fromText("abc", 1));
+		assertThrows(IllegalArgumentException.class, () -> NGramModel.fromText("abc", 5));
+	}
+
+	@Test
+	void standaloneScoreTest() {
+		NGramModel model = NGramModel.fromText("le chat mange la souris et le chien mange le chat", 3);
+		assertEquals(3, model.getOrder());
+		assertTrue(model.score(NGramModel.encode("le chat")) > model.score(NGramModel.encode("xq zwkj")));
+		// Aucun n-gramme ne chevauche une frontière de mot
+		assertEquals(model.score(NGramModel.encode("le")), 0.0);
+	}
+
+	@Test
+	void decodedScoreMatchesPlainScoreTest() throws IOException {
+		NGramModel model = NGramModel.fromFile(PLAIN_TEXT_FILE, StandardCharsets.UTF_8, 4);
+		byte[] key = StochasticKeySearch.toKey(DECODING_ALPHABET);
+		byte[] cipherCodes = NGramModel.encode(cryptogram);
+		byte[] plainCodes = cipherCodes.clone();
+		for (int i = 0; i < plainCodes.length; i++) {
+			if (plainCodes[i] >= 0) {
+				plainCodes[i] = key[plainCodes[i]];
+			}
+		}
+		assertEquals(model.score(plainCodes), model.score(cipherCodes, key), 1e-6);
+	}
+
+	@Test
+	void fitnessRanksTrueKeyFirstTest() {
+		KeyFitness ngrams = NGramModel.fromDictionary(dictionary, 4).fitness(cryptogram);
+		KeyFitness combined = ngrams.plus(new DictionaryFitness(Arrays.asList(cryptogram.split("[^A-Za-z]")), dictionary), 1.0);
+		byte[] trueKey = StochasticKeySearch.toKey(DECODING_ALPHABET);
+		byte[] wrongKey = trueKey.clone();
+		wrongKey[0] = trueKey[1];
+		wrongKey[1] = trueKey[0];
+		assertTrue(ngrams.score(trueKey) > ngrams.score(wrongKey));
+		assertTrue(combined.score(trueKey) > combined.score(wrongKey));
+
+		StochasticKeySearch.Result result = new StochasticKeySearch(ngrams).search("ZISHNFOBMAVQLPEUGWXTDYRJKC", 3, 60_000, 1);
+		assertEquals(DECODING_ALPHABET, result.getAlphabet());
+	}
+}
@@ -0,0 +1,103 @@
+package cryptanalysis;
+
+import org.cryptanalysis.BestKeyHolder;
+import org.cryptanalysis.ParallelKeySearch;
+import org.cryptanalysis.WordScoringContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelKeySearchTest {
+	private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+	private static LexicographicTree dictionary = null;
+	private static List<String> words = null;
+
+	@BeforeAll
+	public static void initTestDictionary() throws IOException {
+		dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		String cryptogram = Files.readString(Paths.get(CRYPTOGRAM_FILE), StandardCharsets.UTF_8);
+		words = new ArrayList<>(Arrays.asList(cryptogram.split("[^A-Za-z]")));
+		words.removeIf(String::isEmpty);
+	}
+
+	@Test
+	void holderKeepsBestTest() {
+		BestKeyHolder holder = new BestKeyHolder(100, 60_000);
+		assertNull(holder.get());
+		assertTrue(holder.offer("A", 10));
+		assertFalse(holder.offer("B", 5));
+		assertFalse(holder.offer("C", 10));
+		assertTrue(holder.offer("D", 20));
+		assertEquals("D", holder.get().getAlphabet());
+		assertEquals(2, holder.improvements());
+		assertFalse(holder.isStopped());
+		assertTrue(holder.offer("E", 100));
+		assertTrue(holder.isStopped());
+	}
+
+	@Test
+	void holderStopsAtDeadlineTest() throws InterruptedException {
+		BestKeyHolder holder = new BestKeyHolder(Double.POSITIVE_INFINITY, 10);
+		Thread.sleep(20);
+		assertTrue(holder.isStopped());
+		BestKeyHolder stopped = new BestKeyHolder(Double.POSITIVE_INFINITY, 60_000);
+		stopped.stop();
+		assertTrue(stopped.isStopped());
+	}
+
+	@Test
+	void concurrentOffersTest() throws InterruptedException {
+		BestKeyHolder holder = new BestKeyHolder(Double.POSITIVE_INFINITY, 60_000);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int t = 0; t < 4; t++) {
+			int offset = t;
+			executor.execute(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					holder.offer("K" + (i * 4 + offset), i * 4 + offset);
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+		assertEquals(39_999, holder.get().getScore());
+		assertEquals("K39999", holder.get().getAlphabet());
+	}
+
+	@Test
+	void parallelSearchTest() {
+		ParallelKeySearch search = new ParallelKeySearch(() -> new WordScoringContext(words, dictionary), 2);
+		ParallelKeySearch.Result result = search.search(List.of("ZISHNFOBMAVQLPEUGWXTDYRJKC"), 4, 60_000, Double.POSITIVE_INFINITY, 0);
+		assertEquals(4, result.getSearchesStarted());
+		assertEquals(DECODING_ALPHABET, result.getAlphabet());
+		assertTrue(result.getImprovements() >= 1);
+	}
+
+	@Test
+	void targetScoreStopsSearchesTest() {
+		ParallelKeySearch search = new ParallelKeySearch(() -> new WordScoringContext(words, dictionary), 1);
+		// Le premier résultat publié atteint la cible : les recherches suivantes ne démarrent pas
+		ParallelKeySearch.Result result = search.search(List.of(DECODING_ALPHABET), 20, 60_000, Double.NEGATIVE_INFINITY, 0);
+		assertEquals(1, result.getSearchesStarted());
+		assertEquals(DECODING_ALPHABET, result.getAlphabet());
+	}
+
+	@Test
+	void invalidParallelismTest() {
+		assertThrows(IllegalArgumentException.class, () -> new ParallelKeySearch(() -> null, 0));
+	}
+}
@@ -0,0 +1,121 @@
+package cryptanalysis;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.cryptanalysis.DictionaryBasedAnalysis;
+import org.cryptanalysis.SearchMetrics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchMetricsTest {
+	private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+	private static LexicographicTree dictionary = null;
+	private static String cryptogram = null;
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeAll
+	public static void initTestDictionary() throws Exception {
+		dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		cryptogram = Files.readString(Paths.get(CRYPTOGRAM_FILE), StandardCharsets.UTF_8).substring(0, 50_000);
+	}
+
+	@Test
+	void countersTest() {
+		DictionaryBasedAnalysis dba = new DictionaryBasedAnalysis(cryptogram, dictionary);
+		SearchMetrics metrics = new SearchMetrics();
+		dba.setMetrics(metrics);
+		assertEquals(DECODING_ALPHABET, dba.guessApproximatedAlphabet(dba.guessAlphabetFromFrequencies()));
+		SearchMetrics.Snapshot snapshot = metrics.snapshot();
+		assertTrue(snapshot.getCandidatesExamined() > 0);
+		assertTrue(snapshot.getDictionaryProbes() > 0);
+		assertTrue(snapshot.getAcceptedMoves() > 0);
+		assertEquals(snapshot.getKeysScored(), snapshot.getAcceptedMoves() + snapshot.getRejectedMoves());
+		assertEquals(DECODING_ALPHABET, snapshot.getBestAlphabet());
+
+		long examined = snapshot.getCandidatesExamined();
+		dba.solveAlphabet(10_000);
+		assertTrue(metrics.getCandidatesExamined() > examined);
+	}
+
+	@Test
+	void disabledMetricsTest() {
+		DictionaryBasedAnalysis dba = new DictionaryBasedAnalysis(cryptogram, dictionary);
+		assertNull(dba.getMetrics());
+		assertEquals(DECODING_ALPHABET, dba.searchAlphabet(dba.guessAlphabetFromFrequencies(), 1, 10_000));
+	}
+
+	@Test
+	void listenersTest() throws Exception {
+		List<SearchMetrics.Snapshot> snapshots = new CopyOnWriteArrayList<>();
+		try (SearchMetrics metrics = new SearchMetrics()) {
+			metrics.addListener(snapshots::add);
+			metrics.startReporting(10);
+			assertThrows(IllegalStateException.class, () -> metrics.startReporting(10));
+			metrics.addKeysScored(5);
+			metrics.offerBest("ABC", 3);
+			metrics.offerBest("DEF", 2);
+			Thread.sleep(100);
+			metrics.stopReporting();
+			int count = snapshots.size();
+			assertTrue(count >= 2);
+			SearchMetrics.Snapshot last = snapshots.get(count - 1);
+			assertEquals(5, last.getKeysScored());
+			assertEquals("ABC", last.getBestAlphabet());
+			assertEquals(3, last.getBestScore());
+			Thread.sleep(50);
+			assertEquals(count, snapshots.size());
+		}
+		assertThrows(IllegalArgumentException.class, () -> new SearchMetrics().startReporting(0));
+	}
+
+	@Test
+	void mbeanTest() throws Exception {
+		String name = "org.cryptanalysis:type=SearchMetrics,name=test";
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try (SearchMetrics metrics = new SearchMetrics()) {
+			metrics.registerMBean(name);
+			metrics.addDictionaryProbes(42);
+			metrics.addMoves(1, 2);
+			assertEquals(42L, server.getAttribute(new ObjectName(name), "DictionaryProbes"));
+			assertEquals(2L, server.getAttribute(new ObjectName(name), "RejectedMoves"));
+		}
+		assertFalse(server.isRegistered(new ObjectName(name)));
+	}
+
+	@Test
+	void flightRecorderTest() throws Exception {
+		Path file = tempDir.resolve("metrics.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("org.cryptanalysis.SearchProgress");
+			recording.start();
+			try (SearchMetrics metrics = new SearchMetrics()) {
+				metrics.addCandidatesExamined(7);
+				metrics.startReporting(1_000);
+			}
+			recording.stop();
+			recording.dump(file);
+		}
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		assertFalse(events.isEmpty());
+		assertEquals(7, events.get(0).getLong("candidatesExamined"));
+	}
+}
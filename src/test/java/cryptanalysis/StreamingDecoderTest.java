@@ -0,0 +1,72 @@
+package cryptanalysis;
+
+import org.cryptanalysis.DictionaryBasedAnalysis;
+import org.cryptanalysis.StreamingDecoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingDecoderTest {
+	private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void decodeBufferTest() {
+		StreamingDecoder decoder = new StreamingDecoder("BCDEFGHIJKLMNOPQRSTUVWXYZA");
+		ByteBuffer in = ByteBuffer.wrap("Abz, É!".getBytes(StandardCharsets.UTF_8));
+		ByteBuffer out = ByteBuffer.allocate(in.remaining());
+		decoder.decode(in, out);
+		assertFalse(in.hasRemaining());
+		assertEquals("Bca, É!", new String(out.array(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void decodeFileTest() throws IOException {
+		Path input = Paths.get(CRYPTOGRAM_FILE);
+		String expected = DictionaryBasedAnalysis.applySubstitution(Files.readString(input, StandardCharsets.UTF_8), DECODING_ALPHABET);
+		StreamingDecoder decoder = new StreamingDecoder(DECODING_ALPHABET);
+		// Des blocs de taille impaire coupent des caractères UTF-8 en deux
+		for (int chunkSize : new int[] {7, 4096, 1 << 20}) {
+			Path output = tempDir.resolve("decoded-" + chunkSize + ".txt");
+			assertEquals(Files.size(input), decoder.decodeFile(input, output, chunkSize, 3));
+			assertEquals(expected, Files.readString(output, StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void decodeEmptyFileTest() throws IOException {
+		Path input = Files.createFile(tempDir.resolve("empty.txt"));
+		Path output = tempDir.resolve("decoded.txt");
+		assertEquals(0, new StreamingDecoder(DECODING_ALPHABET).decodeFile(input, output));
+		assertEquals(0, Files.size(output));
+	}
+
+	@Test
+	void readPrefixTest() throws IOException {
+		Path input = Files.writeString(tempDir.resolve("text.txt"), "été comme hiver", StandardCharsets.UTF_8);
+		assertEquals("été ", StreamingDecoder.readPrefix(input, 8));
+		assertEquals("été comme hiver", StreamingDecoder.readPrefix(input, 1000));
+		// Sans blanc, on ne coupe pas au milieu d'un caractère
+		Path word = Files.writeString(tempDir.resolve("word.txt"), "éé", StandardCharsets.UTF_8);
+		assertEquals("é", StreamingDecoder.readPrefix(word, 3));
+	}
+
+	@Test
+	void invalidArgumentsTest() {
+		assertThrows(IllegalArgumentException.class, () -> new StreamingDecoder("ABC"));
+		StreamingDecoder decoder = new StreamingDecoder(DECODING_ALPHABET);
+		assertThrows(IllegalArgumentException.class,
+				() -> decoder.decodeFile(Paths.get(CRYPTOGRAM_FILE), tempDir.resolve("out.txt"), 0, 1));
+	}
+}
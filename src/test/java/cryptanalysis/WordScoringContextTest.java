@@ -0,0 +1,85 @@
+package cryptanalysis;
+
+import org.cryptanalysis.DictionaryBasedAnalysis;
+import org.cryptanalysis.DictionaryFitness;
+import org.cryptanalysis.StochasticKeySearch;
+import org.cryptanalysis.WordScoringContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordScoringContextTest {
+	private static final String CRYPTOGRAM_FILE = "src/main/resources/txt/Plus fort que Sherlock Holmes (cryptogram).txt";
+	private static final String DECODING_ALPHABET = "VNSTBIQLWOZUEJMRYGCPDKHXAF"; // Sherlock
+	private static LexicographicTree dictionary = null;
+	private static String cryptogram = null;
+	private static List<String> words = null;
+
+	@BeforeAll
+	public static void initTestDictionary() throws IOException {
+		dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		cryptogram = Files.readString(Paths.get(CRYPTOGRAM_FILE), StandardCharsets.UTF_8);
+		words = new ArrayList<>(Arrays.asList(cryptogram.split("[^A-Za-z]")));
+		words.removeIf(String::isEmpty);
+	}
+
+	@Test
+	void deduplicatesWords() {
+		WordScoringContext context = new WordScoringContext(List.of("ABC", "abc", "ABD", "E"), dictionary);
+		assertEquals(3, context.distinctWords());
+		assertEquals(2, context.wordsContaining(0));
+		assertEquals(1, context.wordsContaining(2));
+		assertEquals(0, context.wordsContaining(25));
+	}
+
+	@Test
+	void swapMatchesFullScore() {
+		WordScoringContext context = new WordScoringContext(words, dictionary);
+		DictionaryFitness fitness = new DictionaryFitness(words, dictionary);
+		byte[] key = StochasticKeySearch.toKey(DECODING_ALPHABET);
+		assertEquals(fitness.score(key), context.reset(key));
+
+		Random random = new Random(5);
+		for (int i = 0; i < 200; i++) {
+			int a = random.nextInt(26);
+			int b = random.nextInt(26);
+			byte tmp = key[a];
+			key[a] = key[b];
+			key[b] = tmp;
+			assertEquals(fitness.score(key), context.swap(a, b), "Échange " + a + " / " + b);
+		}
+	}
+
+	@Test
+	void swapBackRestoresScore() {
+		WordScoringContext context = new WordScoringContext(words, dictionary);
+		double score = context.reset(StochasticKeySearch.toKey(DECODING_ALPHABET));
+		long hits = context.hits();
+		assertNotEquals(score, context.swap(4, 11));
+		assertEquals(score, context.swap(11, 4));
+		assertEquals(hits, context.hits());
+	}
+
+	@Test
+	void hitsMatchTestAlphabet() {
+		WordScoringContext context = new WordScoringContext(words, dictionary);
+		DictionaryBasedAnalysis dba = new DictionaryBasedAnalysis(cryptogram, dictionary);
+		String alphabet = "VNSTBIQLWOZUEJMRYGCPDKHXFA";
+		context.reset(StochasticKeySearch.toKey(alphabet));
+		assertEquals(dba.testAlphabet(alphabet, words), context.hits());
+		context.swap(24, 25);
+		assertEquals(dba.testAlphabet(DECODING_ALPHABET, words), context.hits());
+	}
+}
@@ -0,0 +1,78 @@
+package cryptanalysis;
+
+import org.cryptanalysis.SegmentationFitness;
+import org.cryptanalysis.StochasticKeySearch;
+import org.cryptanalysis.WordSegmenter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tree.LexicographicTree;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WordSegmenterTest {
+	private static final List<String> WORDS = Arrays.asList("les", "le", "sens", "enfants", "enfant", "fants",
+			"jouent", "dans", "la", "cour", "courage", "age");
+	private static LexicographicTree dictionary;
+
+	@BeforeAll
+	public static void initTestDictionary() {
+		dictionary = new LexicographicTree();
+		WORDS.forEach(dictionary::insertWord);
+	}
+
+	@Test
+	void segmentTest() {
+		WordSegmenter segmenter = new WordSegmenter(dictionary);
+		WordSegmenter.Segmentation segmentation = segmenter.segment("LesEnfantsJouentDansLaCour");
+		assertEquals(Arrays.asList("les", "enfants", "jouent", "dans", "la", "cour"), segmentation.getWords());
+		assertEquals(0, segmentation.getUnknownLetters());
+		assertEquals(6 * Math.log(WORDS.size()), segmentation.getCost(), 1e-9);
+		assertEquals("les enfants jouent dans la cour", segmentation.toString());
+	}
+
+	@Test
+	void segmentUnknownLettersTest() {
+		WordSegmenter segmenter = new WordSegmenter(dictionary);
+		WordSegmenter.Segmentation segmentation = segmenter.segment("lesxyzenfants, lecour");
+		assertEquals(Arrays.asList("les", "xyz", "enfants", "le", "cour"), segmentation.getWords());
+		assertTrue(segmentation.isUnknown(1));
+		assertFalse(segmentation.isUnknown(0));
+		assertFalse(segmentation.isUnknown(2));
+		assertEquals(3, segmentation.getUnknownLetters());
+		assertEquals(List.of(), segmenter.segment("").getWords());
+		assertEquals(List.of(), segmenter.segment(" ,.").getWords());
+	}
+
+	@Test
+	void frequenciesTest() {
+		// Sans fréquences, le découpage le plus court l'emporte
+		assertEquals("courage", new WordSegmenter(dictionary).segment("courage").toString());
+		WordSegmenter weighted = new WordSegmenter(dictionary, Map.of("cour", 1000, "age", 1000, "courage", 1));
+		assertEquals("cour age", weighted.segment("courage").toString());
+		assertEquals(Map.of("le", 2, "cour", 1, "eleve", 1), WordSegmenter.countWords("Le cour, le élève"));
+	}
+
+	@Test
+	void costTest() {
+		WordSegmenter segmenter = new WordSegmenter(dictionary);
+		char[] text = "xxlescourxx".toCharArray();
+		assertEquals(segmenter.segment("lescour").getCost(), segmenter.cost(text, 2, 9), 1e-9);
+		assertTrue(segmenter.cost(text, 0, text.length) > segmenter.cost(text, 2, 9));
+		assertEquals(segmenter.cost(text, 2, 9), segmenter.cost("xxLesCourxx".toCharArray(), 2, 9), 1e-9);
+	}
+
+	@Test
+	void segmentationFitnessTest() {
+		String key = "BCDEFGHIJKLMNOPQRSTUVWXYZA"; // décalage d'une lettre
+		String cryptogram = "MFTFOGBOUTKPVFOUEBOTMBDPVS";
+		SegmentationFitness fitness = new SegmentationFitness(cryptogram, new WordSegmenter(dictionary));
+		byte[] decoding = StochasticKeySearch.toKey("ZABCDEFGHIJKLMNOPQRSTUVWXY");
+		assertTrue(fitness.score(decoding) > fitness.score(StochasticKeySearch.toKey(key)));
+		assertEquals(-6 * Math.log(WORDS.size()), fitness.score(decoding), 1e-9);
+		assertThrows(IllegalArgumentException.class, () -> new SegmentationFitness(cryptogram, new WordSegmenter(dictionary), 0));
+	}
+}
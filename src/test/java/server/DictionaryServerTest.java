@@ -0,0 +1,153 @@
+package server;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.server.DictionaryClient;
+import org.server.DictionaryServer;
+import org.server.LoadGenerator;
+import org.server.Request;
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DictionaryServerTest {
+	private static LexicographicTree dictionary = null;
+	private static DictionaryServer server = null;
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		dictionary = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		server = new DictionaryServer(dictionary, 0);
+	}
+
+	@AfterAll
+	public static void stopServer() throws IOException {
+		server.close();
+	}
+
+	@Test
+	void singleQueries() throws IOException {
+		try (DictionaryClient client = new DictionaryClient(server.getPort())) {
+			assertTrue(client.containsWord("fromage"));
+			assertFalse(client.containsWord("fromagezz"));
+			assertTrue(client.isPrefix("froma"));
+			assertFalse(client.isPrefix("zzz"));
+			assertEquals(dictionary.getWords("fromag"), client.getWords("fromag"));
+			assertEquals(dictionary.getWordsOfLength(3), client.getWordsOfLength(3));
+			assertTrue(client.getWordsOfLength(0).isEmpty());
+		}
+	}
+
+	@Test
+	void pipelinedBatch() throws IOException {
+		List<String> words = dictionary.getWords("");
+		List<String> batch = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++) {
+			String word = words.get((i * 7919) % words.size());
+			batch.add(i % 2 == 0 ? word : word + "zz");
+		}
+		try (DictionaryClient client = new DictionaryClient(server.getPort())) {
+			boolean[] found = client.containsWords(batch);
+			assertEquals(batch.size(), found.length);
+			for (int i = 0; i < found.length; i++) {
+				assertEquals(i % 2 == 0, found[i], batch.get(i));
+			}
+			// Réponses volumineuses mêlées à des réponses courtes, toujours dans l'ordre des requêtes
+			List<Object> responses = client.send(List.of(Request.getWords(""), Request.containsWord("chat"),
+					Request.getWordsOfLength(4), Request.isPrefix("cha")));
+			assertEquals(words, responses.get(0));
+			assertEquals(true, responses.get(1));
+			assertEquals(dictionary.getWordsOfLength(4), responses.get(2));
+			assertEquals(true, responses.get(3));
+		}
+	}
+
+	@Test
+	void unknownOperationKeepsConnectionUsable() throws IOException {
+		try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+			DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+			DataInputStream in = new DataInputStream(socket.getInputStream());
+			out.writeInt(5);
+			out.writeByte(99);
+			out.write("chat".getBytes(StandardCharsets.UTF_8));
+			out.writeInt(5);
+			out.writeByte(1); // containsWord
+			out.write("chat".getBytes(StandardCharsets.UTF_8));
+			out.flush();
+			int length = in.readInt();
+			assertEquals(1, in.readByte()); // erreur
+			in.readFully(new byte[length - 1]);
+			assertEquals(2, in.readInt());
+			assertEquals(0, in.readByte());
+			assertTrue(in.readBoolean());
+		}
+	}
+
+	@Test
+	void hugeWordLengthAnswersEmpty() throws IOException {
+		try (DictionaryClient client = new DictionaryClient(server.getPort())) {
+			assertTrue(client.getWordsOfLength(Integer.MAX_VALUE - 8).isEmpty());
+			assertTrue(client.getWordsOfLength(dictionary.getRoot().getHeight() + 1).isEmpty());
+			// La connexion répond toujours aux requêtes suivantes
+			assertTrue(client.containsWord("chat"));
+			assertEquals(dictionary.getWordsOfLength(3), client.getWordsOfLength(3));
+		}
+	}
+
+	@Test
+	void oversizedRequestRejectedByClient() throws IOException {
+		String word = "a".repeat(1 << 16);
+		assertThrows(IllegalArgumentException.class, () -> Request.containsWord(word));
+		try (DictionaryClient client = new DictionaryClient(server.getPort())) {
+			assertThrows(IllegalArgumentException.class, () -> client.containsWords(List.of("chat", word)));
+			// Aucune requête du lot n'a été envoyée : la connexion reste utilisable
+			assertTrue(client.containsWord("chat"));
+		}
+	}
+
+	@Test
+	void concurrentConnections() throws Exception {
+		List<Thread> threads = new ArrayList<>();
+		List<Throwable> failures = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			Thread thread = new Thread(() -> {
+				try (DictionaryClient client = new DictionaryClient(server.getPort())) {
+					for (int i = 0; i < 100; i++) {
+						assertTrue(client.containsWord("maison"));
+						assertFalse(client.containsWord("maisonzz"));
+					}
+				} catch (Throwable e) {
+					synchronized (failures) {
+						failures.add(e);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(failures.isEmpty(), failures.toString());
+	}
+
+	@Test
+	void loadGenerator() throws IOException {
+		LoadGenerator generator = new LoadGenerator("127.0.0.1", server.getPort(), dictionary.getWords("ab"));
+		LoadGenerator.Report report = generator.run(2, 100, 200);
+		assertTrue(report.getBatchCount() > 0);
+		assertTrue(report.getQueriesPerSecond() > 0);
+		assertTrue(report.getLatencyMicros(50) <= report.getLatencyMicros(99));
+		assertThrows(IllegalArgumentException.class, () -> generator.run(0, 100, 200));
+	}
+}
@@ -0,0 +1,137 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tree.DictionaryRegistry;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DictionaryRegistryTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void getSharesOneFrozenTree() throws IOException {
+		Path file = Files.writeString(tempDir.resolve("mots.txt"), "chat\nchien\ncheval\n");
+		DictionaryRegistry registry = new DictionaryRegistry();
+		LexicographicTree first = registry.get(file.toString());
+		LexicographicTree second = registry.get(file.toString());
+		assertSame(first, second);
+		assertEquals(3, first.size());
+		assertTrue(first.isFrozen());
+		assertEquals(1, registry.getLoadCount());
+		assertEquals(1, registry.size());
+	}
+
+	@Test
+	void concurrentCallersWaitForOneLoad() throws Exception {
+		Path file = Files.writeString(tempDir.resolve("mots.txt"), "chat\nchien\ncheval\n");
+		CountDownLatch gate = new CountDownLatch(1);
+		ExecutorService loader = Executors.newSingleThreadExecutor();
+		try {
+			// Le chargement attend que tous les appelants aient fait leur demande
+			DictionaryRegistry registry = new DictionaryRegistry(task -> loader.execute(() -> {
+				try {
+					gate.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				task.run();
+			}));
+			List<CompletableFuture<LexicographicTree>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(registry.load(file.toString()));
+			}
+			gate.countDown();
+			LexicographicTree tree = futures.get(0).join();
+			for (CompletableFuture<LexicographicTree> future : futures) {
+				assertSame(tree, future.join());
+			}
+			assertEquals(1, registry.getLoadCount());
+		} finally {
+			loader.shutdownNow();
+		}
+	}
+
+	@Test
+	void modifiedFileIsLoadedAgain() throws IOException {
+		Path file = Files.writeString(tempDir.resolve("mots.txt"), "chat\nchien\n");
+		DictionaryRegistry registry = new DictionaryRegistry();
+		LexicographicTree before = registry.get(file.toString());
+		Files.writeString(file, "chat\nchien\ncheval\n");
+		LexicographicTree after = registry.get(file.toString());
+		assertNotSame(before, after);
+		assertFalse(before.containsWord("cheval"));
+		assertTrue(after.containsWord("cheval"));
+		assertEquals(2, registry.getLoadCount());
+	}
+
+	@Test
+	void classpathAndMissingSources() throws IOException {
+		DictionaryRegistry registry = new DictionaryRegistry();
+		LexicographicTree french = registry.get(DictionaryRegistry.FRENCH_DICTIONARY);
+		assertTrue(french.containsWord("fromage"));
+		assertEquals(french.size(), registry.get("src/main/resources/mots/dictionnaire_FR_sans_accents.txt").size());
+		assertThrows(NoSuchFileException.class, () -> registry.get(DictionaryRegistry.CLASSPATH_PREFIX + "mots/absent.txt"));
+		assertThrows(NoSuchFileException.class, () -> registry.get(tempDir.resolve("absent.txt").toString()));
+	}
+
+	@Test
+	void suffixIndexBuiltBeforeFreezing() throws IOException {
+		Path file = Files.writeString(tempDir.resolve("mots.txt"), "chat\nchien\ncheval\n");
+		DictionaryRegistry registry = new DictionaryRegistry();
+		LexicographicTree plain = registry.get(file.toString());
+		LexicographicTree indexed = registry.get(file.toString(), true);
+		assertNotSame(plain, indexed);
+		assertSame(indexed, registry.get(file.toString(), true));
+		assertFalse(plain.hasSuffixIndex());
+		assertTrue(indexed.hasSuffixIndex());
+		assertTrue(indexed.isFrozen());
+		assertEquals(List.of("chien"), indexed.getWordsWithSuffix("en"));
+		assertEquals(2, registry.getLoadCount());
+	}
+
+	@Test
+	void rejectedLoadFails() throws IOException {
+		Path file = Files.writeString(tempDir.resolve("mots.txt"), "chat\nchien\n");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		executor.shutdown();
+		DictionaryRegistry registry = new DictionaryRegistry(executor);
+		CompletableFuture<LexicographicTree> future = registry.load(file.toString());
+		assertTrue(future.isCompletedExceptionally());
+		CompletionException e = assertThrows(CompletionException.class, future::join);
+		assertInstanceOf(RejectedExecutionException.class, e.getCause());
+		// L'échec n'est pas retenu : un nouvel appel soumet un nouveau chargement
+		assertNotSame(future, registry.load(file.toString()));
+		assertEquals(0, registry.getLoadCount());
+	}
+
+	@Test
+	void unusedTreesAreReleased() throws Exception {
+		Path file = Files.writeString(tempDir.resolve("mots.txt"), "chat\nchien\ncheval\n");
+		DictionaryRegistry registry = new DictionaryRegistry();
+		assertEquals(3, registry.get(file.toString()).size());
+		for (int i = 0; i < 20 && registry.size() > 0; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		assertEquals(0, registry.size());
+		registry.get(file.toString());
+		assertEquals(2, registry.getLoadCount());
+	}
+}
@@ -0,0 +1,135 @@
+package tree;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.tree.DictionaryRegistry;
+import org.tree.FrontCodedDictionary;
+import org.tree.LexicographicTree;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/* ---------------------------------------------------------------- */
+
+public class FrontCodedDictionaryTest {
+	private static final List<String> WORDS = Arrays.asList("ete", "aide", "as", "au", "aux",
+			"bu", "bus", "but", "et", "au", "c'est", "a-t-il");
+	private static LexicographicTree tree;
+	private static FrontCodedDictionary french;
+
+	@BeforeAll
+	static void loadDictionary() throws IOException {
+		tree = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		french = new FrontCodedDictionary(tree.getWords(""), FrontCodedDictionary.DEFAULT_BLOCK_SIZE);
+	}
+
+	@Test
+	void constructor_EmptyDictionary() {
+		FrontCodedDictionary dict = new FrontCodedDictionary(List.of(), 4);
+		assertEquals(0, dict.size());
+		assertFalse(dict.containsWord("a"));
+		assertTrue(dict.isPrefix(""));
+		assertEquals(List.of(), dict.getWords(""));
+		assertEquals(List.of(), dict.getWordsOfLength(1));
+	}
+
+	@Test
+	void constructor_InvalidBlockSize() {
+		assertThrows(IllegalArgumentException.class, () -> new FrontCodedDictionary(WORDS, 0));
+	}
+
+	@Test
+	void constructor_SortsAndRemovesDuplicates() {
+		for (int blockSize : new int[] {1, 2, 3, 16}) {
+			FrontCodedDictionary dict = new FrontCodedDictionary(WORDS, blockSize);
+			assertEquals(11, dict.size());
+			assertEquals(Arrays.asList("aide", "as", "au", "aux", "a-t-il", "bu", "bus", "but", "c'est", "et", "ete"),
+					dict.getWords(""));
+		}
+	}
+
+	@Test
+	void constructor_IgnoresUnsupportedLetters() {
+		FrontCodedDictionary dict = new FrontCodedDictionary(Arrays.asList("Été", "Mot", "ca va"), 2);
+		assertEquals(Arrays.asList("cava", "mot"), dict.getWords(""));
+	}
+
+	@Test
+	void containsWord_General() {
+		for (int blockSize : new int[] {1, 2, 3, 16}) {
+			FrontCodedDictionary dict = new FrontCodedDictionary(WORDS, blockSize);
+			for (String word : WORDS) {
+				assertTrue(dict.containsWord(word), word);
+			}
+			assertTrue(dict.containsWord("AUX"));
+			for (String word : new String[] {"", "a", "ai", "aidee", "b", "busz", "c", "zz", "éte"}) {
+				assertFalse(dict.containsWord(word), word);
+			}
+		}
+	}
+
+	@Test
+	void isPrefix_General() {
+		FrontCodedDictionary dict = new FrontCodedDictionary(WORDS, 3);
+		for (String prefix : new String[] {"", "a", "ai", "aide", "b", "bu", "c'", "e", "ete"}) {
+			assertTrue(dict.isPrefix(prefix), prefix);
+		}
+		for (String prefix : new String[] {"aa", "aides", "bx", "d", "etes", "z"}) {
+			assertFalse(dict.isPrefix(prefix), prefix);
+		}
+	}
+
+	@Test
+	void getWords_Range() {
+		FrontCodedDictionary dict = new FrontCodedDictionary(WORDS, 2);
+		assertEquals(Arrays.asList("aide", "as", "au", "aux", "a-t-il"), dict.getWords("a"));
+		assertEquals(Arrays.asList("au", "aux"), dict.getWords("au"));
+		assertEquals(Arrays.asList("bu", "bus", "but"), dict.getWords("bu"));
+		assertEquals(Arrays.asList("et", "ete"), dict.getWords("e"));
+		assertEquals(List.of(), dict.getWords("d"));
+		assertEquals(List.of(), dict.getWords("zz"));
+	}
+
+	@Test
+	void getWordsOfLength_General() {
+		FrontCodedDictionary dict = new FrontCodedDictionary(WORDS, 2);
+		assertEquals(Arrays.asList("as", "au", "bu", "et"), dict.getWordsOfLength(2));
+		assertEquals(Arrays.asList("aux", "bus", "but", "ete"), dict.getWordsOfLength(3));
+		assertEquals(List.of(), dict.getWordsOfLength(0));
+		assertEquals(List.of(), dict.getWordsOfLength(20));
+	}
+
+	@Test
+	void frenchDictionary_SameWordsAsTree() {
+		assertEquals(tree.size(), french.size());
+		assertEquals(tree.getWords(""), french.getWords(""));
+		for (int length = 1; length <= 26; length++) {
+			assertEquals(tree.getWordsOfLength(length), french.getWordsOfLength(length), "length " + length);
+		}
+	}
+
+	@Test
+	void frenchDictionary_SameQueriesAsTree() {
+		List<String> words = new ArrayList<>(tree.getWords(""));
+		Collections.shuffle(words, new Random(42));
+		for (String word : words.subList(0, 2000)) {
+			assertTrue(french.containsWord(word), word);
+			assertEquals(tree.containsWord(word + "s"), french.containsWord(word + "s"), word + "s");
+			String prefix = word.substring(0, Math.min(4, word.length()));
+			assertEquals(tree.getWords(prefix), french.getWords(prefix), prefix);
+			String missing = prefix + "qx";
+			assertEquals(tree.isPrefix(missing), french.isPrefix(missing), missing);
+		}
+	}
+
+	@Test
+	void frenchDictionary_SmallerThanTree() {
+		assertTrue(french.getEstimatedBytes() * 10 < tree.stats().getEstimatedBytes());
+	}
+}
@@ -2,9 +2,27 @@ package tree;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.tree.LexicographicTree;
-
+import org.tree.TreeStats;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -182,4 +200,233 @@ public class LexicographicTreeTest {
 		assertEquals(0, words.size());
 	}
 
+	@Test
+	void testNodeWalk() {
+		initTestdictionary();
+		LexicographicTree.Node root = dict.getRoot();
+		assertEquals(4, root.getHeight());
+		LexicographicTree.Node b = root.getChild('b');
+		assertEquals(2, b.getHeight());
+		LexicographicTree.Node bu = b.getChild('U');
+		assertTrue(bu.isEndOfWord());
+		assertEquals(4, bu.getOrdinal());
+		assertNull(bu.getChild('x'));
+		assertNull(bu.getChild('é'));
+		assertEquals(-1, b.getOrdinal());
+	}
+
+	@Test
+	void testGetOrdinal() {
+		initTestdictionary();
+		assertEquals(0, dict.getOrdinal("aide"));
+		assertEquals(8, dict.getOrdinal("ete"));
+		assertEquals(-1, dict.getOrdinal("aid"));
+		assertEquals(-1, dict.getOrdinal("mot"));
+	}
+
+	@Test
+	void testOrdinalsFollowInsertionOrder() {
+		dict.insertWord("chien");
+		dict.insertWord("chat");
+		dict.insertWord("chien");
+		dict.insertWord("cheval");
+		LexicographicTree.Node ch = dict.getRoot().getChild('c').getChild('h');
+		assertEquals(0, ch.getChild('i').getChild('e').getChild('n').getOrdinal());
+		assertEquals(1, ch.getChild('a').getChild('t').getOrdinal());
+		assertEquals(2, ch.getChild('e').getChild('v').getChild('a').getChild('l').getOrdinal());
+	}
+
+	@Test
+	void testStats() {
+		initTestdictionary();
+		TreeStats stats = dict.stats();
+		assertEquals(9, stats.getWordCount());
+		assertEquals(15, stats.getNodeCount());
+		assertEquals(9, stats.getChildArrayCount());
+		assertEquals(0, stats.getEmptyChildArrayCount());
+		assertArrayEquals(new int[] {6, 6, 1, 2}, Arrays.copyOf(stats.getFanOutHistogram(), 4));
+		assertArrayEquals(new int[] {1, 3, 5, 5, 1}, stats.getNodesPerDepth());
+		assertArrayEquals(new int[] {0, 0, 4, 4, 1}, stats.getWordsPerLength());
+		assertEquals(1 - 14 / (9 * 28.0), stats.getEmptySlotRatio(), 1e-9);
+		assertEquals(15L * stats.getNodeBytes() + 9L * stats.getChildArrayBytes(), stats.getEstimatedBytes());
+	}
+
+	@Test
+	void testQueriesDoNotModifyTree() {
+		initTestdictionary();
+		dict.getWords("aide");
+		dict.getWords("");
+		dict.getWordsOfLength(5);
+		dict.containsWord("aidex");
+		dict.isPrefix("zz");
+		TreeStats stats = dict.stats();
+		assertEquals(9, stats.getChildArrayCount());
+		assertEquals(0, stats.getEmptyChildArrayCount());
+	}
+
+	@Test
+	void testFreeze() {
+		initTestdictionary();
+		assertFalse(dict.isFrozen());
+		assertSame(dict, dict.freeze());
+		assertTrue(dict.isFrozen());
+		assertThrows(UnsupportedOperationException.class, () -> dict.insertWord("mot"));
+		assertEquals(WORDS.length, dict.size());
+		assertTrue(dict.containsWord("aide"));
+	}
+
+	@Test
+	void testFrozenNodesReadOnly() {
+		initTestdictionary();
+		dict.freeze();
+		// Les nœuds n'exposent que des lectures : ni tableau d'enfants, ni modificateur
+		for (Method method : LexicographicTree.Node.class.getMethods()) {
+			if (method.getDeclaringClass() == LexicographicTree.Node.class) {
+				assertTrue(method.getName().startsWith("get") || method.getName().startsWith("is"), method.getName());
+				assertFalse(method.getReturnType().isArray(), method.getName());
+			}
+		}
+		LexicographicTree.Node leaf = dict.getRoot().getChild('a').getChild('u').getChild('x');
+		assertTrue(leaf.isEndOfWord());
+		assertNull(leaf.getChild('s'));
+		assertEquals(0, leaf.getHeight());
+		assertArrayEquals(WORDS, dict.getWords("").toArray());
+	}
+
+	@Test
+	void testStatsMBean() throws Exception {
+		initTestdictionary();
+		String name = "org.tree:type=LexicographicTree,name=test";
+		dict.registerMBean(name);
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			assertEquals(9, server.getAttribute(new ObjectName(name), "WordCount"));
+			CompositeData stats = (CompositeData) server.getAttribute(new ObjectName(name), "Stats");
+			assertEquals(15, stats.get("nodeCount"));
+			assertEquals(0, stats.get("suffixIndexNodeCount"));
+			assertArrayEquals(new int[] {0, 0, 4, 4, 1}, (int[]) stats.get("wordsPerLength"));
+		} finally {
+			dict.unregisterMBean();
+		}
+		assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(name)));
+	}
+
+	@Test
+	void testByteIngestionMatchesReaderConstructor() throws IOException {
+		String filename = "src/main/resources/mots/dictionnaire_FR_sans_accents.txt";
+		LexicographicTree reader = new LexicographicTree(filename);
+		LexicographicTree bytes = new LexicographicTree(Paths.get(filename), StandardCharsets.UTF_8);
+		assertEquals(reader.size(), bytes.size());
+		assertEquals(reader.getWords(""), bytes.getWords(""));
+		assertEquals(reader.getOrdinal("fromage"), bytes.getOrdinal("fromage"));
+		assertEquals(reader.stats().getNodeCount(), bytes.stats().getNodeCount());
+	}
+
+	@Test
+	void testByteIngestionNormalizesAndRejects(@TempDir Path tempDir) throws IOException {
+		Path file = tempDir.resolve("mots.txt");
+		Files.write(file, "Chat\r\nchien-loup\naujourd'hui\n\n\u00e9t\u00e9\nmot2\n\u00a0bus".getBytes(StandardCharsets.UTF_8));
+		List<String> messages = new ArrayList<>();
+		Logger logger = Logger.getLogger(LexicographicTree.class.getName());
+		Handler handler = new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				messages.add(record.getMessage());
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		logger.addHandler(handler);
+		try {
+			LexicographicTree dict = new LexicographicTree(file, StandardCharsets.UTF_8);
+			assertEquals(List.of("aujourd'hui", "bus", "chat", "chien-loup", "mot"), dict.getWords(""));
+			assertEquals(0, dict.getOrdinal("chat"));
+		} finally {
+			logger.removeHandler(handler);
+		}
+		assertEquals(1, messages.size());
+		assertTrue(messages.get(0).startsWith("1 mots rejetés"), messages.get(0));
+		assertTrue(messages.get(0).contains("\u00e9=2"), messages.get(0));
+	}
+
+	@Test
+	void testByteIngestionCharsets() {
+		LexicographicTree latin = new LexicographicTree();
+		latin.insertWords(ByteBuffer.wrap("CHAT\ncaf\u00e9\n".getBytes(StandardCharsets.ISO_8859_1)), StandardCharsets.ISO_8859_1);
+		assertEquals(List.of("chat"), latin.getWords(""));
+		assertThrows(IllegalArgumentException.class,
+				() -> new LexicographicTree().insertWords(ByteBuffer.allocate(0), StandardCharsets.UTF_16));
+		latin.freeze();
+		assertThrows(UnsupportedOperationException.class,
+				() -> latin.insertWords(ByteBuffer.wrap("chien\n".getBytes(StandardCharsets.US_ASCII)), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	void testSuffixQueries() {
+		dict.enableSuffixIndex();
+		initTestdictionary();
+		assertTrue(dict.hasSuffixIndex());
+		assertEquals(List.of("au", "bu"), dict.getWordsWithSuffix("u"));
+		assertEquals(List.of("as", "bus"), dict.getWordsWithSuffix("S"));
+		assertEquals(List.of("aide", "ete"), dict.getWordsWithSuffix("e"));
+		assertTrue(dict.getWordsWithSuffix("z").isEmpty());
+		assertEquals(WORDS.length, dict.getWordsWithSuffix("").size());
+		assertTrue(dict.isSuffix("ide"));
+		assertTrue(dict.isSuffix("aux"));
+		assertFalse(dict.isSuffix("ux-"));
+		assertFalse(dict.isSuffix("z"));
+	}
+
+	@Test
+	void testSuffixIndexBuiltAfterLoad() {
+		initTestdictionary();
+		assertFalse(dict.hasSuffixIndex());
+		assertThrows(IllegalStateException.class, () -> dict.isSuffix("e"));
+		dict.enableSuffixIndex();
+		dict.insertWord("lu");
+		assertEquals(List.of("au", "bu", "lu"), dict.getWordsWithSuffix("u"));
+		// Les deux arbres partagent les ordinaux des mots, y compris ceux insérés après l'index
+		assertEquals(List.of("lu"), dict.getWords("l", "u"));
+		assertEquals(List.of("ete"), dict.getWords("e", "te"));
+	}
+
+	@Test
+	void testPrefixAndSuffix() {
+		initTestdictionary();
+		dict.enableSuffixIndex();
+		assertEquals(List.of("aide"), dict.getWords("a", "e"));
+		assertEquals(List.of("bu", "bus", "but"), dict.getWords("bu", ""));
+		assertEquals(List.of("bus"), dict.getWords("b", "s"));
+		assertEquals(List.of("ete"), dict.getWords("et", "te"));
+		assertTrue(dict.getWords("a", "t").isEmpty());
+		assertTrue(dict.getWords("z", "e").isEmpty());
+		assertEquals(dict.getWords(""), dict.getWords("", ""));
+
+		// L'index des suffixes est compté dans la mémoire de l'arbre, pas dans sa forme
+		TreeStats stats = dict.stats();
+		assertEquals(15, stats.getNodeCount());
+		assertEquals(21, stats.getSuffixIndexNodeCount());
+		assertEquals(12, stats.getSuffixIndexChildArrayCount());
+		assertEquals(36L * stats.getNodeBytes() + 21L * stats.getChildArrayBytes(), stats.getEstimatedBytes());
+	}
+
+	@Test
+	void testSuffixQueriesOnDictionary() throws IOException {
+		LexicographicTree french = new LexicographicTree(Paths.get("src/main/resources/mots/dictionnaire_FR_sans_accents.txt"),
+				StandardCharsets.UTF_8, true);
+		List<String> all = french.getWords("");
+		List<String> expected = all.stream().filter(word -> word.endsWith("ement")).sorted().toList();
+		List<String> actual = new ArrayList<>(french.getWordsWithSuffix("ement"));
+		actual.sort(null);
+		assertEquals(expected, actual);
+		assertEquals(all.stream().filter(word -> word.startsWith("re") && word.endsWith("ement")).toList(),
+				french.getWords("re", "ement"));
+	}
+
 }
@@ -0,0 +1,124 @@
+package tree;
+
+import org.junit.jupiter.api.Test;
+import org.tree.DictionaryRegistry;
+import org.tree.FrontCodedDictionary;
+import org.tree.LexicographicTree;
+import org.tree.WordList;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/* ---------------------------------------------------------------- */
+
+public class WordListTest {
+	private static final List<String> WORDS = Arrays.asList("aide", "as", "au", "aux",
+			"bu", "bus", "but", "et", "ete", "a-t-il");
+
+	@Test
+	void of_General() {
+		WordList list = WordList.of(WORDS);
+		assertEquals(WORDS.size(), list.size());
+		assertFalse(list.isEmpty());
+		assertEquals(4, list.length(0));
+		assertEquals('x', list.charAt(3, 2));
+		assertEquals("bus", list.getString(5));
+		assertEquals(WORDS, list.asList());
+		assertEquals(WORDS.toString(), list.toString());
+	}
+
+	@Test
+	void of_Empty() {
+		WordList list = WordList.of(List.of());
+		assertSame(WordList.EMPTY, list);
+		assertTrue(list.isEmpty());
+		assertEquals(List.of(), list.asList());
+		assertThrows(IndexOutOfBoundsException.class, list::view);
+		assertThrows(IndexOutOfBoundsException.class, () -> list.getString(0));
+	}
+
+	@Test
+	void builder_Grows() {
+		WordList.Builder builder = new WordList.Builder(1, 1);
+		List<String> expected = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			String word = "mot" + i;
+			expected.add(word);
+			if (i % 2 == 0) {
+				builder.add(word);
+			} else {
+				builder.add(("__" + word).toCharArray(), 2, word.length());
+			}
+		}
+		assertEquals(1000, builder.size());
+		assertEquals(expected, builder.build().asList());
+	}
+
+	@Test
+	void view_MovesWithoutCopy() {
+		WordList list = WordList.of(WORDS);
+		WordList.View view = list.view();
+		assertEquals("aide", view.toString());
+		assertSame(view, view.moveTo(8));
+		assertEquals(8, view.index());
+		assertEquals(3, view.length());
+		assertEquals('t', view.charAt(1));
+		assertEquals("te", view.subSequence(1, 3));
+		assertTrue(view.contentEquals("ete"));
+		assertFalse(view.contentEquals("et"));
+		assertThrows(IndexOutOfBoundsException.class, () -> view.charAt(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> view.moveTo(WORDS.size()));
+	}
+
+	@Test
+	void forEach_Slices() {
+		WordList list = WordList.of(WORDS);
+		List<String> words = new ArrayList<>();
+		list.forEach(word -> words.add(word.toString()));
+		assertEquals(WORDS, words);
+
+		words.clear();
+		list.forEach(4, 7, word -> words.add(word.toString()));
+		assertEquals(Arrays.asList("bu", "bus", "but"), words);
+
+		list.forEach(3, 3, word -> fail());
+		assertThrows(IndexOutOfBoundsException.class, () -> list.forEach(5, 4, word -> { }));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.forEach(0, 11, word -> { }));
+	}
+
+	@Test
+	void asList_Unmodifiable() {
+		List<String> words = WordList.of(WORDS).asList();
+		assertThrows(UnsupportedOperationException.class, () -> words.add("mot"));
+		assertThrows(UnsupportedOperationException.class, () -> words.set(0, "mot"));
+	}
+
+	@Test
+	void lexicons_SameWordsAsLists() throws IOException {
+		LexicographicTree tree = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		FrontCodedDictionary frontCoded = new FrontCodedDictionary(tree.getWords("ch"), 16);
+		for (String prefix : new String[] {"", "ch", "chat", "zz"}) {
+			List<String> expected = tree.getWords(prefix);
+			assertEquals(expected, tree.getWordList(prefix).asList(), prefix);
+			if (prefix.startsWith("ch")) {
+				assertEquals(expected, frontCoded.getWordList(prefix).asList(), prefix);
+			}
+		}
+		for (int length : new int[] {0, 1, 5, 12, 40}) {
+			assertEquals(tree.getWordsOfLength(length), tree.getWordListOfLength(length).asList());
+		}
+		assertEquals(frontCoded.getWordsOfLength(6), frontCoded.getWordListOfLength(6).asList());
+	}
+
+	@Test
+	void lexicons_SmallerThanStrings() throws IOException {
+		LexicographicTree tree = DictionaryRegistry.getDefault().get(DictionaryRegistry.FRENCH_DICTIONARY);
+		WordList words = tree.getWordListOfLength(9);
+		// Une chaîne compacte coûte au moins 24 octets d'en-têtes pour la chaîne et son tableau
+		assertTrue(words.getEstimatedBytes() < words.size() * (24L + 16 + 9));
+	}
+}